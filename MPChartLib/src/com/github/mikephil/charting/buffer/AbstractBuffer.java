@@ -1,6 +1,8 @@
 
 package com.github.mikephil.charting.buffer;
 
+import com.github.mikephil.charting.data.DataSet;
+
 import java.util.List;
 
 /**
@@ -30,6 +32,9 @@ public abstract class AbstractBuffer<T> {
     /** indicates to which x-index the visible data ranges */
     protected int mTo = 0;
 
+    /** the positions decimate(...) keeps */
+    protected int[] mDecimatedPositions = new int[0];
+
     /**
      * Initialization with buffer-size.
      * 
@@ -54,6 +59,24 @@ public abstract class AbstractBuffer<T> {
         mTo = to;
     }
 
+    /**
+     * Returns the position the drawing on the x-axis is limited from.
+     * 
+     * @return
+     */
+    public int getLimitFrom() {
+        return mFrom;
+    }
+
+    /**
+     * Returns the position the drawing on the x-axis is limited to.
+     * 
+     * @return
+     */
+    public int getLimitTo() {
+        return mTo;
+    }
+
     /**
      * Resets the buffer index to 0 and makes the buffer reusable.
      */
@@ -81,6 +104,94 @@ public abstract class AbstractBuffer<T> {
         this.phaseY = phaseY;
     }
 
+    /**
+     * Reduces the values between the limits of the buffer (as far as the
+     * animation has reached) to the first, lowest, highest and last value of
+     * each pixel column, the column of a value being floor(xIndex * xScale +
+     * xOffset). Drawn as a line, this covers the same pixels as all values of
+     * the column. Writes the kept positions into mDecimatedPositions in
+     * ascending order and returns their number, at most 4 per column.
+     * 
+     * @param data
+     * @param xScale pixels per x-index
+     * @param xOffset pixel of x-index 0
+     * @return
+     */
+    protected int decimate(DataSet<?> data, float xScale, float xOffset) {
+
+        int size = (int) Math.ceil((mTo - mFrom) * phaseX + mFrom);
+
+        if (size <= mFrom)
+            return 0;
+
+        int column = getColumn(data.getXIndexAt(mFrom), xScale, xOffset);
+        int columns = getColumn(data.getXIndexAt(size - 1), xScale, xOffset) - column + 1;
+        int capacity = Math.min(size - mFrom, columns * 4);
+
+        if (mDecimatedPositions.length < capacity)
+            mDecimatedPositions = new int[capacity];
+
+        int count = 0;
+        int first = mFrom;
+        int min = mFrom;
+        int max = mFrom;
+        float minVal = data.getValAt(mFrom);
+        float maxVal = minVal;
+
+        for (int i = mFrom + 1; i < size; i++) {
+
+            int c = getColumn(data.getXIndexAt(i), xScale, xOffset);
+            float val = data.getValAt(i);
+
+            if (c != column) {
+
+                count = addColumn(count, first, min, max, i - 1);
+
+                column = c;
+                first = i;
+                min = i;
+                max = i;
+                minVal = val;
+                maxVal = val;
+
+            } else if (val < minVal) {
+                min = i;
+                minVal = val;
+            } else if (val > maxVal) {
+                max = i;
+                maxVal = val;
+            }
+        }
+
+        return addColumn(count, first, min, max, size - 1);
+    }
+
+    private static int getColumn(int xIndex, float xScale, float xOffset) {
+        return (int) Math.floor(xIndex * xScale + xOffset);
+    }
+
+    /**
+     * Adds the positions of a column in ascending order, without duplicates.
+     */
+    private int addColumn(int count, int first, int min, int max, int last) {
+
+        int[] positions = mDecimatedPositions;
+
+        positions[count++] = first;
+
+        int low = Math.min(min, max);
+        int high = Math.max(min, max);
+
+        if (low > first && low < last)
+            positions[count++] = low;
+        if (high > low && high > first && high < last)
+            positions[count++] = high;
+        if (last > first)
+            positions[count++] = last;
+
+        return count;
+    }
+
     /**
      * Builds up the buffer with the provided data and resets the buffer-index
      * after feed-completion. This needs to run FAST.
@@ -2,6 +2,8 @@
 package com.github.mikephil.charting.buffer;
 
 import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.LodPyramid;
 
 import java.util.List;
 
@@ -14,11 +16,17 @@ public class BarBuffer extends AbstractBuffer<BarEntry> {
     protected boolean mContainsStacks = false;
     protected boolean mInverted = false;
 
+    /** the number of floats written by the last call of feed(...) */
+    protected int mFeedSize = 0;
+
     public BarBuffer(int size, float groupspace, int dataSetCount, boolean containsStacks) {
         super(size);
         this.mGroupSpace = groupspace;
         this.mDataSetCount = dataSetCount;
         this.mContainsStacks = containsStacks;
+
+        // all entries, until limited
+        this.mTo = Integer.MAX_VALUE;
     }
 
     public void setBarSpace(float barspace) {
@@ -41,17 +49,74 @@ public class BarBuffer extends AbstractBuffer<BarEntry> {
         buffer[index++] = bottom;
     }
 
+    /**
+     * Limits the buffer to the bars of the given DataSet that are at least
+     * partly between the given x-values of the chart. The positions are found
+     * by binary search, the x-positions of the bars include the offsets of
+     * the grouped DataSets.
+     * 
+     * @param data
+     * @param minX
+     * @param maxX
+     */
+    public void limitToRange(DataSet<?> data, float minX, float maxX) {
+
+        float barWidth = 0.5f;
+
+        // the first bar whose right edge is not left of minX
+        int low = 0;
+        int high = data.getEntryCount();
+
+        while (low < high) {
+
+            int mid = (low + high) >>> 1;
+
+            if (getBarX(data, mid) + barWidth < minX)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        limitFrom(low);
+
+        // the first bar whose left edge is right of maxX
+        high = data.getEntryCount();
+
+        while (low < high) {
+
+            int mid = (low + high) >>> 1;
+
+            if (getBarX(data, mid) - barWidth <= maxX)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        limitTo(low);
+    }
+
+    /**
+     * Returns the number of floats written to the buffer by the last call of
+     * feed(...).
+     * 
+     * @return
+     */
+    public int getFeedSize() {
+        return mFeedSize;
+    }
+
     @Override
     public void feed(List<BarEntry> entries) {
 
-        float size = entries.size() * phaseX;
+        int to = Math.min(mTo, entries.size());
+        int size = (int) Math.ceil((to - mFrom) * phaseX + mFrom);
 
         int dataSetOffset = (mDataSetCount - 1);
         float barSpaceHalf = mBarSpace / 2f;
         float groupSpaceHalf = mGroupSpace / 2f;
         float barWidth = 0.5f;
 
-        for (int i = 0; i < size; i++) {
+        for (int i = mFrom; i < size; i++) {
 
             BarEntry e = entries.get(i);
 
@@ -80,13 +145,10 @@ public class BarBuffer extends AbstractBuffer<BarEntry> {
                     
                 } else {
                     
-                    float all = e.getVal();
-
                     // fill the stack
                     for (int k = 0; k < vals.length; k++) {
 
-                        all -= vals[k];
-                        y = vals[k] + all;
+                        y = e.getStackSum(k);
 
                         float left = x - barWidth + barSpaceHalf;
                         float right = x + barWidth - barSpaceHalf;
@@ -122,13 +184,10 @@ public class BarBuffer extends AbstractBuffer<BarEntry> {
                     
                 } else {
                     
-                    float all = e.getVal();
-
                     // fill the stack
                     for (int k = 0; k < vals.length; k++) {
 
-                        all -= vals[k];
-                        y = vals[k] + all;
+                        y = e.getStackSum(k);
 
                         float left = x - barWidth + barSpaceHalf;
                         float right = x + barWidth - barSpaceHalf;
@@ -147,6 +206,59 @@ public class BarBuffer extends AbstractBuffer<BarEntry> {
             }          
         }
 
+        mFeedSize = index;
+        reset();
+    }
+
+    /**
+     * Builds up the buffer with one bar per bucket of the given level of the
+     * LodPyramid, for the values between from (inclusive) and to (exclusive)
+     * of a DataSet that is not stacked. Each bar spans the bars of its bucket
+     * horizontally and reaches from the lowest to the highest value (or the
+     * zero line) vertically. Returns the number of floats written to the
+     * buffer.
+     * 
+     * @param data
+     * @param lod
+     * @param level
+     * @param from
+     * @param to
+     * @return
+     */
+    public int feed(DataSet<?> data, LodPyramid lod, int level, int from, int to) {
+
+        float barSpaceHalf = mBarSpace / 2f;
+        float barWidth = 0.5f;
+        int shift = level + 1;
+
+        for (int b = from >> shift, last = (to - 1) >> shift; from < to && b <= last; b++) {
+
+            int first = Math.max(b << shift, from);
+            int end = Math.min((b + 1) << shift, to) - 1;
+
+            float left = getBarX(data, first) - barWidth + barSpaceHalf;
+            float right = getBarX(data, end) + barWidth - barSpaceHalf;
+            float max = Math.max(data.getValAt(lod.getMaxPosition(level, b)), 0f) * phaseY;
+            float min = Math.min(data.getValAt(lod.getMinPosition(level, b)), 0f) * phaseY;
+
+            if (mInverted)
+                addBar(left, min, right, max);
+            else
+                addBar(left, max, right, min);
+        }
+
+        mFeedSize = index;
         reset();
+
+        return mFeedSize;
+    }
+
+    /**
+     * Returns the x-position of the bar at the given position in the DataSet,
+     * depending on the number of DataSets and the group space.
+     */
+    private float getBarX(DataSet<?> data, int pos) {
+        return data.getXIndexAt(pos) + pos * (mDataSetCount - 1) + mDataSetIndex
+                + mGroupSpace * pos + mGroupSpace / 2f;
     }
 }
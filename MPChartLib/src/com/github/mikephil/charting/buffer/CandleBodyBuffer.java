@@ -38,4 +38,36 @@ public class CandleBodyBuffer extends AbstractBuffer<CandleEntry> {
 
         reset();
     }
+
+    /**
+     * Builds up the buffer with one body per bucket of the given level of the
+     * LodPyramid, for the candles between from (inclusive) and to
+     * (exclusive). Each body spans the candles of its bucket, from the open of
+     * the first to the close of the last candle. Returns the number of floats
+     * written to the buffer.
+     * 
+     * @param entries
+     * @param level
+     * @param from
+     * @param to
+     * @return
+     */
+    public int feed(List<CandleEntry> entries, int level, int from, int to) {
+
+        int shift = level + 1;
+
+        for (int b = from >> shift, last = (to - 1) >> shift; from < to && b <= last; b++) {
+
+            CandleEntry first = entries.get(Math.max(b << shift, from));
+            CandleEntry end = entries.get(Math.min((b + 1) << shift, to) - 1);
+
+            addBody(first.getXIndex() - 0.5f + mBodySpace, end.getClose() * phaseY,
+                    end.getXIndex() + 0.5f - mBodySpace, first.getOpen() * phaseY);
+        }
+
+        int count = index;
+        reset();
+
+        return count;
+    }
 }
@@ -2,6 +2,7 @@
 package com.github.mikephil.charting.buffer;
 
 import com.github.mikephil.charting.data.CandleEntry;
+import com.github.mikephil.charting.data.LodPyramid;
 
 import java.util.List;
 
@@ -32,4 +33,38 @@ public class CandleShadowBuffer extends AbstractBuffer<CandleEntry> {
 
         reset();
     }
+
+    /**
+     * Builds up the buffer with one shadow per bucket of the given level of
+     * the LodPyramid, for the candles between from (inclusive) and to
+     * (exclusive). Each shadow reaches from the highest high to the lowest low
+     * of its bucket. Returns the number of floats written to the buffer.
+     * 
+     * @param entries
+     * @param lod
+     * @param level
+     * @param from
+     * @param to
+     * @return
+     */
+    public int feed(List<CandleEntry> entries, LodPyramid lod, int level, int from, int to) {
+
+        int shift = level + 1;
+
+        for (int b = from >> shift, last = (to - 1) >> shift; from < to && b <= last; b++) {
+
+            int first = Math.max(b << shift, from);
+            int end = Math.min((b + 1) << shift, to) - 1;
+
+            float x = (entries.get(first).getXIndex() + entries.get(end).getXIndex()) / 2f;
+
+            addShadow(x, entries.get(lod.getMaxPosition(level, b)).getHigh() * phaseY,
+                    x, entries.get(lod.getMinPosition(level, b)).getLow() * phaseY);
+        }
+
+        int count = index;
+        reset();
+
+        return count;
+    }
 }
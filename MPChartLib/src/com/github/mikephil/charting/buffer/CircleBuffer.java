@@ -1,6 +1,7 @@
 
 package com.github.mikephil.charting.buffer;
 
+import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
 
 import java.util.List;
@@ -29,4 +30,65 @@ public class CircleBuffer extends AbstractBuffer<Entry> {
         
         reset();
     }
+
+    /**
+     * Builds up the buffer with the values of the provided DataSet, reading
+     * them by position.
+     * 
+     * @param data
+     */
+    public void feed(DataSet<?> data) {
+
+        int size = (int) Math.ceil((mTo - mFrom) * phaseX + mFrom);
+
+        for (int i = mFrom; i < size; i++) {
+            addCircle(data.getXIndexAt(i), data.getValAt(i) * phaseY);
+        }
+
+        reset();
+    }
+
+    /**
+     * Builds up the buffer with the values at the given positions of the
+     * DataSet. Returns the number of floats written to the buffer.
+     * 
+     * @param data
+     * @param positions
+     * @param count the number of positions
+     * @return
+     */
+    public int feed(DataSet<?> data, int[] positions, int count) {
+
+        for (int i = 0; i < count; i++) {
+            addCircle(data.getXIndexAt(positions[i]), data.getValAt(positions[i]) * phaseY);
+        }
+
+        reset();
+
+        return count * 2;
+    }
+
+    /**
+     * Builds up the buffer with only the first, lowest, highest and last
+     * value of each pixel column within the limits of the buffer (see
+     * decimate(...)). Returns the number of floats written to the buffer,
+     * getDecimatedPositions() returns the positions of the circles.
+     * 
+     * @param data
+     * @param xScale pixels per x-index
+     * @param xOffset pixel of x-index 0
+     * @return
+     */
+    public int feedDecimated(DataSet<?> data, float xScale, float xOffset) {
+        return feed(data, mDecimatedPositions, decimate(data, xScale, xOffset));
+    }
+
+    /**
+     * Returns the positions of the circles of the last feedDecimated(...).
+     * 
+     * @return
+     */
+    public int[] getDecimatedPositions() {
+        return mDecimatedPositions;
+    }
 }
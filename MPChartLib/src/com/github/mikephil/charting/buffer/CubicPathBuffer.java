@@ -0,0 +1,159 @@
+
+package com.github.mikephil.charting.buffer;
+
+import android.graphics.Matrix;
+import android.graphics.Path;
+
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.utils.Transformer;
+
+/**
+ * Holds the path of a cubic line (and of its fill) in pixels, built from the
+ * cached control points of a LineDataSet (see getCubicControlPoints()). The
+ * path covers the requested range plus its width on each side. As long as
+ * the requested range stays within the path and the chart is only moved, not
+ * zoomed, the path is translated instead of rebuilt.
+ *
+ * @author Philipp Jahoda
+ */
+public class CubicPathBuffer {
+
+    /** the path of the line, in pixels */
+    private Path mPath = new Path();
+
+    /** the path of the fill, in pixels */
+    private Path mFillPath = new Path();
+
+    /** the value-to-pixel matrix and its values the paths were built with */
+    private Matrix mMatrix = new Matrix();
+    private float[] mValues = new float[9];
+    private float[] mPathValues = new float[9];
+
+    /** the positions the paths cover, from inclusive, to exclusive */
+    private int mFrom = 0;
+    private int mTo = 0;
+
+    /** what else the paths were built for */
+    private float[] mControlPoints = null;
+    private float mPhaseY = 1f;
+    private boolean mFilled = false;
+    private float mFillMin = 0f;
+
+    /**
+     * Makes the paths cover at least the values between from (inclusive) and
+     * to (exclusive), but none behind limit, for the current matrices of the
+     * given Transformer. Translates the paths if possible, rebuilds them
+     * otherwise.
+     *
+     * @param set
+     * @param from
+     * @param to
+     * @param limit the position the paths must not extend beyond, e.g. where
+     *            the animation has arrived
+     * @param phaseY
+     * @param filled true if the fill path is needed
+     * @param fillMin the y-value the fill is closed at
+     * @param trans
+     */
+    public void update(LineDataSet set, int from, int to, int limit, float phaseY,
+            boolean filled, float fillMin, Transformer trans) {
+
+        float[] controlPoints = set.getCubicControlPoints();
+
+        trans.getValueToPixelMatrix(mMatrix);
+        mMatrix.getValues(mValues);
+
+        if (controlPoints == mControlPoints && phaseY == mPhaseY && filled == mFilled
+                && (!filled || fillMin == mFillMin)
+                && from >= mFrom && to <= mTo && mTo <= limit
+                && isTranslationOnly()) {
+
+            float dx = mValues[Matrix.MTRANS_X] - mPathValues[Matrix.MTRANS_X];
+            float dy = mValues[Matrix.MTRANS_Y] - mPathValues[Matrix.MTRANS_Y];
+
+            if (dx != 0f || dy != 0f) {
+                mPath.offset(dx, dy);
+                mFillPath.offset(dx, dy);
+            }
+        } else {
+
+            int width = to - from;
+
+            mFrom = Math.max(from - width, 0);
+            mTo = Math.min(to + width, Math.min(limit, set.getEntryCount()));
+            mControlPoints = controlPoints;
+            mPhaseY = phaseY;
+            mFilled = filled;
+            mFillMin = fillMin;
+
+            build(set, controlPoints);
+        }
+
+        System.arraycopy(mValues, 0, mPathValues, 0, mValues.length);
+    }
+
+    /**
+     * Returns true if the current matrix differs from the one the paths were
+     * built with only in the translation.
+     */
+    private boolean isTranslationOnly() {
+
+        for (int i = 0; i < mValues.length; i++) {
+
+            if (i != Matrix.MTRANS_X && i != Matrix.MTRANS_Y && mValues[i] != mPathValues[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    private void build(LineDataSet set, float[] controlPoints) {
+
+        mPath.rewind();
+        mFillPath.rewind();
+
+        if (mTo - mFrom < 2)
+            return;
+
+        mPath.moveTo(set.getXIndexAt(mFrom), set.getValAt(mFrom) * mPhaseY);
+
+        for (int i = mFrom; i < mTo - 1; i++) {
+
+            int k = i * 4;
+
+            mPath.cubicTo(controlPoints[k], controlPoints[k + 1] * mPhaseY,
+                    controlPoints[k + 2], controlPoints[k + 3] * mPhaseY,
+                    set.getXIndexAt(i + 1), set.getValAt(i + 1) * mPhaseY);
+        }
+
+        if (mFilled) {
+
+            mFillPath.set(mPath);
+            mFillPath.lineTo(set.getXIndexAt(mTo - 1), mFillMin);
+            mFillPath.lineTo(set.getXIndexAt(mFrom), mFillMin);
+            mFillPath.close();
+            mFillPath.transform(mMatrix);
+        }
+
+        mPath.transform(mMatrix);
+    }
+
+    /**
+     * Returns the path of the line, in pixels.
+     *
+     * @return
+     */
+    public Path getPath() {
+        return mPath;
+    }
+
+    /**
+     * Returns the closed path of the fill, in pixels, empty if the fill was
+     * not requested.
+     *
+     * @return
+     */
+    public Path getFillPath() {
+        return mFillPath;
+    }
+}
@@ -14,14 +14,15 @@ public class HorizontalBarBuffer extends BarBuffer {
     @Override
     public void feed(List<BarEntry> entries) {
 
-        float size = entries.size() * phaseX;
+        int to = Math.min(mTo, entries.size());
+        int size = (int) Math.ceil((to - mFrom) * phaseX + mFrom);
 
         int dataSetOffset = (mDataSetCount - 1);
         float barSpaceHalf = mBarSpace / 2f;
         float groupSpaceHalf = mGroupSpace / 2f;
         float barWidth = 0.5f;
 
-        for (int i = 0; i < size; i++) {
+        for (int i = mFrom; i < size; i++) {
 
             BarEntry e = entries.get(i);
 
@@ -50,13 +51,10 @@ public class HorizontalBarBuffer extends BarBuffer {
 
                 } else {
 
-                    float all = e.getVal();
-
                     // fill the stack
                     for (int k = 0; k < vals.length; k++) {
 
-                        all -= vals[k];
-                        y = vals[k] + all;
+                        y = e.getStackSum(k);
 
                         float bottom = x - barWidth + barSpaceHalf;
                         float top = x + barWidth - barSpaceHalf;
@@ -92,13 +90,10 @@ public class HorizontalBarBuffer extends BarBuffer {
 
                 } else {
 
-                    float all = e.getVal();
-
                     // fill the stack
                     for (int k = 0; k < vals.length; k++) {
 
-                        all -= vals[k];
-                        y = vals[k] + all;
+                        y = e.getStackSum(k);
 
                         float bottom = x - barWidth + barSpaceHalf;
                         float top = x + barWidth - barSpaceHalf;
@@ -117,6 +112,7 @@ public class HorizontalBarBuffer extends BarBuffer {
             }
         }
 
+        mFeedSize = index;
         reset();
     }
 }
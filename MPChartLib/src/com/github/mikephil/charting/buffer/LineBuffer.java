@@ -1,6 +1,7 @@
 
 package com.github.mikephil.charting.buffer;
 
+import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
 
 import java.util.List;
@@ -55,4 +56,66 @@ public class LineBuffer extends AbstractBuffer<Entry> {
 
         reset();
     }
+
+    /**
+     * Builds up the buffer with the values of the provided DataSet. Reads the
+     * values by position and therefore works with DataSets that do not hold
+     * Entry objects as well.
+     * 
+     * @param data
+     */
+    public void feed(DataSet<?> data) {
+        moveTo(data.getXIndexAt(mFrom), data.getValAt(mFrom) * phaseY);
+
+        int size = (int) Math.ceil((mTo - mFrom) * phaseX + mFrom);
+        int from = mFrom + 1;
+
+        for (int i = from; i < size; i++) {
+            lineTo(data.getXIndexAt(i), data.getValAt(i) * phaseY);
+        }
+
+        reset();
+    }
+
+    /**
+     * Builds up the buffer with the values at the given positions of the
+     * DataSet, e.g. the positions a LodPyramid provides for a zoomed out
+     * chart (see LodPyramid.getPositions(...)). Returns the number of floats
+     * written to the buffer.
+     * 
+     * @param data
+     * @param positions positions in ascending order
+     * @param count the number of positions
+     * @return
+     */
+    public int feed(DataSet<?> data, int[] positions, int count) {
+
+        if (count == 0)
+            return 0;
+
+        moveTo(data.getXIndexAt(positions[0]), data.getValAt(positions[0]) * phaseY);
+
+        for (int i = 1; i < count; i++) {
+            lineTo(data.getXIndexAt(positions[i]), data.getValAt(positions[i]) * phaseY);
+        }
+
+        reset();
+
+        return count * 4 - 4;
+    }
+
+    /**
+     * Builds up the buffer with only the first, lowest, highest and last
+     * value of each pixel column within the limits of the buffer (see
+     * decimate(...)), which draws the same line with at most 4 segments per
+     * pixel column. Returns the number of floats written to the buffer.
+     * 
+     * @param data
+     * @param xScale pixels per x-index
+     * @param xOffset pixel of x-index 0
+     * @return
+     */
+    public int feedDecimated(DataSet<?> data, float xScale, float xOffset) {
+        return feed(data, mDecimatedPositions, decimate(data, xScale, xOffset));
+    }
 }
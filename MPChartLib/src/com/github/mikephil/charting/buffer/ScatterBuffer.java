@@ -6,9 +6,15 @@ import com.github.mikephil.charting.data.Entry;
 import java.util.List;
 
 public class ScatterBuffer extends AbstractBuffer<Entry> {
+
+    /** the number of floats written by the last call of feed(...) */
+    protected int mFeedSize = 0;
     
     public ScatterBuffer(int size) {
         super(size);
+
+        // all entries, until limited
+        this.mTo = Integer.MAX_VALUE;
     }
 
     protected void addForm(float x, float y) {
@@ -16,17 +22,29 @@ public class ScatterBuffer extends AbstractBuffer<Entry> {
         buffer[index++] = y;
     }
 
+    /**
+     * Returns the number of floats written to the buffer by the last call of
+     * feed(...).
+     * 
+     * @return
+     */
+    public int getFeedSize() {
+        return mFeedSize;
+    }
+
     @Override
     public void feed(List<Entry> entries) {
         
-        float size = entries.size() * phaseX;
+        int to = Math.min(mTo, entries.size());
+        int size = (int) Math.ceil((to - mFrom) * phaseX + mFrom);
         
-        for (int i = 0; i < size; i++) {
+        for (int i = mFrom; i < size; i++) {
 
             Entry e = entries.get(i);
             addForm(e.getXIndex(), e.getVal() * phaseY);
         }
         
+        mFeedSize = index;
         reset();
     }
 }
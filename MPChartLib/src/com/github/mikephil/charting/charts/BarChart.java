@@ -6,6 +6,7 @@ import android.graphics.RectF;
 import android.util.AttributeSet;
 import android.util.Log;
 
+import com.github.mikephil.charting.components.YAxis.AxisDependency;
 import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.BarDataSet;
 import com.github.mikephil.charting.data.BarEntry;
@@ -92,6 +93,48 @@ public class BarChart extends BarLineChartBase<BarData> implements BarDataProvid
         mXChartMax = mDeltaX - mXChartMin;
     }
 
+    /**
+     * Returns the lowest x-index (value on the x-axis) that is still visible on
+     * the chart, the space of grouped DataSets is taken into account.
+     */
+    @Override
+    public int getLowestVisibleXIndex() {
+        float[] pts = new float[] {
+                mViewPortHandler.contentLeft(), mViewPortHandler.contentBottom()
+        };
+        getTransformer(AxisDependency.LEFT).pixelsToValue(pts);
+        return getXIndexForPosition(pts[0]);
+    }
+
+    /**
+     * Returns the highest x-index (value on the x-axis) that is still visible
+     * on the chart, the space of grouped DataSets is taken into account.
+     */
+    @Override
+    public int getHighestVisibleXIndex() {
+        float[] pts = new float[] {
+                mViewPortHandler.contentRight(), mViewPortHandler.contentBottom()
+        };
+        getTransformer(AxisDependency.LEFT).pixelsToValue(pts);
+        return getXIndexForPosition(pts[0]);
+    }
+
+    /**
+     * Returns the x-index of the bar-group at the given position on the
+     * x-axis. With multiple DataSets, each group occupies one unit per DataSet
+     * plus the group space.
+     * 
+     * @param position
+     * @return
+     */
+    protected int getXIndexForPosition(float position) {
+
+        float step = mData.getDataSetCount() + mData.getGroupSpace();
+        int xIndex = (int) (position / step);
+
+        return Math.max(0, Math.min(xIndex, mData.getXValCount() - 1));
+    }
+
     /**
      * Returns the Highlight object (contains x-index and DataSet index) of the
      * selected value at the given touch point inside the BarChart.
@@ -3,12 +3,14 @@ package com.github.mikephil.charting.charts;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Paint.Style;
 import android.graphics.PointF;
+import android.graphics.RectF;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.view.MotionEvent;
@@ -26,6 +28,8 @@ import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.data.LineData;
 import com.github.mikephil.charting.data.LineDataSet;
 import com.github.mikephil.charting.data.filter.Approximator;
+import com.github.mikephil.charting.data.filter.ApproximatorCache;
+import com.github.mikephil.charting.data.filter.FilteredPositions;
 import com.github.mikephil.charting.interfaces.BarLineScatterCandleDataProvider;
 import com.github.mikephil.charting.jobs.MoveViewJob;
 import com.github.mikephil.charting.listener.BarLineChartTouchListener;
@@ -73,6 +77,20 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
     /** if true, data filtering is enabled */
     protected boolean mFilterData = false;
 
+    /**
+     * if true, the y-axes are scaled to the values inside the visible x-range
+     * instead of all values
+     */
+    private boolean mAutoScaleMinMaxEnabled = false;
+
+    /** the visible x-range the y-axes were last auto-scaled to */
+    private int mAutoScaleLowestVisibleXIndex = -1;
+    private int mAutoScaleHighestVisibleXIndex = -1;
+
+    /** buffers for the range queries of the auto-scaling */
+    private float[] mAutoScaleBuffer = new float[2];
+    private float[] mAutoScaleMinMax = new float[2];
+
     /** paint object for the (by default) lightgrey background of the grid */
     protected Paint mGridBackgroundPaint;
 
@@ -110,8 +128,8 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
 
     protected XAxisRenderer mXAxisRenderer;
 
-    // /** the approximator object used for data filtering */
-    // private Approximator mApproximator;
+    /** filters the visible values with the approximator, null if disabled */
+    protected ApproximatorCache mApproximatorCache;
 
     public BarLineChartBase(Context context, AttributeSet attrs, int defStyle) {
         super(context, attrs, defStyle);
@@ -161,6 +179,25 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
     private long totalTime = 0;
     private long drawCycles = 0;
 
+    /** if true, the background and data layers are cached in bitmaps */
+    private boolean mLayerCacheEnabled = false;
+
+    /**
+     * the cached layers and the canvases drawing into them, the data layer is
+     * split into the data below the highlights and the labels above them
+     */
+    private Bitmap mBackgroundLayer;
+    private Bitmap mDataLayer;
+    private Bitmap mLabelLayer;
+    private Canvas mBackgroundCanvas;
+    private Canvas mDataCanvas;
+    private Canvas mLabelCanvas;
+
+    /** the matrices and the content rect the layers were drawn with */
+    private float[] mLayerViewPort = new float[49];
+    private float[] mViewPort = new float[49];
+    private float[] mMatrixValues = new float[9];
+
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
@@ -170,28 +207,180 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
 
         long starttime = System.currentTimeMillis();
 
-        // // if data filtering is enabled
-        // if (mFilterData) {
-        // mData = getFilteredData();
-        //
-        // Log.i(LOG_TAG, "FilterTime: " + (System.currentTimeMillis() -
-        // starttime) + " ms");
-        // starttime = System.currentTimeMillis();
-        // } else {
-        // mData = getData();
-        // // Log.i(LOG_TAG, "Filtering disabled.");
-        // }
+        if (mAutoScaleMinMaxEnabled)
+            autoScaleMinMax();
 
         if (mXAxis.isAdjustXLabelsEnabled())
             calcModulus();
 
-        // execute all drawing commands
-        drawGridBackground(canvas);
+        if (mLayerCacheEnabled && getWidth() > 0 && getHeight() > 0) {
+
+            drawLayers(canvas);
+        } else {
+
+            // execute all drawing commands
+            computeAxes();
+            drawBackgroundLayer(canvas);
+            drawDataLayer(canvas);
+            drawHighlights(canvas);
+            drawLabelLayer(canvas);
+            drawMarkers(canvas);
+            drawDescription(canvas);
+        }
+
+        if (mLogEnabled) {
+            long drawtime = (System.currentTimeMillis() - starttime);
+            totalTime += drawtime;
+            drawCycles += 1;
+            long average = totalTime / drawCycles;
+            Log.i(LOG_TAG, "Drawtime: " + drawtime + " ms, average: " + average + " ms, cycles: "
+                    + drawCycles);
+        }
+    }
+
+    /**
+     * Repaints the cached layers that are out of date and draws them in the
+     * same order as without caching: background, data, highlights, labels,
+     * markers and description. Highlights, markers and the description are
+     * not cached.
+     * 
+     * @param canvas
+     */
+    private void drawLayers(Canvas canvas) {
+
+        int width = getWidth();
+        int height = getHeight();
+
+        if (mBackgroundLayer == null || mBackgroundLayer.getWidth() != width
+                || mBackgroundLayer.getHeight() != height
+                || mBackgroundLayer.getConfig() != mBitmapConfig) {
+
+            releaseLayers();
+
+            mBackgroundLayer = mBitmapPool.obtain(width, height, mBitmapConfig);
+            mDataLayer = mBitmapPool.obtain(width, height, mBitmapConfig);
+            mLabelLayer = mBitmapPool.obtain(width, height, mBitmapConfig);
+            mBackgroundCanvas = new Canvas(mBackgroundLayer);
+            mDataCanvas = new Canvas(mDataLayer);
+            mLabelCanvas = new Canvas(mLabelLayer);
+
+            mDirtyLayers = LAYER_BACKGROUND | LAYER_DATA;
+        }
+
+        // zooming, moving, offsets and axis ranges change everything
+        if (hasViewPortChanged())
+            mDirtyLayers = LAYER_BACKGROUND | LAYER_DATA;
+
+        if (mDirtyLayers != 0)
+            computeAxes();
+
+        if ((mDirtyLayers & LAYER_BACKGROUND) != 0) {
+            mBackgroundLayer.eraseColor(Color.TRANSPARENT);
+            drawBackgroundLayer(mBackgroundCanvas);
+        }
+
+        if ((mDirtyLayers & LAYER_DATA) != 0) {
+            mDataLayer.eraseColor(Color.TRANSPARENT);
+            drawDataLayer(mDataCanvas);
+
+            mLabelLayer.eraseColor(Color.TRANSPARENT);
+            drawLabelLayer(mLabelCanvas);
+        }
+
+        mDirtyLayers = 0;
+
+        canvas.drawBitmap(mBackgroundLayer, 0, 0, mDrawPaint);
+        canvas.drawBitmap(mDataLayer, 0, 0, mDrawPaint);
+
+        drawHighlights(canvas);
+
+        canvas.drawBitmap(mLabelLayer, 0, 0, mDrawPaint);
+
+        drawMarkers(canvas);
+        drawDescription(canvas);
+    }
+
+    /**
+     * Returns true if the matrices of the transformers, the touch matrix or
+     * the content rect changed since the last call.
+     */
+    private boolean hasViewPortChanged() {
+
+        int i = 0;
+
+        i = putMatrix(mViewPortHandler.getMatrixTouch(), i);
+        i = putMatrix(mLeftAxisTransformer.getValueMatrix(), i);
+        i = putMatrix(mLeftAxisTransformer.getOffsetMatrix(), i);
+        i = putMatrix(mRightAxisTransformer.getValueMatrix(), i);
+        i = putMatrix(mRightAxisTransformer.getOffsetMatrix(), i);
+
+        RectF content = mViewPortHandler.getContentRect();
+        mViewPort[i++] = content.left;
+        mViewPort[i++] = content.top;
+        mViewPort[i++] = content.right;
+        mViewPort[i++] = content.bottom;
+
+        boolean changed = false;
+
+        for (int j = 0; j < mViewPort.length; j++) {
+
+            if (mViewPort[j] != mLayerViewPort[j]) {
+                mLayerViewPort[j] = mViewPort[j];
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    private int putMatrix(Matrix matrix, int index) {
+
+        matrix.getValues(mMatrixValues);
+        System.arraycopy(mMatrixValues, 0, mViewPort, index, mMatrixValues.length);
+
+        return index + mMatrixValues.length;
+    }
+
+    private void releaseLayers() {
+
+        mBitmapPool.release(mBackgroundLayer);
+        mBitmapPool.release(mDataLayer);
+        mBitmapPool.release(mLabelLayer);
+
+        mBackgroundLayer = null;
+        mDataLayer = null;
+        mLabelLayer = null;
+        mBackgroundCanvas = null;
+        mDataCanvas = null;
+        mLabelCanvas = null;
+    }
+
+    @Override
+    protected void releaseBitmaps() {
+        super.releaseBitmaps();
+        releaseLayers();
+    }
+
+    /**
+     * Computes the labels of the enabled y-axes.
+     */
+    protected void computeAxes() {
 
         if (mAxisLeft.isEnabled())
             mAxisRendererLeft.computeAxis(mAxisLeft.mAxisMinimum, mAxisLeft.mAxisMaximum);
         if (mAxisRight.isEnabled())
             mAxisRendererRight.computeAxis(mAxisRight.mAxisMinimum, mAxisRight.mAxisMaximum);
+    }
+
+    /**
+     * Draws everything behind the data: grid background, axis lines, grid
+     * lines and limit lines that are drawn behind the data.
+     * 
+     * @param canvas
+     */
+    protected void drawBackgroundLayer(Canvas canvas) {
+
+        drawGridBackground(canvas);
 
         mXAxisRenderer.renderAxisLine(canvas);
         mAxisRendererLeft.renderAxisLine(canvas);
@@ -215,6 +404,20 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         if (mAxisRight.isDrawLimitLinesBehindDataEnabled())
             mAxisRendererRight.renderLimitLines(canvas);
 
+        canvas.restoreToCount(clipRestoreCount);
+    }
+
+    /**
+     * Draws the data and the limit lines that are drawn in front of it, below
+     * the highlights.
+     * 
+     * @param canvas
+     */
+    protected void drawDataLayer(Canvas canvas) {
+
+        int clipRestoreCount = canvas.save();
+        canvas.clipRect(mViewPortHandler.getContentRect());
+
         mRenderer.drawData(canvas);
 
         if (!mXAxis.isDrawLimitLinesBehindDataEnabled())
@@ -226,12 +429,36 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         if (!mAxisRight.isDrawLimitLinesBehindDataEnabled())
             mAxisRendererRight.renderLimitLines(canvas);
 
-        // if highlighting is enabled
-        if (mHighlightEnabled && mHighLightIndicatorEnabled && valuesToHighlight())
-            mRenderer.drawHighlighted(canvas, mIndicesToHightlight);
-
         // Removes clipping rectangle
         canvas.restoreToCount(clipRestoreCount);
+    }
+
+    /**
+     * Draws the highlights of the highlighted values, if highlighting is
+     * enabled.
+     * 
+     * @param canvas
+     */
+    protected void drawHighlights(Canvas canvas) {
+
+        if (!mHighlightEnabled || !mHighLightIndicatorEnabled || !valuesToHighlight())
+            return;
+
+        int clipRestoreCount = canvas.save();
+        canvas.clipRect(mViewPortHandler.getContentRect());
+
+        mRenderer.drawHighlighted(canvas, mIndicesToHightlight);
+
+        canvas.restoreToCount(clipRestoreCount);
+    }
+
+    /**
+     * Draws everything above the highlights and below the markers: extras,
+     * axis labels, values and legend.
+     * 
+     * @param canvas
+     */
+    protected void drawLabelLayer(Canvas canvas) {
 
         mRenderer.drawExtras(canvas);
 
@@ -243,21 +470,38 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
 
         mLegendRenderer.renderLegend(canvas);
         // drawLegend();
+    }
 
-        drawMarkers(canvas);
+    /**
+     * If enabled, the background (grid background, axes and grid) and the
+     * data (data and limit lines below the highlights; extras, axis labels,
+     * values and legend above them) are cached in bitmaps and only repainted
+     * after data, viewport or style changes (see invalidateLayers(...)).
+     * Highlighting a value then only redraws highlights and markers, in
+     * between the cached layers, so the drawing order is the same as without
+     * caching. The description is drawn on top without caching. Needs three
+     * bitmaps of the size of the chart, taken from the BitmapPool of the
+     * chart in its bitmap config. Default: false
+     * 
+     * @param enabled
+     */
+    public void setLayerCacheEnabled(boolean enabled) {
 
-        drawDescription(canvas);
+        mLayerCacheEnabled = enabled;
 
-        // canvas.drawBitmap(mDrawBitmap, 0, 0, mDrawPaint);
+        if (!enabled)
+            releaseLayers();
 
-        if (mLogEnabled) {
-            long drawtime = (System.currentTimeMillis() - starttime);
-            totalTime += drawtime;
-            drawCycles += 1;
-            long average = totalTime / drawCycles;
-            Log.i(LOG_TAG, "Drawtime: " + drawtime + " ms, average: " + average + " ms, cycles: "
-                    + drawCycles);
-        }
+        invalidate();
+    }
+
+    /**
+     * Returns true if the layers of the chart are cached in bitmaps.
+     * 
+     * @return
+     */
+    public boolean isLayerCacheEnabled() {
+        return mLayerCacheEnabled;
     }
 
     /**
@@ -301,6 +545,13 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         if (mRenderer != null)
             mRenderer.initBuffers();
 
+        // the cached data layer is out of date
+        mDirtyLayers |= LAYER_DATA;
+
+        // the values inside the visible range might have changed
+        mAutoScaleLowestVisibleXIndex = -1;
+        mAutoScaleHighestVisibleXIndex = -1;
+
         calcMinMax();
 
         if (mAxisLeft.needsDefaultFormatter())
@@ -311,13 +562,101 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         mAxisRendererLeft.computeAxis(mAxisLeft.mAxisMinimum, mAxisLeft.mAxisMaximum);
         mAxisRendererRight.computeAxis(mAxisRight.mAxisMinimum, mAxisRight.mAxisMaximum);
 
-        mXAxisRenderer.computeAxis(mData.getXValAverageLength(), mData.getXVals());
+        mXAxisRenderer.computeAxis(mData.getXValAverageLength(), mData.getXValueProvider());
 
         mLegendRenderer.computeLegend(mData);
 
         calculateOffsets();
     }
 
+    /**
+     * Recalculates the y-axis ranges and offsets if the visible x-range has
+     * changed since the last call. Called upon every draw-cycle if
+     * auto-scaling is enabled.
+     */
+    protected void autoScaleMinMax() {
+
+        int lowest = getLowestVisibleXIndex();
+        int highest = getHighestVisibleXIndex();
+
+        if (lowest == mAutoScaleLowestVisibleXIndex && highest == mAutoScaleHighestVisibleXIndex)
+            return;
+
+        mAutoScaleLowestVisibleXIndex = lowest;
+        mAutoScaleHighestVisibleXIndex = highest;
+
+        calcMinMax();
+        calculateOffsets();
+    }
+
+    /**
+     * Calculates minimum (index 0) and maximum (index 1) y-value of all
+     * DataSets plotted against the given axis inside the given x-range, see
+     * DataSet.getYMinMax(...). Returns false if there are no values inside
+     * the range.
+     * 
+     * @param axis
+     * @param lowest the lowest x-index of the range
+     * @param highest the highest x-index of the range
+     * @param minMax
+     * @return
+     */
+    protected boolean calcMinMaxInRange(AxisDependency axis, int lowest, int highest,
+            float[] minMax) {
+
+        boolean found = false;
+
+        for (int i = 0; i < mData.getDataSetCount(); i++) {
+
+            DataSet<? extends Entry> set = mData.getDataSetByIndex(i);
+
+            if (set.getAxisDependency() != axis || set.getEntryCount() == 0)
+                continue;
+
+            // first entry at or after the lowest x-index
+            int from = getPositionForXIndex(set, lowest, false);
+            // last entry at or before the highest x-index
+            int to = getPositionForXIndex(set, highest, true);
+
+            if (!set.getYMinMax(from, to, mAutoScaleBuffer))
+                continue;
+
+            if (!found) {
+                minMax[0] = mAutoScaleBuffer[0];
+                minMax[1] = mAutoScaleBuffer[1];
+                found = true;
+            } else {
+                minMax[0] = Math.min(minMax[0], mAutoScaleBuffer[0]);
+                minMax[1] = Math.max(minMax[1], mAutoScaleBuffer[1]);
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Binary search for the position of the first entry with an x-index equal
+     * or higher than the given one (or the last entry with an x-index equal or
+     * lower if last is true).
+     */
+    private int getPositionForXIndex(DataSet<? extends Entry> set, int xIndex, boolean last) {
+
+        int low = 0;
+        int high = set.getEntryCount() - 1;
+
+        while (low <= high) {
+            int m = (low + high) >>> 1;
+            int x = set.getXIndexAt(m);
+
+            if (x < xIndex || (last && x == xIndex))
+                low = m + 1;
+            else
+                high = m - 1;
+        }
+
+        return last ? high : low;
+    }
+
     @Override
     protected void calcMinMax() {
 
@@ -326,6 +665,22 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         float minRight = mData.getYMin(AxisDependency.RIGHT);
         float maxRight = mData.getYMax(AxisDependency.RIGHT);
 
+        if (mAutoScaleMinMaxEnabled) {
+
+            int lowest = getLowestVisibleXIndex();
+            int highest = getHighestVisibleXIndex();
+
+            if (calcMinMaxInRange(AxisDependency.LEFT, lowest, highest, mAutoScaleMinMax)) {
+                minLeft = mAutoScaleMinMax[0];
+                maxLeft = mAutoScaleMinMax[1];
+            }
+
+            if (calcMinMaxInRange(AxisDependency.RIGHT, lowest, highest, mAutoScaleMinMax)) {
+                minRight = mAutoScaleMinMax[0];
+                maxRight = mAutoScaleMinMax[1];
+            }
+        }
+
         float leftRange = Math.abs(maxLeft - (mAxisLeft.isStartAtZeroEnabled() ? 0 : minLeft));
         float rightRange = Math.abs(maxRight - (mAxisRight.isStartAtZeroEnabled() ? 0 : minRight));
 
@@ -347,7 +702,7 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         float bottomSpaceLeft = leftRange / 100f * mAxisLeft.getSpaceBottom();
         float bottomSpaceRight = rightRange / 100f * mAxisRight.getSpaceBottom();
 
-        mXChartMax = mData.getXVals().size() - 1;
+        mXChartMax = mData.getXValCount() - 1;
         mDeltaX = Math.abs(mXChartMax - mXChartMin);
 
         mAxisLeft.mAxisMaximum = !Float.isNaN(mAxisLeft.getAxisMaxValue()) ? mAxisLeft
@@ -702,7 +1057,7 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
     public void centerViewTo(int xIndex, float yValue, AxisDependency axis) {
 
         float valsInView = getDeltaY(axis) / mViewPortHandler.getScaleY();
-        float xsInView = getXAxis().getValues().size() / mViewPortHandler.getScaleX();
+        float xsInView = getXAxis().getValueCount() / mViewPortHandler.getScaleX();
 
         Runnable job = new MoveViewJob(mViewPortHandler,
                 xIndex - xsInView / 2f, yValue + valsInView / 2f,
@@ -1141,6 +1496,33 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
         return null;
     }
 
+    /**
+     * If set to true, the y-axes are scaled to the minimum and maximum of the
+     * values inside the currently visible x-range, and are rescaled whenever
+     * the chart is panned or zoomed. The range queries use the RangeIndex or
+     * the LodPyramid of a DataSet if one of them is enabled (see
+     * DataSet.setRangeIndexEnabled(...) and DataSet.setLodEnabled(...)), which
+     * makes this fast even for very large DataSets, and scan the visible
+     * values otherwise. Fixed axis minimums / maximums are still respected.
+     * Default: false
+     * 
+     * @param enabled
+     */
+    public void setAutoScaleMinMaxEnabled(boolean enabled) {
+        mAutoScaleMinMaxEnabled = enabled;
+        mAutoScaleLowestVisibleXIndex = -1;
+        mAutoScaleHighestVisibleXIndex = -1;
+    }
+
+    /**
+     * Returns true if the y-axes are scaled to the visible x-range.
+     * 
+     * @return
+     */
+    public boolean isAutoScaleMinMaxEnabled() {
+        return mAutoScaleMinMaxEnabled;
+    }
+
     /**
      * Returns the lowest x-index (value on the x-axis) that is still visible on
      * the chart.
@@ -1244,13 +1626,21 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
 
     /**
      * Enables data filtering for the chart data, filtering will use the user
-     * customized Approximator handed over to this method.
+     * customized Approximator handed over to this method. The renderers draw
+     * the visible values of each DataSet reduced by the Approximator once
+     * there are at least two values per pixel (currently the line renderer).
+     * The result is cached until the DataSet changes, the zoom level changes
+     * significantly or the chart is panned far enough (see
+     * ApproximatorCache). For the decimating types (LTTB, MIN_MAX, M4) the
+     * target count of the Approximator is set according to the width of the
+     * chart, for DOUGLAS_PEUCKER its ratios according to the axis ranges and
+     * the zoom, a zoom change filters again.
      * 
      * @param a
      */
     public void enableFiltering(Approximator a) {
         mFilterData = true;
-        // mApproximator = a;
+        mApproximatorCache = new ApproximatorCache(a);
     }
 
     /**
@@ -1258,6 +1648,26 @@ public abstract class BarLineChartBase<T extends BarLineScatterCandleData<? exte
      */
     public void disableFiltering() {
         mFilterData = false;
+        mApproximatorCache = null;
+    }
+
+    @Override
+    public FilteredPositions getFilteredPositions(DataSet<?> set, int from, int to) {
+
+        if (!mFilterData || mApproximatorCache == null)
+            return null;
+
+        float width = mViewPortHandler.contentWidth();
+        float height = mViewPortHandler.contentHeight();
+
+        // y-values per pixel relative to x-values per pixel, and the zoom
+        float deltaRatio = (getDeltaY(set.getAxisDependency()) / height) / (mDeltaX / width);
+        float scaleRatio = mViewPortHandler.getScaleY() / mViewPortHandler.getScaleX();
+
+        if (Float.isNaN(deltaRatio) || Float.isInfinite(deltaRatio) || deltaRatio <= 0f)
+            deltaRatio = 1f;
+
+        return mApproximatorCache.get(set, from, to, width, deltaRatio, scaleRatio);
     }
 
     /**
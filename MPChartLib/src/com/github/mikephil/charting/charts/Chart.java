@@ -17,6 +17,7 @@ import android.graphics.RectF;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
 import android.os.Environment;
+import android.os.Looper;
 import android.provider.MediaStore.Images;
 import android.text.TextUtils;
 import android.util.AttributeSet;
@@ -34,10 +35,12 @@ import com.github.mikephil.charting.data.ChartData;
 import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.interfaces.ChartInterface;
+import com.github.mikephil.charting.jobs.ChartDataLoader;
 import com.github.mikephil.charting.listener.OnChartGestureListener;
 import com.github.mikephil.charting.listener.OnChartValueSelectedListener;
 import com.github.mikephil.charting.renderer.DataRenderer;
 import com.github.mikephil.charting.renderer.LegendRenderer;
+import com.github.mikephil.charting.utils.BitmapPool;
 import com.github.mikephil.charting.utils.DefaultValueFormatter;
 import com.github.mikephil.charting.utils.Highlight;
 import com.github.mikephil.charting.utils.Utils;
@@ -50,6 +53,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Baseclass of all Chart-Views.
@@ -72,6 +76,12 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
      */
     protected T mData = null;
 
+    /** the loader started last via loadData(...) */
+    private ChartDataLoader<T> mLoader;
+
+    /** snapshot passed to setDataSnapshot(...) that has not been set yet */
+    private final AtomicReference<T> mPendingData = new AtomicReference<T>();
+
     /** default value-formatter, number of digits depends on provided chart-data */
     protected ValueFormatter mDefaultFormatter;
 
@@ -176,7 +186,13 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
                 @Override
                 public void onAnimationUpdate(ValueAnimator animation) {
                     // ViewCompat.postInvalidateOnAnimation(Chart.this);
-                    postInvalidate();
+
+                    // the animation phases only affect the data, the dirty
+                    // layers are only touched on the main thread
+                    if (Looper.myLooper() == Looper.getMainLooper())
+                        invalidateLayers(LAYER_DATA);
+                    else
+                        post(mInvalidateData);
                 }
             });
 
@@ -255,6 +271,9 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
             return;
         }
 
+        // a snapshot that is still pending would replace newer data
+        mPendingData.set(null);
+
         // LET THE CHART KNOW THERE IS DATA
         mDataNotSet = false;
         mOffsetsCalculated = false;
@@ -275,6 +294,97 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
             Log.i(LOG_TAG, "Data is set.");
     }
 
+    /**
+     * Sets a snapshot of the data (see ChartData.snapshot()) for the chart and
+     * refreshes it. Can be called from any thread: the snapshot replaces the
+     * current data on the UI thread in a single step, if several snapshots
+     * arrive before that, only the latest one is set. This allows to prepare
+     * the next version of the data on a worker thread while the current one
+     * is drawn, without copying or locking.
+     * 
+     * @param data
+     */
+    public void setDataSnapshot(T data) {
+
+        if (data == null) {
+            Log.e(LOG_TAG,
+                    "Cannot set data snapshot for chart. Provided data object is null.");
+            return;
+        }
+
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            setData(data);
+            invalidate();
+            return;
+        }
+
+        // only post if there is no snapshot waiting already
+        if (mPendingData.getAndSet(data) == null)
+            post(mSetPendingData);
+    }
+
+    /** repaints the data layer, posted by animations off the main thread */
+    private final Runnable mInvalidateData = new Runnable() {
+
+        @Override
+        public void run() {
+            invalidateLayers(LAYER_DATA);
+        }
+    };
+
+    private final Runnable mSetPendingData = new Runnable() {
+
+        @Override
+        public void run() {
+
+            T data = mPendingData.getAndSet(null);
+
+            if (data != null) {
+                setData(data);
+                invalidate();
+            }
+        }
+    };
+
+    /**
+     * Loads the data of the chart in the background with the given loader and
+     * sets it as soon as it is ready. A loader that is still running is
+     * cancelled, as is the loader when the chart is detached from its window.
+     * 
+     * @param loader
+     */
+    public void loadData(ChartDataLoader<T> loader) {
+
+        if (mLoader != null)
+            mLoader.cancel();
+
+        mLoader = loader;
+        loader.start(this);
+    }
+
+    /**
+     * Returns the loader that has been started last via loadData(...), null if
+     * there is none.
+     * 
+     * @return
+     */
+    public ChartDataLoader<T> getLoader() {
+        return mLoader;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        // e.g. on rotation, the next chart reuses the bitmaps
+        releaseBitmaps();
+
+        if (mLoader != null) {
+            mLoader.cancel();
+            mLoader = null;
+        }
+    }
+
     /**
      * Clears the chart from all data (sets it to null) and refreshes it (by
      * calling invalidate()).
@@ -313,6 +423,27 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
         }
     }
 
+    /**
+     * Starts a batch of modifications of the data of the chart, see
+     * ChartData.beginUpdate(). Call endUpdate() when done.
+     */
+    public void beginUpdate() {
+        if (mData != null)
+            mData.beginUpdate();
+    }
+
+    /**
+     * Ends a batch of modifications of the data of the chart. When the
+     * outermost batch ends, the chart is notified about the changed data and
+     * redrawn once for the whole batch.
+     */
+    public void endUpdate() {
+        if (mData != null && mData.endUpdate()) {
+            notifyDataSetChanged();
+            invalidate();
+        }
+    }
+
     /**
      * Lets the chart know its underlying data has changed and performs all
      * necessary recalculations.
@@ -353,16 +484,57 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
     /** flag that indicates if offsets calculation has already been done or not */
     private boolean mOffsetsCalculated = false;
 
-    /**
-     * Bitmap object used for drawing. This is necessary because hardware
-     * acceleration uses OpenGL which only allows a specific texture size to be
-     * drawn on the canvas directly.
-     **/
-    protected Bitmap mDrawBitmap;
-
     /** paint object used for drawing the bitmap */
     protected Paint mDrawPaint;
 
+    /** the pixel format of the offscreen bitmaps of the chart */
+    protected Bitmap.Config mBitmapConfig = Bitmap.Config.ARGB_8888;
+
+    /** the pool the offscreen bitmaps of the chart are taken from */
+    protected BitmapPool mBitmapPool = BitmapPool.getDefault();
+
+    /** layer with everything behind the data: grid background, axes, grid */
+    public static final int LAYER_BACKGROUND = 1;
+
+    /** layer with data, values, labels and legend */
+    public static final int LAYER_DATA = 2;
+
+    /**
+     * the layers whose content is out of date (see LAYER_...), the overlay
+     * (highlights and markers) is always redrawn
+     */
+    protected int mDirtyLayers = LAYER_BACKGROUND | LAYER_DATA;
+
+    /**
+     * Redraws the chart with all layers. Called for any change that has no
+     * more specific invalidation, e.g. changes of the style.
+     */
+    @Override
+    public void invalidate() {
+        mDirtyLayers = LAYER_BACKGROUND | LAYER_DATA;
+        super.invalidate();
+    }
+
+    /**
+     * Redraws the chart, repaints the given layers (LAYER_...) and the
+     * overlay, reuses the content of the other layers if the chart caches
+     * them.
+     * 
+     * @param layers
+     */
+    public void invalidateLayers(int layers) {
+        mDirtyLayers |= layers;
+        super.invalidate();
+    }
+
+    /**
+     * Redraws the chart, repaints only the overlay with highlights and
+     * markers if the chart caches its layers.
+     */
+    public void invalidateOverlay() {
+        super.invalidate();
+    }
+
     @Override
     protected void onDraw(Canvas canvas) {
         // super.onDraw(canvas);
@@ -458,8 +630,8 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
         // set the indices to highlight
         mIndicesToHightlight = highs;
 
-        // redraw the chart
-        invalidate();
+        // redraw the highlights
+        invalidateOverlay();
     }
 
     /**
@@ -504,8 +676,8 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
             };
         }
 
-        // redraw the chart
-        invalidate();
+        // redraw the highlights
+        invalidateOverlay();
 
         if (mSelectionListener != null) {
 
@@ -1170,7 +1342,7 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
         if (mData == null || mData.getXValCount() <= index)
             return null;
         else
-            return mData.getXVals().get(index);
+            return mData.getXValue(index);
     }
 
     /**
@@ -1253,8 +1425,66 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
      */
     public void setRenderer(DataRenderer renderer) {
 
-        if (renderer != null)
+        if (renderer != null) {
+
+            if (mRenderer != null)
+                mRenderer.releaseBitmaps();
+
             mRenderer = renderer;
+        }
+    }
+
+    /**
+     * Sets the pixel format of the offscreen bitmaps of the chart (the ones
+     * of the renderers and the cached layers). ARGB_4444 halves their memory
+     * at the cost of color depth. Default: ARGB_8888
+     * 
+     * @param config
+     */
+    public void setBitmapConfig(Bitmap.Config config) {
+
+        if (config == null)
+            throw new IllegalArgumentException("The bitmap config must not be null.");
+
+        mBitmapConfig = config;
+        releaseBitmaps();
+        invalidate();
+    }
+
+    @Override
+    public Bitmap.Config getBitmapConfig() {
+        return mBitmapConfig;
+    }
+
+    /**
+     * Sets the pool the offscreen bitmaps of the chart are taken from.
+     * Default: BitmapPool.getDefault(), shared by all charts
+     * 
+     * @param pool
+     */
+    public void setBitmapPool(BitmapPool pool) {
+
+        if (pool == null)
+            throw new IllegalArgumentException("The bitmap pool must not be null.");
+
+        releaseBitmaps();
+        mBitmapPool = pool;
+    }
+
+    @Override
+    public BitmapPool getBitmapPool() {
+        return mBitmapPool;
+    }
+
+    /**
+     * Returns the offscreen bitmaps of the chart to its pool, they are taken
+     * from it again when they are needed. Called when the chart is detached
+     * from its window.
+     */
+    protected void releaseBitmaps() {
+
+        if (mRenderer != null)
+            mRenderer.releaseBitmaps();
     }
 
     @Override
@@ -1263,13 +1493,15 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
     }
 
     /**
-     * Returns the bitmap that represents the chart.
+     * Returns the bitmap that represents the chart. The bitmap is taken from
+     * the BitmapPool of the chart, it can be released into it when no longer
+     * needed.
      *
      * @return
      */
     public Bitmap getChartBitmap() {
         // Define a bitmap with the same size as the view
-        Bitmap returnedBitmap = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.RGB_565);
+        Bitmap returnedBitmap = mBitmapPool.obtain(getWidth(), getHeight(), Bitmap.Config.RGB_565);
         // Bind a canvas to it
         Canvas canvas = new Canvas(returnedBitmap);
         // Get the view's background
@@ -1317,6 +1549,8 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
         } catch (Exception e) {
             e.printStackTrace();
             return false;
+        } finally {
+            mBitmapPool.release(b);
         }
 
         return true;
@@ -1358,6 +1592,8 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
             // the jpeg
             // quality
 
+            mBitmapPool.release(b);
+
             out.flush();
             out.close();
 
@@ -1436,12 +1672,9 @@ public abstract class Chart<T extends ChartData<? extends DataSet<? extends Entr
             Log.i(LOG_TAG, "OnSizeChanged()");
 
         if (w > 0 && h > 0 && w < 10000 && h < 10000) {
-            // create a new bitmap with the new dimensions
-
-            if (mDrawBitmap != null)
-                mDrawBitmap.recycle();
 
-            mDrawBitmap = Bitmap.createBitmap(w, h, Bitmap.Config.ARGB_4444);
+            // the offscreen bitmaps are taken from the pool with the new
+            // dimensions when they are needed
             mViewPortHandler.setChartDimens(w, h);
 
             if (mLogEnabled)
@@ -88,7 +88,7 @@ public class CombinedChart extends BarLineChartBase<CombinedData> implements Lin
 
         if (getBarData() != null || getCandleData() != null) {
             mXChartMin = -0.5f;
-            mXChartMax = mData.getXVals().size() - 0.5f;
+            mXChartMax = mData.getXValCount() - 0.5f;
             mDeltaX = Math.abs(mXChartMax - mXChartMin);
         }
     }
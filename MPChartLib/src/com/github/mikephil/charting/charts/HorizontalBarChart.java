@@ -194,6 +194,24 @@ public class HorizontalBarChart extends BarChart {
         return new PointF(vals[0], vals[1]);
     }
 
+    @Override
+    public int getLowestVisibleXIndex() {
+        float[] pts = new float[] {
+                mViewPortHandler.contentLeft(), mViewPortHandler.contentBottom()
+        };
+        getTransformer(AxisDependency.LEFT).pixelsToValue(pts);
+        return getXIndexForPosition(pts[1]);
+    }
+
+    @Override
+    public int getHighestVisibleXIndex() {
+        float[] pts = new float[] {
+                mViewPortHandler.contentLeft(), mViewPortHandler.contentTop()
+        };
+        getTransformer(AxisDependency.LEFT).pixelsToValue(pts);
+        return getXIndexForPosition(pts[1]);
+    }
+
     /**
      * Returns the Highlight object (contains x-index and DataSet index) of the
      * selected value at the given touch point inside the BarChart.
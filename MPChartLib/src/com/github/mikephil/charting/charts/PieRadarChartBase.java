@@ -65,7 +65,7 @@ public abstract class PieRadarChartBase<T extends ChartData<? extends DataSet<?
 
     @Override
     protected void calcMinMax() {
-        mDeltaX = mData.getXVals().size() - 1;
+        mDeltaX = mData.getXValCount() - 1;
     }
 
     @Override
@@ -88,7 +88,7 @@ public class RadarChart extends PieRadarChartBase<RadarData> {
         float minLeft = mData.getYMin(AxisDependency.LEFT);
         float maxLeft = mData.getYMax(AxisDependency.LEFT);
 
-        mXChartMax = mData.getXVals().size() - 1;
+        mXChartMax = mData.getXValCount() - 1;
         mDeltaX = Math.abs(mXChartMax - mXChartMin);
 
         float leftRange = Math.abs(maxLeft - (mYAxis.isStartAtZeroEnabled() ? 0 : minLeft));
@@ -96,7 +96,7 @@ public class RadarChart extends PieRadarChartBase<RadarData> {
         float topSpaceLeft = leftRange / 100f * mYAxis.getSpaceTop();
         float bottomSpaceLeft = leftRange / 100f * mYAxis.getSpaceBottom();
 
-        mXChartMax = mData.getXVals().size() - 1;
+        mXChartMax = mData.getXValCount() - 1;
         mDeltaX = Math.abs(mXChartMax - mXChartMin);
 
         mYAxis.mAxisMaximum = !Float.isNaN(mYAxis.getAxisMaxValue()) ? mYAxis
@@ -138,7 +138,7 @@ public class RadarChart extends PieRadarChartBase<RadarData> {
         }
 
         mYAxisRenderer.computeAxis(mYAxis.mAxisMinimum, mYAxis.mAxisMaximum);
-        mXAxisRenderer.computeAxis(mData.getXValAverageLength(), mData.getXVals());
+        mXAxisRenderer.computeAxis(mData.getXValAverageLength(), mData.getXValueProvider());
 
         mLegendRenderer.computeLegend(mData);
 
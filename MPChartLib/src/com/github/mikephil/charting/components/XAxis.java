@@ -1,6 +1,9 @@
 
 package com.github.mikephil.charting.components;
 
+import com.github.mikephil.charting.utils.ListXValueProvider;
+import com.github.mikephil.charting.utils.XValueProvider;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,8 +16,8 @@ import java.util.List;
  */
 public class XAxis extends AxisBase {
 
-    /** the arraylist containing all the x-axis labels */
-    protected List<String> mValues = new ArrayList<String>();
+    /** provides the x-axis labels */
+    protected XValueProvider mValues = new ListXValueProvider(new ArrayList<String>());
 
     /**
      * width of the x-axis labels in pixels - this is calculated by the
@@ -153,30 +156,89 @@ public class XAxis extends AxisBase {
      * @param values
      */
     public void setValues(List<String> values) {
-        mValues = values;
+        mValues = new ListXValueProvider(values);
     }
 
     /**
-     * Returns the labels for this axis.
+     * Returns the labels for this axis, null if they are provided by an
+     * XValueProvider that is not backed by a list.
      * 
      * @return
      */
     public List<String> getValues() {
+
+        if (mValues instanceof ListXValueProvider)
+            return ((ListXValueProvider) mValues).getXVals();
+
+        return null;
+    }
+
+    /**
+     * Sets the provider of the labels for this axis.
+     * 
+     * @param values
+     */
+    public void setValueProvider(XValueProvider values) {
+        mValues = values;
+    }
+
+    /**
+     * Returns the provider of the labels for this axis.
+     * 
+     * @return
+     */
+    public XValueProvider getValueProvider() {
         return mValues;
     }
-    
+
+    /**
+     * Returns the number of labels of this axis.
+     * 
+     * @return
+     */
+    public int getValueCount() {
+        return mValues.getXValCount();
+    }
+
+    /**
+     * Returns the label at the given x-index.
+     * 
+     * @param index
+     * @return
+     */
+    public String getValue(int index) {
+        return mValues.getXValue(index);
+    }
+
+    /**
+     * Returns the longest label. If the labels are not held in a list, only a
+     * few labels spread across the axis are checked.
+     */
     @Override
     public String getLongestLabel() {
 
         String longest = "";
 
-        for (int i = 0; i < mValues.size(); i++) {
-            String text = mValues.get(i);
+        int count = mValues.getXValCount();
+        int step = 1;
+
+        if (!(mValues instanceof ListXValueProvider) && count > 8)
+            step = (count - 1) / 7;
+
+        for (int i = 0; i < count; i += step) {
+            String text = mValues.getXValue(i);
 
             if (longest.length() < text.length())
                 longest = text;
         }
 
+        if (count > 0) {
+            String last = mValues.getXValue(count - 1);
+
+            if (longest.length() < last.length())
+                longest = last;
+        }
+
         return longest;
     }
 }
@@ -3,6 +3,7 @@ package com.github.mikephil.charting.components;
 
 import android.graphics.Paint;
 
+import com.github.mikephil.charting.utils.CachedValueFormatter;
 import com.github.mikephil.charting.utils.DefaultValueFormatter;
 import com.github.mikephil.charting.utils.Utils;
 import com.github.mikephil.charting.utils.ValueFormatter;
@@ -21,6 +22,12 @@ public class YAxis extends AxisBase {
     /** custom formatter that is used instead of the auto-formatter if set */
     protected ValueFormatter mValueFormatter;
 
+    /** the number of labels of the default formatter that are cached */
+    private static final int LABEL_CACHE_SIZE = 128;
+
+    /** caches the labels of the default formatter, null if not created yet */
+    private CachedValueFormatter mLabelCache;
+
     /** the actual array of entries */
     public float[] mEntries = new float[] {};
 
@@ -349,7 +356,25 @@ public class YAxis extends AxisBase {
         if (index < 0 || index >= mEntries.length)
             return "";
         else
-            return getValueFormatter().getFormattedValue(mEntries[index]);
+            return getLabelFormatter().getFormattedValue(mEntries[index]);
+    }
+
+    /**
+     * Returns the formatter the labels are formatted with. The labels of the
+     * default formatter are cached, the axis shows the same values over and
+     * over while panning.
+     * 
+     * @return
+     */
+    protected ValueFormatter getLabelFormatter() {
+
+        if (!(mValueFormatter instanceof DefaultValueFormatter))
+            return mValueFormatter;
+
+        if (mLabelCache == null || mLabelCache.getFormatter() != mValueFormatter)
+            mLabelCache = new CachedValueFormatter(mValueFormatter, LABEL_CACHE_SIZE);
+
+        return mLabelCache;
     }
 
     /**
@@ -1,6 +1,8 @@
 
 package com.github.mikephil.charting.data;
 
+import com.github.mikephil.charting.utils.XValueProvider;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -47,6 +49,14 @@ public class BarData extends BarLineScatterCandleData<BarDataSet> {
         super(xVals, toList(dataSet));
     }
 
+    public BarData(XValueProvider xValues, List<BarDataSet> dataSets) {
+        super(xValues, dataSets);
+    }
+
+    public BarData(XValueProvider xValues, BarDataSet dataSet) {
+        super(xValues, toList(dataSet));
+    }
+
     private static List<BarDataSet> toList(BarDataSet dataSet) {
         List<BarDataSet> sets = new ArrayList<BarDataSet>();
         sets.add(dataSet);
@@ -109,4 +119,9 @@ public class BarData extends BarLineScatterCandleData<BarDataSet> {
     // public float getBarWidthMaximum() {
     // return mMaximumBarWidth;
     // }
+
+    @Override
+    public BarData snapshot() {
+        return (BarData) super.snapshot();
+    }
 }
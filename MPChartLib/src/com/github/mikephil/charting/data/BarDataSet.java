@@ -28,6 +28,15 @@ public class BarDataSet extends BarLineScatterCandleDataSet<BarEntry> {
      */
     private int mEntryCountStacks = 0;
 
+    /**
+     * the number of bars drawn for the entries in front of each position of a
+     * stacked DataSet, null if it needs to be recalculated
+     */
+    private int[] mBarOffsets = null;
+
+    /** the version of the DataSet the bar offsets were calculated for */
+    private int mBarOffsetsVersion = -1;
+
     /**
      * array of labels used to describe the different values of the stacked bars
      */
@@ -40,8 +49,7 @@ public class BarDataSet extends BarLineScatterCandleDataSet<BarEntry> {
 
         mHighLightColor = Color.rgb(0, 0, 0);
 
-        calcStackSize(yVals);
-        calcEntryCountIncludingStacks(yVals);
+        calcStackSizeAndCount();
     }
 
     @Override
@@ -65,37 +73,87 @@ public class BarDataSet extends BarLineScatterCandleDataSet<BarEntry> {
         return copied;
     }
 
+    @Override
+    protected BarEntry newEntry(float val, int xIndex) {
+        return new BarEntry(val, xIndex);
+    }
+
     /**
-     * Calculates the total number of entries this DataSet represents, including
-     * stacks. All values belonging to a stack are calculated separately.
+     * Also updates the stack size and the entry count including stacks for the
+     * added entries.
      */
-    private void calcEntryCountIncludingStacks(List<BarEntry> yVals) {
+    @Override
+    public void addEntries(List<? extends Entry> entries) {
+        super.addEntries(entries);
 
-        mEntryCountStacks = 0;
+        if (entries == null)
+            return;
 
-        for (int i = 0; i < yVals.size(); i++) {
+        for (int i = 0; i < entries.size(); i++) {
 
-            float[] vals = yVals.get(i).getVals();
+            float[] vals = ((BarEntry) entries.get(i)).getVals();
 
-            if (vals == null)
+            if (vals == null) {
                 mEntryCountStacks++;
-            else
+            } else {
                 mEntryCountStacks += vals.length;
+
+                if (vals.length > mStackSize)
+                    mStackSize = vals.length;
+            }
         }
     }
 
     /**
-     * calculates the maximum stacksize that occurs in the Entries array of this
-     * DataSet
+     * Also recalculates the stack size and the entry count including stacks.
      */
-    private void calcStackSize(List<BarEntry> yVals) {
+    @Override
+    void onValuesChanged() {
+        super.onValuesChanged();
+        calcStackSizeAndCount();
+    }
 
-        for (int i = 0; i < yVals.size(); i++) {
+    /**
+     * Also updates the entry count including stacks.
+     */
+    @Override
+    public boolean removeEntryAt(int pos) {
 
-            float[] vals = yVals.get(i).getVals();
+        if (pos < 0 || pos >= getEntryCount())
+            return false;
 
-            if (vals != null && vals.length > mStackSize)
-                mStackSize = vals.length;
+        float[] vals = mYVals.get(pos).getVals();
+
+        if (!super.removeEntryAt(pos))
+            return false;
+
+        mEntryCountStacks -= vals == null ? 1 : vals.length;
+        return true;
+    }
+
+    /**
+     * Calculates the maximum stacksize that occurs in the Entries array of
+     * this DataSet and the total number of entries this DataSet represents,
+     * including stacks, in a single pass. All values belonging to a stack are
+     * counted separately.
+     */
+    private void calcStackSizeAndCount() {
+
+        mStackSize = 1;
+        mEntryCountStacks = 0;
+
+        for (int i = 0; i < mYVals.size(); i++) {
+
+            float[] vals = mYVals.get(i).getVals();
+
+            if (vals == null) {
+                mEntryCountStacks++;
+            } else {
+                mEntryCountStacks += vals.length;
+
+                if (vals.length > mStackSize)
+                    mStackSize = vals.length;
+            }
         }
     }
 
@@ -109,6 +167,42 @@ public class BarDataSet extends BarLineScatterCandleDataSet<BarEntry> {
         return mStackSize;
     }
 
+    /**
+     * Returns the number of bars that are drawn for the entries in front of
+     * the given position: one per entry without a stack, one per stack value
+     * otherwise, if the DataSet is stacked. This is the index of the first
+     * bar of the entry at the given position within the colors. Calculated
+     * once per change of the DataSet.
+     * 
+     * @param pos
+     * @return
+     */
+    public int getBarCountBefore(int pos) {
+
+        if (!isStacked())
+            return pos;
+
+        int[] offsets = mBarOffsets;
+
+        if (offsets == null || mBarOffsetsVersion != getVersion()) {
+
+            int count = getEntryCount();
+
+            // a new array, snapshots might still read the old one
+            offsets = new int[count + 1];
+
+            for (int i = 0; i < count; i++) {
+                float[] vals = mYVals.get(i).getVals();
+                offsets[i + 1] = offsets[i] + (vals == null ? 1 : vals.length);
+            }
+
+            mBarOffsets = offsets;
+            mBarOffsetsVersion = getVersion();
+        }
+
+        return offsets[Math.max(0, Math.min(pos, offsets.length - 1))];
+    }
+
     /**
      * Returns true if this DataSet is stacked (stacksize > 1) or not.
      * 
@@ -11,6 +11,17 @@ public class BarEntry extends Entry {
     /** the values the stacked barchart holds */
     private float[] mVals;
 
+    /**
+     * the sums of the stack values from each index to the end of the stack,
+     * mStackSums[i] is where the bar of value i ends (its top for positive
+     * values), mStackSums[i + 1] where it starts, calculated whenever the
+     * values are set
+     */
+    private float[] mStackSums;
+
+    /** true if the sums never grow towards the end of the stack */
+    private boolean mStackSumsDescending;
+
     /**
      * Constructor for stacked bar entries.
      * 
@@ -21,6 +32,7 @@ public class BarEntry extends Entry {
         super(calcSum(vals), xIndex);
 
         this.mVals = vals;
+        setStackSums(vals);
     }
 
     /**
@@ -44,6 +56,7 @@ public class BarEntry extends Entry {
         super(calcSum(vals), xIndex, label);
 
         this.mVals = vals;
+        setStackSums(vals);
     }
 
     /**
@@ -64,6 +77,8 @@ public class BarEntry extends Entry {
 
         BarEntry copied = new BarEntry(getVal(), getXIndex(), getData());
         copied.mVals = mVals;
+        copied.mStackSums = mStackSums;
+        copied.mStackSumsDescending = mStackSumsDescending;
         return copied;
     }
 
@@ -78,18 +93,21 @@ public class BarEntry extends Entry {
     }
 
     /**
-     * Set the array of values this BarEntry should represent.
+     * Set the array of values this BarEntry should represent. Call this again
+     * after changing the values of the array.
      * 
      * @param vals
      */
     public void setVals(float[] vals) {
         mVals = vals;
+        setStackSums(vals);
     }
 
     /**
-     * Returns the closest value inside the values array (for stacked barchart)
-     * to the value given as a parameter. The closest value must be higher
-     * (above) the provided value.
+     * Returns the index of the stack value whose bar contains the given value
+     * (for stacked barchart), the bar of the first value if the given value
+     * is above the stack. Runs in O(log n) if all values of the stack have the
+     * same sign.
      * 
      * @param val
      * @return
@@ -98,32 +116,72 @@ public class BarEntry extends Entry {
 
         if (mVals == null)
             return 0;
-        
-        int index = mVals.length - 1;
-        float remainder = 0f;
 
-        while(index > 0 && val > mVals[index] + remainder) {
-            remainder += mVals[index];
-            index--;
+        float[] sums = mStackSums;
+        int last = mVals.length - 1;
+
+        // the ends of the bars grow towards the first value
+        if (mStackSumsDescending) {
+
+            // the last index whose end is at or above the value
+            int low = 0;
+            int high = last;
+
+            while (low < high) {
+
+                int mid = (low + high + 1) >>> 1;
+
+                if (val <= sums[mid])
+                    low = mid;
+                else
+                    high = mid - 1;
+            }
+
+            return low;
         }
-        
+
+        int index = last;
+
+        while (index > 0 && val > sums[index])
+            index--;
+
         return index;
     }
-    
+
+    /**
+     * Returns the sum of the stack values below the given stack index, which
+     * is where the bar of the value at that index starts. O(1).
+     * 
+     * @param stackIndex
+     * @return
+     */
     public float getBelowSum(int stackIndex) {
-        
+
         if (mVals == null)
             return 0;
-        
-        float remainder = 0f;
-        int index = mVals.length - 1;
-        
-        while(index > stackIndex && index >= 0) {
-            remainder += mVals[index];
-            index--;
-        }
-        
-        return remainder;
+
+        if (stackIndex < 0)
+            stackIndex = -1;
+
+        if (stackIndex >= mVals.length)
+            return 0;
+
+        return mStackSums[stackIndex + 1];
+    }
+
+    /**
+     * Returns the sum of the stack value at the given index and all values
+     * below it, which is where the bar of that value ends. O(1).
+     * 
+     * @param stackIndex
+     * @return
+     */
+    public float getStackSum(int stackIndex) {
+
+        if (mVals == null)
+            return getVal();
+
+        return getBelowSum(stackIndex - 1);
     }
 
     /**
@@ -141,4 +199,32 @@ public class BarEntry extends Entry {
 
         return sum;
     }
+
+    /**
+     * Calculates the sums of the stack values from each index to the end of
+     * the stack, with an additional 0 at the end.
+     * 
+     * @param vals
+     */
+    private void setStackSums(float[] vals) {
+
+        if (vals == null) {
+            mStackSums = null;
+            return;
+        }
+
+        float[] sums = new float[vals.length + 1];
+        boolean descending = true;
+
+        for (int i = vals.length - 1; i >= 0; i--) {
+
+            sums[i] = sums[i + 1] + vals[i];
+
+            if (vals[i] < 0)
+                descending = false;
+        }
+
+        mStackSums = sums;
+        mStackSumsDescending = descending;
+    }
 }
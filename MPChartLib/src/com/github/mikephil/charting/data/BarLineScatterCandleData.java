@@ -1,6 +1,8 @@
 
 package com.github.mikephil.charting.data;
 
+import com.github.mikephil.charting.utils.XValueProvider;
+
 import java.util.List;
 
 /**
@@ -30,4 +32,8 @@ public abstract class BarLineScatterCandleData<T extends BarLineScatterCandleDat
     public BarLineScatterCandleData(String[] xVals, List<T> sets) {
         super(xVals, sets);
     }
+
+    public BarLineScatterCandleData(XValueProvider xValues, List<T> sets) {
+        super(xValues, sets);
+    }
 }
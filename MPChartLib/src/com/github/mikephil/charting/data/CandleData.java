@@ -1,5 +1,7 @@
 package com.github.mikephil.charting.data;
 
+import com.github.mikephil.charting.utils.XValueProvider;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -32,10 +34,23 @@ public class CandleData extends BarLineScatterCandleData<CandleDataSet> {
     public CandleData(String[] xVals, CandleDataSet dataSet) {
         super(xVals, toList(dataSet));
     }
+
+    public CandleData(XValueProvider xValues, List<CandleDataSet> dataSets) {
+        super(xValues, dataSets);
+    }
+
+    public CandleData(XValueProvider xValues, CandleDataSet dataSet) {
+        super(xValues, toList(dataSet));
+    }
     
     private static List<CandleDataSet> toList(CandleDataSet dataSet) {
         List<CandleDataSet> sets = new ArrayList<CandleDataSet>();
         sets.add(dataSet);
         return sets;
     }
+
+    @Override
+    public CandleData snapshot() {
+        return (CandleData) super.snapshot();
+    }
 }
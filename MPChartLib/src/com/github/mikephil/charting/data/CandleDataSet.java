@@ -40,6 +40,12 @@ public class CandleDataSet extends BarLineScatterCandleDataSet<CandleEntry> {
      */
     protected int mShadowColor = ColorTemplate.COLOR_NONE;
 
+    /** pyramid over the lows and highs of the candles, null if disabled */
+    private LodPyramid mRangePyramid = null;
+
+    /** true if the range pyramid needs to be rebuilt before it is used */
+    private boolean mRangePyramidDirty = false;
+
     public CandleDataSet(List<CandleEntry> yVals, String label) {
         super(yVals, label);
     }
@@ -65,31 +71,182 @@ public class CandleDataSet extends BarLineScatterCandleDataSet<CandleEntry> {
         return copied;
     }
 
+    /**
+     * Creates a candle without body and shadow, open, close, high and low all
+     * equal the given value.
+     */
     @Override
-    protected void calcMinMax() {
-        // super.calcMinMax();
-
-        if (mYVals.size() == 0) {
-            return;
-        }
+    protected CandleEntry newEntry(float val, int xIndex) {
+        return new CandleEntry(xIndex, val, val, val, val);
+    }
 
-        List<CandleEntry> entries = mYVals;
+    /**
+     * Minimum and maximum are extended by the lows and highs of the added
+     * candles.
+     */
+    @Override
+    public void addEntries(List<? extends Entry> entries) {
+        super.addEntries(entries);
 
-        mYMin = entries.get(0).getLow();
-        mYMax = entries.get(0).getHigh();
+        if (entries == null)
+            return;
 
         for (int i = 0; i < entries.size(); i++) {
 
-            CandleEntry e = entries.get(i);
+            CandleEntry e = (CandleEntry) entries.get(i);
 
             if (e.getLow() < mYMin)
                 mYMin = e.getLow();
-
             if (e.getHigh() > mYMax)
                 mYMax = e.getHigh();
         }
     }
 
+    /**
+     * The RangeIndex only covers a single value per entry, not the low and
+     * high of a candle. Instead, this DataSet answers getYMinMax(...) from a
+     * LodPyramid over the lows and highs of the candles, in O(log^2 n).
+     * Building it is O(n), appending candles keeps it up to date in amortized
+     * O(1) per candle and it needs about 8 bytes per candle. Default: disabled
+     * 
+     * @param enabled
+     */
+    @Override
+    public void setRangeIndexEnabled(boolean enabled) {
+
+        if (enabled) {
+            if (mRangePyramid == null) {
+                mRangePyramid = new LodPyramid();
+                mRangePyramid.build(this);
+                mRangePyramidDirty = false;
+            }
+        } else {
+            mRangePyramid = null;
+        }
+    }
+
+    @Override
+    public boolean isRangeIndexEnabled() {
+        return mRangePyramid != null;
+    }
+
+    /**
+     * Returns the pyramid over the lows and highs of the candles that answers
+     * getYMinMax(...), covering all candles, null if the range index is not
+     * enabled.
+     * 
+     * @return
+     */
+    private LodPyramid getRangePyramid() {
+
+        if (mRangePyramid == null)
+            return null;
+
+        if (mRangePyramidDirty) {
+            mRangePyramid.build(this);
+            mRangePyramidDirty = false;
+        } else if (mRangePyramid.getCount() != getEntryCount()) {
+            mRangePyramid.append(this);
+        }
+
+        return mRangePyramid;
+    }
+
+    /**
+     * Also marks the range pyramid for a rebuild.
+     */
+    @Override
+    void onValuesChanged() {
+        super.onValuesChanged();
+        mRangePyramidDirty = true;
+    }
+
+    /**
+     * Also marks the range pyramid for a rebuild.
+     */
+    @Override
+    public boolean removeEntryAt(int pos) {
+
+        boolean removed = super.removeEntryAt(pos);
+
+        if (removed)
+            mRangePyramidDirty = true;
+
+        return removed;
+    }
+
+    /**
+     * Also updates the range pyramid, O(log n).
+     */
+    @Override
+    public void updateEntry(int pos, float val) {
+        super.updateEntry(pos, val);
+
+        if (mRangePyramid != null && !mRangePyramidDirty)
+            mRangePyramid.update(this, pos);
+    }
+
+    /**
+     * The pyramid over the lows and highs is not part of the snapshot.
+     */
+    @Override
+    protected DataSet<CandleEntry> shallowCopy() {
+
+        CandleDataSet copy = (CandleDataSet) super.shallowCopy();
+        copy.mRangePyramid = null;
+
+        return copy;
+    }
+
+    @Override
+    public float getLowAt(int pos) {
+        return mYVals.get(pos).getLow();
+    }
+
+    @Override
+    public float getHighAt(int pos) {
+        return mYVals.get(pos).getHigh();
+    }
+
+    /**
+     * Minimum and maximum of the range are taken from the lows and highs of
+     * the candles.
+     */
+    @Override
+    public boolean getYMinMax(int from, int to, float[] minMax) {
+
+        LodPyramid pyramid = getRangePyramid();
+
+        if (pyramid == null)
+            pyramid = getLodPyramid();
+
+        if (pyramid != null)
+            return pyramid.getMinMax(this, from, to, minMax);
+
+        from = Math.max(from, 0);
+        to = Math.min(to, mYVals.size() - 1);
+
+        if (from > to)
+            return false;
+
+        float min = mYVals.get(from).getLow();
+        float max = mYVals.get(from).getHigh();
+
+        for (int i = from + 1; i <= to; i++) {
+
+            CandleEntry e = mYVals.get(i);
+
+            if (e.getLow() < min)
+                min = e.getLow();
+            if (e.getHigh() > max)
+                max = e.getHigh();
+        }
+
+        minMax[0] = min;
+        minMax[1] = max;
+        return true;
+    }
+
     /**
      * Sets the space that is left out on the left and right side of each
      * candle, default 0.1f (10%), max 0.45f, min 0f
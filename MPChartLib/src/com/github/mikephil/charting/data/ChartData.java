@@ -6,7 +6,9 @@ import android.util.Log;
 
 import com.github.mikephil.charting.components.YAxis.AxisDependency;
 import com.github.mikephil.charting.utils.Highlight;
+import com.github.mikephil.charting.utils.ListXValueProvider;
 import com.github.mikephil.charting.utils.ValueFormatter;
+import com.github.mikephil.charting.utils.XValueProvider;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -18,7 +20,7 @@ import java.util.List;
  * 
  * @author Philipp Jahoda
  */
-public abstract class ChartData<T extends DataSet<? extends Entry>> {
+public abstract class ChartData<T extends DataSet<? extends Entry>> implements Cloneable {
 
     /** maximum y-value in the y-value array across all axes */
     protected float mYMax = 0.0f;
@@ -46,14 +48,24 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
      */
     private float mXValAverageLength = 0;
 
-    /** holds all x-values the chart represents */
+    /**
+     * holds all x-values the chart represents, null if the x-values come from
+     * an XValueProvider that is not backed by a list
+     */
     protected List<String> mXVals;
 
+    /** provides the x-values the chart represents */
+    protected XValueProvider mXValueProvider;
+
     /** array that holds all DataSets the ChartData object represents */
     protected List<T> mDataSets;
 
+    /** number of beginUpdate() calls that have not been ended yet */
+    private int mUpdateDepth = 0;
+
     public ChartData() {
         mXVals = new ArrayList<String>();
+        mXValueProvider = new ListXValueProvider(mXVals);
         mDataSets = new ArrayList<T>();
     }
 
@@ -65,6 +77,7 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
      */
     public ChartData(List<String> xVals) {
         this.mXVals = xVals;
+        this.mXValueProvider = new ListXValueProvider(xVals);
         this.mDataSets = new ArrayList<T>();
         init(mDataSets);
     }
@@ -77,6 +90,7 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
      */
     public ChartData(String[] xVals) {
         this.mXVals = arrayToList(xVals);
+        this.mXValueProvider = new ListXValueProvider(mXVals);
         this.mDataSets = new ArrayList<T>();
         init(mDataSets);
     }
@@ -91,6 +105,23 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
      */
     public ChartData(List<String> xVals, List<T> sets) {
         this.mXVals = xVals;
+        this.mXValueProvider = new ListXValueProvider(xVals);
+        this.mDataSets = sets;
+
+        init(mDataSets);
+    }
+
+    /**
+     * Constructor that takes the x-values from an XValueProvider, the labels
+     * are then only created for the x-indices that are drawn.
+     * 
+     * @param xValues provides the values describing the x-axis. Must provide
+     *            at least as many values as the highest xIndex in the Entry
+     *            objects across all DataSets.
+     * @param sets the dataset array
+     */
+    public ChartData(XValueProvider xValues, List<T> sets) {
+        setXValueProviderInternal(xValues);
         this.mDataSets = sets;
 
         init(mDataSets);
@@ -106,6 +137,7 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
      */
     public ChartData(String[] xVals, List<T> sets) {
         this.mXVals = arrayToList(xVals);
+        this.mXValueProvider = new ListXValueProvider(mXVals);
         this.mDataSets = sets;
 
         init(mDataSets);
@@ -141,18 +173,31 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
      */
     private void calcXValAverageLength() {
 
-        if (mXVals.size() <= 0) {
+        float length = mXValueProvider.getXValAverageLength();
+
+        if (length > 0f) {
+            mXValAverageLength = length;
+            return;
+        }
+
+        int count = mXValueProvider.getXValCount();
+
+        if (count <= 0) {
             mXValAverageLength = 1;
             return;
         }
 
+        // estimate from a few labels spread across the x-values
+        int samples = Math.min(count, 8);
         float sum = 1f;
 
-        for (int i = 0; i < mXVals.size(); i++) {
-            sum += mXVals.get(i).length();
+        for (int i = 0; i < samples; i++) {
+
+            int xIndex = (int) ((long) i * (count - 1) / Math.max(samples - 1, 1));
+            sum += mXValueProvider.getXValue(xIndex).length();
         }
 
-        mXValAverageLength = sum / (float) mXVals.size();
+        mXValAverageLength = sum / (float) samples;
     }
 
     /**
@@ -167,9 +212,7 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
             return;
 
         for (int i = 0; i < dataSets.size(); i++) {
-            if (dataSets.get(i)
-                    .getYVals()
-                    .size() > mXVals.size()) {
+            if (dataSets.get(i).getEntryCount() > mXValueProvider.getXValCount()) {
                 throw new IllegalArgumentException(
                         "One or more of the DataSet Entry arrays are longer than the x-values array of this ChartData object.");
             }
@@ -375,7 +418,9 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
     }
 
     /**
-     * returns the x-values the chart represents
+     * returns the x-values the chart represents, null if the x-values are
+     * provided by an XValueProvider that is not backed by a list (use
+     * getXValue(...) and getXValCount() instead)
      * 
      * @return
      */
@@ -384,20 +429,73 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
     }
 
     /**
-     * Adds a new x-value to the chart data.
+     * Returns the x-value (label) at the given x-index.
+     * 
+     * @param xIndex
+     * @return
+     */
+    public String getXValue(int xIndex) {
+        return mXValueProvider.getXValue(xIndex);
+    }
+
+    /**
+     * Returns the XValueProvider the x-values of this object come from.
+     * 
+     * @return
+     */
+    public XValueProvider getXValueProvider() {
+        return mXValueProvider;
+    }
+
+    /**
+     * Sets the XValueProvider the x-values of this object come from. Call
+     * notifyDataChanged() afterwards.
+     * 
+     * @param xValues
+     */
+    public void setXValueProvider(XValueProvider xValues) {
+        setXValueProviderInternal(xValues);
+    }
+
+    private void setXValueProviderInternal(XValueProvider xValues) {
+
+        if (xValues instanceof ListXValueProvider)
+            mXVals = ((ListXValueProvider) xValues).getXVals();
+        else
+            mXVals = null;
+
+        mXValueProvider = xValues;
+    }
+
+    /**
+     * Adds a new x-value to the chart data. Only possible if the x-values are
+     * held in a list.
      * 
      * @param xVal
      */
     public void addXValue(String xVal) {
+
+        if (mXVals == null) {
+            Log.e("addXValue", "Cannot add x-value because the x-values are not held in a list.");
+            return;
+        }
+
         mXVals.add(xVal);
     }
 
     /**
-     * Removes the x-value at the specified index.
+     * Removes the x-value at the specified index. Only possible if the
+     * x-values are held in a list.
      * 
      * @param index
      */
     public void removeXValue(int index) {
+
+        if (mXVals == null) {
+            Log.e("removeXValue", "Cannot remove x-value because the x-values are not held in a list.");
+            return;
+        }
+
         mXVals.remove(index);
     }
 
@@ -444,7 +542,7 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
      * @return
      */
     public int getXValCount() {
-        return mXVals.size();
+        return mXValueProvider.getXValCount();
     }
 
     /**
@@ -619,6 +717,215 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
         return removeDataSet(set);
     }
 
+    /**
+     * Starts a batch of modifications. Until the matching endUpdate() call,
+     * adding, updating and removing entries only modifies the DataSets, the
+     * statistics of the ChartData (minimum, maximum, value-sum and -count) are
+     * recalculated once when the batch ends. Batches can be nested.
+     */
+    public void beginUpdate() {
+        mUpdateDepth++;
+    }
+
+    /**
+     * Ends a batch of modifications started with beginUpdate(). Returns true
+     * if this ended the outermost batch and the statistics have been
+     * recalculated.
+     * 
+     * @return
+     */
+    public boolean endUpdate() {
+
+        if (mUpdateDepth == 0) {
+            Log.e("endUpdate", "endUpdate() called without matching beginUpdate().");
+            return false;
+        }
+
+        mUpdateDepth--;
+
+        if (mUpdateDepth > 0)
+            return false;
+
+        calcMinMax(mDataSets);
+        calcYValueSum(mDataSets);
+        calcYValueCount(mDataSets);
+        return true;
+    }
+
+    /**
+     * Returns true if a batch of modifications is in progress (see
+     * beginUpdate()).
+     * 
+     * @return
+     */
+    public boolean isUpdating() {
+        return mUpdateDepth > 0;
+    }
+
+    /**
+     * Returns an immutable snapshot of this data object (see
+     * DataSet.snapshot()). Taking the snapshot does not copy any entries, its
+     * cost only depends on the number of DataSets. The snapshot can be handed
+     * to the chart via Chart.setDataSnapshot(...) while this object is
+     * modified further on another thread. After the first snapshot, the
+     * x-values are no longer held in the list provided in the constructor,
+     * change them via addXValue(...) and removeXValue(...).
+     * 
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public ChartData<T> snapshot() {
+
+        ChartData<T> snapshot = shallowCopy();
+
+        for (int i = 0; i < mDataSets.size(); i++)
+            snapshot.mDataSets.add((T) mDataSets.get(i).snapshot());
+
+        // the statistics are not up to date during a batch of modifications
+        if (mUpdateDepth > 0) {
+            snapshot.calcMinMax(snapshot.mDataSets);
+            snapshot.calcYValueSum(snapshot.mDataSets);
+            snapshot.calcYValueCount(snapshot.mDataSets);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Returns a copy of this object with a snapshot of the x-values and an
+     * empty list of DataSets, used by snapshot().
+     * 
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    protected ChartData<T> shallowCopy() {
+
+        ChartData<T> copy;
+
+        try {
+            copy = (ChartData<T>) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+
+        if (mXVals != null) {
+
+            if (!(mXVals instanceof ChunkedList)) {
+                mXVals = new ChunkedList<String>(mXVals);
+                mXValueProvider = new ListXValueProvider(mXVals);
+            }
+
+            copy.mXVals = ((ChunkedList<String>) mXVals).snapshot();
+            copy.mXValueProvider = new ListXValueProvider(copy.mXVals);
+        } else {
+            copy.mXValueProvider = new SnapshotXValueProvider(mXValueProvider);
+        }
+
+        copy.mDataSets = new ArrayList<T>(mDataSets.size());
+        copy.mUpdateDepth = 0;
+
+        return copy;
+    }
+
+    /**
+     * Freezes the number of x-values (and the average label length) of an
+     * XValueProvider that is not backed by a list.
+     */
+    private static class SnapshotXValueProvider implements XValueProvider {
+
+        private XValueProvider mProvider;
+        private int mCount;
+        private float mAverageLength;
+
+        public SnapshotXValueProvider(XValueProvider provider) {
+            mProvider = provider;
+            mCount = provider.getXValCount();
+            mAverageLength = provider.getXValAverageLength();
+        }
+
+        @Override
+        public int getXValCount() {
+            return mCount;
+        }
+
+        @Override
+        public String getXValue(int xIndex) {
+            return mProvider.getXValue(xIndex);
+        }
+
+        @Override
+        public float getXValAverageLength() {
+            return mAverageLength;
+        }
+    }
+
+    /**
+     * Adds all given entries to the end of the DataSet at the specified index,
+     * see DataSet.addEntries(...). The statistics are updated once for the
+     * whole list.
+     * 
+     * @param entries
+     * @param dataSetIndex
+     */
+    public void addEntries(List<? extends Entry> entries, int dataSetIndex) {
+
+        if (mDataSets.size() > dataSetIndex && dataSetIndex >= 0) {
+
+            T set = mDataSets.get(dataSetIndex);
+
+            int countBefore = set.getEntryCount();
+            float sumBefore = set.getYValueSum();
+
+            set.addEntries(entries);
+
+            onEntriesAdded(set, countBefore, sumBefore);
+        } else {
+            Log.e("addEntries", "Cannot add Entries because dataSetIndex too high or too low.");
+        }
+    }
+
+    /**
+     * Adds len values to the end of the DataSet at the specified index, see
+     * DataSet.addEntries(...). The statistics are updated once for all values.
+     * 
+     * @param ys the y-values
+     * @param xs the x-indices
+     * @param off the position of the first value in the arrays
+     * @param len the number of values to add
+     * @param dataSetIndex
+     */
+    public void addEntries(float[] ys, int[] xs, int off, int len, int dataSetIndex) {
+
+        if (mDataSets.size() > dataSetIndex && dataSetIndex >= 0) {
+
+            T set = mDataSets.get(dataSetIndex);
+
+            int countBefore = set.getEntryCount();
+            float sumBefore = set.getYValueSum();
+
+            set.addEntries(ys, xs, off, len);
+
+            onEntriesAdded(set, countBefore, sumBefore);
+        } else {
+            Log.e("addEntries", "Cannot add Entries because dataSetIndex too high or too low.");
+        }
+    }
+
+    /**
+     * Updates the statistics after entries have been added to the given
+     * DataSet, does nothing during a batch of modifications.
+     */
+    private void onEntriesAdded(T set, int countBefore, float sumBefore) {
+
+        if (mUpdateDepth > 0)
+            return;
+
+        mYValCount += set.getEntryCount() - countBefore;
+        mYValueSum += set.getYValueSum() - sumBefore;
+
+        calcMinMax(mDataSets);
+    }
+
     /**
      * Adds an Entry to the DataSet at the specified index. Entries are added to
      * the end of the list.
@@ -632,18 +939,35 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
 
             float val = e.getVal();
 
-            mYValCount += 1;
-            mYValueSum += val;
-
-            if (mYMax < val)
-                mYMax = val;
-            if (mYMin > val)
-                mYMin = val;
-
             T set = mDataSets.get(dataSetIndex);
 
             if (set != null) {
 
+                int countBefore = set.getEntryCount();
+                float sumBefore = set.getYValueSum();
+
+                // add the entry to the dataset
+                set.addEntry(e);
+
+                if (mUpdateDepth > 0)
+                    return;
+
+                mYValCount += set.getEntryCount() - countBefore;
+                mYValueSum += set.getYValueSum() - sumBefore;
+
+                // the DataSet did not grow, it evicted values (e.g.
+                // RingBufferLineDataSet), minimum and maximum might have
+                // shrunk
+                if (set.getEntryCount() <= countBefore) {
+                    calcMinMax(mDataSets);
+                    return;
+                }
+
+                if (mYMax < val)
+                    mYMax = val;
+                if (mYMin > val)
+                    mYMin = val;
+
                 if (set.getAxisDependency() == AxisDependency.LEFT) {
 
                     if (mLeftAxisMax < e.getVal())
@@ -658,9 +982,6 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
                 }
 
                 handleEmptyAxis(getFirstLeft(), getFirstRight());
-
-                // add the entry to the dataset
-                set.addEntry(e);
             }
         } else {
             Log.e("addEntry", "Cannot add Entry because dataSetIndex too high or too low.");
@@ -682,12 +1003,12 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
         // remove the entry from the dataset
         boolean removed = mDataSets.get(dataSetIndex).removeEntry(e.getXIndex());
 
-        if (removed) {
+        if (removed && mUpdateDepth == 0) {
 
             float val = e.getVal();
 
             mYValCount -= 1;
-            mYValueSum -= val;
+            mYValueSum -= Math.abs(val);
 
             calcMinMax(mDataSets);
         }
@@ -695,6 +1016,36 @@ public abstract class ChartData<T extends DataSet<? extends Entry>> {
         return removed;
     }
 
+    /**
+     * Sets the y-value of the Entry at the given position in the entries array
+     * of the DataSet at the specified index, see DataSet.updateEntry(...).
+     * Minimum, maximum and value-sum of the data are updated without a call to
+     * notifyDataChanged().
+     *
+     * @param pos position in the entries array of the DataSet
+     * @param val the new y-value
+     * @param dataSetIndex
+     */
+    public void updateEntry(int pos, float val, int dataSetIndex) {
+
+        if (mDataSets.size() > dataSetIndex && dataSetIndex >= 0) {
+
+            T set = mDataSets.get(dataSetIndex);
+            float sumBefore = set.getYValueSum();
+
+            set.updateEntry(pos, val);
+
+            if (mUpdateDepth > 0)
+                return;
+
+            mYValueSum += set.getYValueSum() - sumBefore;
+
+            calcMinMax(mDataSets);
+        } else {
+            Log.e("updateEntry", "Cannot update Entry because dataSetIndex too high or too low.");
+        }
+    }
+
     /**
      * Removes the Entry object at the given xIndex from the DataSet at the
      * specified index. Returns true if an Entry was removed, false if no Entry
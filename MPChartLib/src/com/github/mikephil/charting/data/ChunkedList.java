@@ -0,0 +1,299 @@
+
+package com.github.mikephil.charting.data;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * List that stores its elements in chunks of fixed size. A snapshot of the
+ * list can be taken in O(1): the snapshot shares all chunks with the list, a
+ * chunk is only copied when the list writes to it for the first time after
+ * the snapshot was taken (copy-on-write). Snapshots are read-only and never
+ * change, so they can safely be read by another thread while the list is
+ * being modified. Appending and removing the first element are O(1), all
+ * other insertions and removals shift the following elements.
+ *
+ * @author Philipp Jahoda
+ */
+public class ChunkedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int CHUNK_SHIFT = 8;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** the chunks that hold the elements */
+    private Object[][] mChunks;
+
+    /** owner token of each chunk, only chunks owned by this list are written */
+    private Object[] mOwners;
+
+    /** the number of chunks in use */
+    private int mChunkCount = 0;
+
+    /** position of the first element inside the first chunk */
+    private int mStart = 0;
+
+    /** the number of elements */
+    private int mSize = 0;
+
+    /** token that marks the chunks this list may write to */
+    private Object mOwner = new Object();
+
+    /** true if the chunk table is shared with a snapshot */
+    private boolean mTableShared = false;
+
+    /** true if this list is a snapshot */
+    private boolean mReadOnly = false;
+
+    /**
+     * Creates an empty list.
+     */
+    public ChunkedList() {
+        mChunks = new Object[4][];
+        mOwners = new Object[4];
+    }
+
+    /**
+     * Creates a list that holds the elements of the given collection.
+     *
+     * @param c
+     */
+    public ChunkedList(Collection<? extends E> c) {
+        int chunks = Math.max((c.size() + CHUNK_SIZE - 1) >>> CHUNK_SHIFT, 4);
+        mChunks = new Object[chunks][];
+        mOwners = new Object[chunks];
+        addAll(c);
+    }
+
+    /**
+     * Returns a read-only snapshot of the current content of the list in
+     * O(1). Later modifications of the list are not visible in the snapshot.
+     *
+     * @return
+     */
+    public ChunkedList<E> snapshot() {
+
+        if (mReadOnly)
+            return this;
+
+        ChunkedList<E> snapshot = new ChunkedList<E>();
+        snapshot.mChunks = mChunks;
+        snapshot.mOwners = mOwners;
+        snapshot.mChunkCount = mChunkCount;
+        snapshot.mStart = mStart;
+        snapshot.mSize = mSize;
+        snapshot.mTableShared = true;
+        snapshot.mReadOnly = true;
+
+        // all chunks are shared from now on
+        mTableShared = true;
+        mOwner = new Object();
+
+        return snapshot;
+    }
+
+    /**
+     * Returns true if this list is a snapshot and can not be modified.
+     *
+     * @return
+     */
+    public boolean isReadOnly() {
+        return mReadOnly;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+
+        int pos = mStart + index;
+        return (E) mChunks[pos >>> CHUNK_SHIFT][pos & CHUNK_MASK];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkWritable();
+        checkIndex(index);
+
+        int pos = mStart + index;
+        Object[] chunk = writableChunk(pos >>> CHUNK_SHIFT);
+
+        E old = (E) chunk[pos & CHUNK_MASK];
+        chunk[pos & CHUNK_MASK] = element;
+        return old;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkWritable();
+
+        if (index < 0 || index > mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+
+        append(element);
+
+        // move the element to its position
+        for (int i = mSize - 1; i > index; i--)
+            set(i, get(i - 1));
+
+        if (index < mSize - 1)
+            set(index, element);
+
+        modCount++;
+    }
+
+    private void append(E element) {
+
+        int pos = mStart + mSize;
+        int c = pos >>> CHUNK_SHIFT;
+
+        if (c == mChunkCount) {
+            ensureTableCapacity(c + 1);
+            mChunks[c] = new Object[CHUNK_SIZE];
+            mOwners[c] = mOwner;
+            mChunkCount++;
+        }
+
+        writableChunk(c)[pos & CHUNK_MASK] = element;
+        mSize++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkWritable();
+
+        E old = get(index);
+
+        if (mSize == 1) {
+            clear();
+            return old;
+        }
+
+        if (index == 0) {
+
+            // release the element, a chunk shared with a snapshot keeps it
+            // reachable anyway and is not copied for this
+            if (mOwners[0] == mOwner)
+                mChunks[0][mStart] = null;
+
+            mStart++;
+
+            // drop the first chunk once it is empty
+            if (mStart == CHUNK_SIZE) {
+                writableTable();
+                System.arraycopy(mChunks, 1, mChunks, 0, mChunkCount - 1);
+                System.arraycopy(mOwners, 1, mOwners, 0, mChunkCount - 1);
+                mChunkCount--;
+                mChunks[mChunkCount] = null;
+                mOwners[mChunkCount] = null;
+                mStart = 0;
+            }
+        } else {
+
+            for (int i = index; i < mSize - 1; i++)
+                set(i, get(i + 1));
+
+            set(mSize - 1, null);
+
+            // drop the last chunk once it is empty
+            if (((mStart + mSize - 1) & CHUNK_MASK) == 0) {
+                writableTable();
+                mChunkCount--;
+                mChunks[mChunkCount] = null;
+                mOwners[mChunkCount] = null;
+            }
+        }
+
+        mSize--;
+        modCount++;
+
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        checkWritable();
+
+        mChunks = new Object[4][];
+        mOwners = new Object[4];
+        mChunkCount = 0;
+        mStart = 0;
+        mSize = 0;
+        mTableShared = false;
+        modCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+
+    private void checkWritable() {
+        if (mReadOnly)
+            throw new UnsupportedOperationException("Snapshots can not be modified.");
+    }
+
+    /**
+     * Makes sure the chunk table is not shared with a snapshot.
+     */
+    private void writableTable() {
+
+        if (!mTableShared)
+            return;
+
+        Object[][] chunks = new Object[mChunks.length][];
+        Object[] owners = new Object[mOwners.length];
+        System.arraycopy(mChunks, 0, chunks, 0, mChunkCount);
+        System.arraycopy(mOwners, 0, owners, 0, mChunkCount);
+
+        mChunks = chunks;
+        mOwners = owners;
+        mTableShared = false;
+    }
+
+    private void ensureTableCapacity(int chunks) {
+
+        if (chunks <= mChunks.length) {
+            writableTable();
+            return;
+        }
+
+        int capacity = Math.max(chunks, mChunks.length * 2);
+
+        Object[][] grown = new Object[capacity][];
+        Object[] owners = new Object[capacity];
+        System.arraycopy(mChunks, 0, grown, 0, mChunkCount);
+        System.arraycopy(mOwners, 0, owners, 0, mChunkCount);
+
+        mChunks = grown;
+        mOwners = owners;
+        mTableShared = false;
+    }
+
+    /**
+     * Returns the chunk with the given index, copies it first if it is shared
+     * with a snapshot.
+     */
+    private Object[] writableChunk(int c) {
+
+        if (mOwners[c] == mOwner)
+            return mChunks[c];
+
+        writableTable();
+
+        Object[] chunk = new Object[CHUNK_SIZE];
+        System.arraycopy(mChunks[c], 0, chunk, 0, CHUNK_SIZE);
+
+        mChunks[c] = chunk;
+        mOwners[c] = mOwner;
+
+        return chunk;
+    }
+}
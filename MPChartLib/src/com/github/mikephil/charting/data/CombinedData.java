@@ -68,6 +68,55 @@ public class CombinedData extends BarLineScatterCandleData<BarLineScatterCandleD
         return mCandleData;
     }
 
+    /**
+     * Returns a snapshot that holds snapshots of the Line-, Bar-, Scatter- and
+     * CandleData of this object.
+     */
+    @Override
+    public CombinedData snapshot() {
+
+        CombinedData snapshot = (CombinedData) shallowCopy();
+
+        if (mLineData != null)
+            snapshot.mLineData = mLineData.snapshot();
+        if (mBarData != null)
+            snapshot.mBarData = mBarData.snapshot();
+        if (mScatterData != null)
+            snapshot.mScatterData = mScatterData.snapshot();
+        if (mCandleData != null)
+            snapshot.mCandleData = mCandleData.snapshot();
+
+        // keep the order of the DataSets, each one is taken from the snapshot
+        // of the data object it belongs to
+        for (BarLineScatterCandleDataSet<?> set : mDataSets)
+            snapshot.mDataSets.add(findSnapshot(set, snapshot));
+
+        if (isUpdating()) {
+            snapshot.calcMinMax(snapshot.mDataSets);
+            snapshot.calcYValueSum(snapshot.mDataSets);
+            snapshot.calcYValueCount(snapshot.mDataSets);
+        }
+
+        return snapshot;
+    }
+
+    private BarLineScatterCandleDataSet<?> findSnapshot(BarLineScatterCandleDataSet<?> set,
+            CombinedData snapshot) {
+
+        int index;
+
+        if (mLineData != null && (index = mLineData.getDataSets().indexOf(set)) >= 0)
+            return snapshot.mLineData.getDataSetByIndex(index);
+        if (mBarData != null && (index = mBarData.getDataSets().indexOf(set)) >= 0)
+            return snapshot.mBarData.getDataSetByIndex(index);
+        if (mScatterData != null && (index = mScatterData.getDataSets().indexOf(set)) >= 0)
+            return snapshot.mScatterData.getDataSetByIndex(index);
+        if (mCandleData != null && (index = mCandleData.getDataSets().indexOf(set)) >= 0)
+            return snapshot.mCandleData.getDataSetByIndex(index);
+
+        return (BarLineScatterCandleDataSet<?>) set.snapshot();
+    }
+
     @Override
     public void notifyDataChanged() {
         mLineData.notifyDataChanged();
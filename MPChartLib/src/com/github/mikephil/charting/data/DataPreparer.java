@@ -0,0 +1,318 @@
+
+package com.github.mikephil.charting.data;
+
+import com.github.mikephil.charting.data.filter.Approximator;
+import com.github.mikephil.charting.data.filter.Approximator.ApproximatorType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Prepares DataSets for drawing on multiple threads: calculates minimum,
+ * maximum and value-sum in a single pass per DataSet and rebuilds RangeIndex
+ * and LodPyramid, as notifyDataSetChanged() does, or decimates the values.
+ * The work is spread over the DataSets, DataSets with many values are split
+ * into chunks whose results are combined afterwards, so the preparation
+ * scales with the number of cores. The DataSets must not be modified while
+ * they are prepared. Meant for background threads (e.g. in
+ * ChartDataLoader.load()), never call it from a thread of its own executor.
+ *
+ * @author Philipp Jahoda
+ */
+public class DataPreparer {
+
+    /** the minimum number of values of a chunk */
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    /** preparer used if no other one is set, one thread per core */
+    private static DataPreparer sDefault;
+
+    private ExecutorService mExecutor;
+
+    /** the maximum number of chunks a single DataSet is split into */
+    private int mParallelism;
+
+    /**
+     * @param executor the executor the work is spread over
+     * @param parallelism the number of threads of the executor
+     */
+    public DataPreparer(ExecutorService executor, int parallelism) {
+
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+
+        mExecutor = executor;
+        mParallelism = parallelism;
+    }
+
+    /**
+     * Returns a shared preparer that uses one thread per available core.
+     *
+     * @return
+     */
+    public static synchronized DataPreparer getDefault() {
+
+        if (sDefault == null) {
+
+            int threads = Runtime.getRuntime().availableProcessors();
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+
+                @Override
+                public Thread newThread(Runnable r) {
+
+                    Thread thread = new Thread(r, "MPChart-Preparer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+            sDefault = new DataPreparer(executor, threads);
+        }
+
+        return sDefault;
+    }
+
+    /**
+     * Prepares all DataSets of the given data object (see
+     * prepare(List<DataSet>)) and recalculates the statistics of the data
+     * object afterwards.
+     *
+     * @param data
+     * @throws InterruptedException
+     */
+    public void prepare(ChartData<?> data) throws InterruptedException {
+
+        prepare(data.getDataSets());
+        data.notifyDataChanged();
+    }
+
+    /**
+     * Does what notifyDataSetChanged() does for each of the given DataSets,
+     * in parallel.
+     *
+     * @param sets
+     * @throws InterruptedException
+     */
+    public void prepare(List<? extends DataSet<?>> sets) throws InterruptedException {
+
+        List<Callable<double[]>> tasks = new ArrayList<Callable<double[]>>();
+        int[] chunks = new int[sets.size()];
+
+        for (int i = 0; i < sets.size(); i++) {
+
+            final DataSet<?> set = sets.get(i);
+            int count = set.getEntryCount();
+
+            if (count == 0 || !set.canCalcStatsInChunks()) {
+
+                chunks[i] = 0;
+                tasks.add(new Callable<double[]>() {
+
+                    @Override
+                    public double[] call() {
+                        set.calcStats();
+                        return null;
+                    }
+                });
+                continue;
+            }
+
+            chunks[i] = Math.max(Math.min(count / MIN_CHUNK_SIZE, mParallelism), 1);
+
+            for (int c = 0; c < chunks[i]; c++) {
+                tasks.add(new StatsTask(set, (int) ((long) count * c / chunks[i]),
+                        (int) ((long) count * (c + 1) / chunks[i])));
+            }
+        }
+
+        List<Future<double[]>> results = mExecutor.invokeAll(tasks);
+
+        // combine the results of the chunks
+        int task = 0;
+
+        for (int i = 0; i < sets.size(); i++) {
+
+            if (chunks[i] == 0) {
+                get(results.get(task++));
+                continue;
+            }
+
+            double[] stats = get(results.get(task++));
+
+            for (int c = 1; c < chunks[i]; c++) {
+
+                double[] chunk = get(results.get(task++));
+
+                stats[0] = Math.min(stats[0], chunk[0]);
+                stats[1] = Math.max(stats[1], chunk[1]);
+                stats[2] += chunk[2];
+            }
+
+            sets.get(i).setStats(stats);
+        }
+
+        // rebuild the structures that depend on the values
+        List<Callable<Void>> rebuilds = new ArrayList<Callable<Void>>(sets.size());
+
+        for (int i = 0; i < sets.size(); i++) {
+
+            final DataSet<?> set = sets.get(i);
+
+            rebuilds.add(new Callable<Void>() {
+
+                @Override
+                public Void call() {
+
+                    set.onValuesChanged();
+
+                    if (set.isLodEnabled())
+                        set.getLodPyramid();
+
+                    return null;
+                }
+            });
+        }
+
+        for (Future<Void> result : mExecutor.invokeAll(rebuilds))
+            get(result);
+    }
+
+    /**
+     * Builds the LodPyramids of the given DataSets (those that have it
+     * enabled and not up to date), in parallel.
+     *
+     * @param sets
+     * @throws InterruptedException
+     */
+    public void buildLodPyramids(List<? extends DataSet<?>> sets) throws InterruptedException {
+
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(sets.size());
+
+        for (int i = 0; i < sets.size(); i++) {
+
+            final DataSet<?> set = sets.get(i);
+
+            if (!set.isLodEnabled())
+                continue;
+
+            tasks.add(new Callable<Void>() {
+
+                @Override
+                public Void call() {
+                    set.getLodPyramid();
+                    return null;
+                }
+            });
+        }
+
+        for (Future<Void> result : mExecutor.invokeAll(tasks))
+            get(result);
+    }
+
+    /**
+     * Filters all values of each of the given DataSets with an Approximator
+     * of the given type, in parallel. Returns the positions of the kept
+     * values per DataSet, in the order of the DataSets.
+     *
+     * @param sets
+     * @param type
+     * @param tolerance the tolerance for DOUGLAS_PEUCKER
+     * @param targetCount the target count for LTTB, MIN_MAX and M4
+     * @return
+     * @throws InterruptedException
+     */
+    public int[][] filter(List<? extends DataSet<?>> sets, final ApproximatorType type,
+            final double tolerance, final int targetCount) throws InterruptedException {
+
+        List<Callable<int[]>> tasks = new ArrayList<Callable<int[]>>(sets.size());
+
+        for (int i = 0; i < sets.size(); i++) {
+
+            final DataSet<?> set = sets.get(i);
+
+            tasks.add(new Callable<int[]>() {
+
+                @Override
+                public int[] call() {
+
+                    // the Approximator keeps buffers, one per task
+                    Approximator approximator = new Approximator(type, tolerance);
+                    approximator.setTargetCount(targetCount);
+
+                    int count = set.getEntryCount();
+                    int[] positions = new int[approximator.getPositionCapacity(0, count)];
+                    int kept = approximator.filter(set, 0, count, positions);
+
+                    if (kept == positions.length)
+                        return positions;
+
+                    int[] trimmed = new int[kept];
+                    System.arraycopy(positions, 0, trimmed, 0, kept);
+                    return trimmed;
+                }
+            });
+        }
+
+        List<Future<int[]>> results = mExecutor.invokeAll(tasks);
+        int[][] positions = new int[results.size()][];
+
+        for (int i = 0; i < positions.length; i++)
+            positions[i] = get(results.get(i));
+
+        return positions;
+    }
+
+    /**
+     * Returns the result of the finished task, rethrows its exception.
+     */
+    private static <V> V get(Future<V> future) throws InterruptedException {
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Calculates the statistics of a chunk of a DataSet.
+     */
+    private static class StatsTask implements Callable<double[]> {
+
+        private DataSet<?> mSet;
+        private int mFrom;
+        private int mTo;
+
+        public StatsTask(DataSet<?> set, int from, int to) {
+            mSet = set;
+            mFrom = from;
+            mTo = to;
+        }
+
+        @Override
+        public double[] call() {
+
+            double[] stats = new double[] {
+                    Double.MAX_VALUE, -Double.MAX_VALUE, 0.0
+            };
+
+            mSet.calcStats(mFrom, mTo, stats);
+            return stats;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import android.graphics.Color;
 import android.graphics.Typeface;
 
 import com.github.mikephil.charting.components.YAxis.AxisDependency;
+import com.github.mikephil.charting.utils.ColorMapper;
 import com.github.mikephil.charting.utils.ColorTemplate;
 import com.github.mikephil.charting.utils.DefaultValueFormatter;
 import com.github.mikephil.charting.utils.Utils;
@@ -22,11 +23,23 @@ import java.util.List;
  * 
  * @author Philipp Jahoda
  */
-public abstract class DataSet<T extends Entry> {
+public abstract class DataSet<T extends Entry> implements Cloneable {
 
     /** List representing all colors that are used for this DataSet */
     protected List<Integer> mColors = null;
 
+    /** the colors of mColors as an array, null if it needs to be rebuilt */
+    private int[] mColorArray = null;
+
+    /** maps the values to colors instead of mColors if set */
+    protected ColorMapper mColorMapper = null;
+
+    /** one color per value, calculated by the ColorMapper */
+    private int[] mValueColors = null;
+
+    /** the version of the values mValueColors was calculated for */
+    private int mValueColorsVersion = -1;
+
     /** the entries that this dataset represents / holds together */
     protected List<T> mYVals = null;
 
@@ -37,7 +50,7 @@ public abstract class DataSet<T extends Entry> {
     protected float mYMin = 0.0f;
 
     /** the total sum of all y-values */
-    private float mYValueSum = 0f;
+    protected float mYValueSum = 0f;
 
     /** label that describes the DataSet or the data the DataSet represents */
     private String mLabel = "DataSet";
@@ -60,9 +73,30 @@ public abstract class DataSet<T extends Entry> {
     /** custom formatter that is used instead of the auto-formatter if set */
     protected ValueFormatter mValueFormatter;
 
+    /** formatter used if none is set, created when first needed */
+    private ValueFormatter mFallbackValueFormatter;
+
     /** this specifies which axis this DataSet should be plotted against */
     protected AxisDependency mAxisDependency = AxisDependency.LEFT;
 
+    /** optional index for range queries and cheap updates, null if disabled */
+    protected RangeIndex mRangeIndex = null;
+
+    /** true if this DataSet is an immutable snapshot of another DataSet */
+    protected boolean mSnapshot = false;
+
+    /** optional level-of-detail pyramid for drawing, null if disabled */
+    protected LodPyramid mLodPyramid = null;
+
+    /** true if the LodPyramid needs to be rebuilt before it is used */
+    protected boolean mLodPyramidDirty = false;
+
+    /** incremented whenever the values of the DataSet change */
+    protected int mVersion = 0;
+
+    /** reused by addEntries(float[], int[], int, int), empty between calls */
+    private List<T> mBatch = null;
+
     /**
      * Creates a new DataSet object with the given values it represents. Also, a
      * label that describes the DataSet can be specified. The label can also be
@@ -84,56 +118,339 @@ public abstract class DataSet<T extends Entry> {
         // default color
         mColors.add(Color.rgb(140, 234, 255));
 
-        calcMinMax();
-        calcYValueSum();
+        calcStats();
     }
 
     /**
      * Use this method to tell the data set that the underlying data has changed
      */
     public void notifyDataSetChanged() {
-        calcMinMax();
-        calcYValueSum();
+        calcStats();
+        onValuesChanged();
     }
 
     /**
-     * calc minimum and maximum y value
+     * Rebuilds everything that depends on the values of the DataSet, except
+     * minimum, maximum and value-sum, after they have changed.
      */
-    protected void calcMinMax() {
-        if (mYVals.size() == 0) {
+    void onValuesChanged() {
+
+        mColorArray = null;
+
+        if (mRangeIndex != null)
+            mRangeIndex.build(this);
+
+        mLodPyramidDirty = true;
+        mVersion++;
+    }
+
+    /**
+     * Calculates minimum, maximum and value-sum of the DataSet in a single
+     * pass over the values.
+     */
+    protected void calcStats() {
+
+        int count = getEntryCount();
+
+        if (count == 0) {
+            mYValueSum = 0f;
             return;
         }
 
-        mYMin = mYVals.get(0).getVal();
-        mYMax = mYVals.get(0).getVal();
+        double[] stats = new double[3];
+        stats[0] = Double.MAX_VALUE;
+        stats[1] = -Double.MAX_VALUE;
 
-        for (int i = 0; i < mYVals.size(); i++) {
+        calcStats(0, count, stats);
+        setStats(stats);
+    }
+
+    /**
+     * Includes the values between the given positions (from inclusive, to
+     * exclusive) in the given statistics: the minimum (index 0, of
+     * getLowAt(...)), the maximum (index 1, of getHighAt(...)) and the sum of
+     * the absolute y-values (index 2). Only reads the DataSet, so disjoint
+     * ranges can be calculated concurrently and combined afterwards (see
+     * DataPreparer).
+     * 
+     * @param from
+     * @param to
+     * @param stats
+     */
+    public void calcStats(int from, int to, double[] stats) {
+
+        double min = stats[0];
+        double max = stats[1];
+        double sum = stats[2];
+
+        for (int i = from; i < to; i++) {
+
+            float low = getLowAt(i);
+            float high = getHighAt(i);
+
+            if (low < min)
+                min = low;
+            if (high > max)
+                max = high;
+
+            sum += Math.abs(getValAt(i));
+        }
 
-            Entry e = mYVals.get(i);
+        stats[0] = min;
+        stats[1] = max;
+        stats[2] = sum;
+    }
 
-            if (e != null) {
+    /**
+     * Returns true if the statistics of the DataSet can be calculated in
+     * chunks via calcStats(int, int, double[]) and applied with
+     * setStats(...), false if the DataSet needs to calculate them itself via
+     * calcStats().
+     * 
+     * @return
+     */
+    protected boolean canCalcStatsInChunks() {
+        return true;
+    }
 
-                if (e.getVal() < mYMin)
-                    mYMin = e.getVal();
+    /**
+     * Sets minimum, maximum and value-sum calculated by calcStats(int, int,
+     * double[]) for all values.
+     * 
+     * @param stats
+     */
+    protected void setStats(double[] stats) {
+
+        if (stats[0] <= stats[1]) {
+            mYMin = (float) stats[0];
+            mYMax = (float) stats[1];
+        }
 
-                if (e.getVal() > mYMax)
-                    mYMax = e.getVal();
+        mYValueSum = (float) stats[2];
+    }
+
+    /**
+     * Returns the version of the values of this DataSet, which changes
+     * whenever values are added, removed or updated through the DataSet (or
+     * notifyDataSetChanged() is called). Used to invalidate results that are
+     * cached for the values, e.g. filtered positions.
+     * 
+     * @return
+     */
+    public int getVersion() {
+        return mVersion;
+    }
+
+    /**
+     * Enables / disables the RangeIndex of this DataSet. If enabled, removing
+     * or updating single values no longer requires a full pass over all
+     * values to recalculate minimum and maximum, and minimum and maximum of
+     * arbitrary ranges of values can be queried in O(log n) (see
+     * getYMinMax(...)). Building the index is O(n) and it needs about 36 bytes
+     * per value. Default: disabled
+     * 
+     * @param enabled
+     */
+    public void setRangeIndexEnabled(boolean enabled) {
+
+        if (enabled) {
+            if (mRangeIndex == null) {
+                mRangeIndex = new RangeIndex(getEntryCount());
+                mRangeIndex.build(this);
+            }
+        } else {
+            mRangeIndex = null;
+        }
+    }
+
+    /**
+     * Returns true if the RangeIndex of this DataSet is enabled.
+     * 
+     * @return
+     */
+    public boolean isRangeIndexEnabled() {
+        return mRangeIndex != null;
+    }
+
+    /**
+     * Returns the RangeIndex of this DataSet, null if it is not enabled.
+     * 
+     * @return
+     */
+    public RangeIndex getRangeIndex() {
+        return mRangeIndex;
+    }
+
+    /**
+     * Enables / disables the level-of-detail pyramid of this DataSet (see
+     * LodPyramid). If enabled, the renderers draw zoomed out values from the
+     * pyramid, which takes time proportional to the width of the chart
+     * instead of the number of values. Appended values are included in
+     * amortized O(1), updating a single value takes O(log n), removing values
+     * rebuilds the pyramid in O(n) the next time it is drawn. It needs about 8
+     * bytes per value. Default: disabled
+     * 
+     * @param enabled
+     */
+    public void setLodEnabled(boolean enabled) {
+
+        if (enabled) {
+            if (mLodPyramid == null) {
+                mLodPyramid = new LodPyramid();
+                mLodPyramid.build(this);
+                mLodPyramidDirty = false;
             }
+        } else {
+            mLodPyramid = null;
         }
     }
 
     /**
-     * calculates the sum of all y-values
+     * Returns true if the level-of-detail pyramid of this DataSet is enabled.
+     * 
+     * @return
      */
-    private void calcYValueSum() {
+    public boolean isLodEnabled() {
+        return mLodPyramid != null;
+    }
 
-        mYValueSum = 0;
+    /**
+     * Returns the level-of-detail pyramid of this DataSet, covering all of
+     * its values, null if it is not enabled.
+     * 
+     * @return
+     */
+    public LodPyramid getLodPyramid() {
 
-        for (int i = 0; i < mYVals.size(); i++) {
-            Entry e = mYVals.get(i);
-            if (e != null)
-                mYValueSum += Math.abs(e.getVal());
+        if (mLodPyramid == null)
+            return null;
+
+        if (mLodPyramidDirty) {
+            mLodPyramid.build(this);
+            mLodPyramidDirty = false;
+        } else if (mLodPyramid.getCount() != getEntryCount()) {
+            mLodPyramid.append(this);
         }
+
+        return mLodPyramid;
+    }
+
+    /**
+     * Returns the lowest value of the Entry at the given position, the value
+     * the LodPyramid uses for the minimum of a range. This is the y-value,
+     * unless the entries span a range themselves (e.g. candles).
+     * 
+     * @param pos position in the entries array
+     * @return
+     */
+    public float getLowAt(int pos) {
+        return getValAt(pos);
+    }
+
+    /**
+     * Returns the highest value of the Entry at the given position, the value
+     * the LodPyramid uses for the maximum of a range.
+     * 
+     * @param pos position in the entries array
+     * @return
+     */
+    public float getHighAt(int pos) {
+        return getValAt(pos);
+    }
+
+    /**
+     * Takes minimum and maximum from the RangeIndex instead of scanning all
+     * values.
+     */
+    protected void calcMinMaxFromIndex() {
+
+        if (mRangeIndex.size() == 0)
+            return;
+
+        mYMin = mRangeIndex.getMin();
+        mYMax = mRangeIndex.getMax();
+    }
+
+    /**
+     * Writes the minimum (index 0) and maximum (index 1) y-value of the
+     * entries between the given positions (both inclusive) into the provided
+     * array. Uses the RangeIndex if enabled, otherwise the LodPyramid if
+     * enabled (O(log^2 n)), otherwise scans the range. Returns false if the
+     * range contains no entries.
+     * 
+     * @param from position of the first entry
+     * @param to position of the last entry
+     * @param minMax array of at least two values
+     * @return
+     */
+    public boolean getYMinMax(int from, int to, float[] minMax) {
+
+        if (mRangeIndex != null)
+            return mRangeIndex.minMax(from, to, minMax);
+
+        LodPyramid lod = getLodPyramid();
+
+        if (lod != null)
+            return lod.getMinMax(this, from, to, minMax);
+
+        from = Math.max(from, 0);
+        to = Math.min(to, getEntryCount() - 1);
+
+        if (from > to)
+            return false;
+
+        float min = getValAt(from);
+        float max = min;
+
+        for (int i = from + 1; i <= to; i++) {
+
+            float val = getValAt(i);
+
+            if (val < min)
+                min = val;
+            if (val > max)
+                max = val;
+        }
+
+        minMax[0] = min;
+        minMax[1] = max;
+        return true;
+    }
+
+    /**
+     * calc minimum and maximum y value, via calcStats(int, int, double[])
+     */
+    protected void calcMinMax() {
+
+        int count = getEntryCount();
+
+        if (count == 0)
+            return;
+
+        double[] stats = new double[3];
+        stats[0] = Double.MAX_VALUE;
+        stats[1] = -Double.MAX_VALUE;
+
+        calcStats(0, count, stats);
+
+        mYMin = (float) stats[0];
+        mYMax = (float) stats[1];
+    }
+
+    /**
+     * calculates the sum of all absolute y-values, via calcStats(int, int,
+     * double[])
+     */
+    protected void calcYValueSum() {
+
+        int count = getEntryCount();
+        double[] stats = new double[3];
+        stats[0] = Double.MAX_VALUE;
+        stats[1] = -Double.MAX_VALUE;
+
+        calcStats(0, count, stats);
+
+        mYValueSum = (float) stats[2];
     }
 
     /**
@@ -145,6 +462,30 @@ public abstract class DataSet<T extends Entry> {
         return mYVals.size();
     }
 
+    /**
+     * Returns the y-value of the Entry at the given position in the entries
+     * array of this DataSet. Renderers and buffers read values through this
+     * method so that DataSets that do not hold Entry objects (e.g.
+     * PrimitiveLineDataSet) can be drawn without creating any.
+     * 
+     * @param pos position in the entries array
+     * @return
+     */
+    public float getValAt(int pos) {
+        return mYVals.get(pos).getVal();
+    }
+
+    /**
+     * Returns the x-index of the Entry at the given position in the entries
+     * array of this DataSet.
+     * 
+     * @param pos position in the entries array
+     * @return
+     */
+    public int getXIndexAt(int pos) {
+        return mYVals.get(pos).getXIndex();
+    }
+
     /**
      * Returns the value of the Entry object at the given xIndex. Returns
      * Float.NaN if no value is at the given x-index. INFORMATION: This method
@@ -176,26 +517,55 @@ public abstract class DataSet<T extends Entry> {
      */
     public T getEntryForXIndex(int x) {
 
+        int pos = getEntryPositionForXIndex(x);
+
+        if (pos < 0)
+            return null;
+
+        return mYVals.get(pos);
+    }
+
+    /**
+     * Returns the position (in the entries array) of the first Entry at the
+     * given x-index, or of the Entry at the closest x-index if there is no
+     * Entry at the given x-index, this is the position of the Entry returned by
+     * getEntryForXIndex(...). Returns -1 if the DataSet is empty. Takes O(1)
+     * if the x-index of each Entry equals its position, O(log n) otherwise.
+     * The entries must be sorted by their x-index.
+     * 
+     * @param x
+     * @return
+     */
+    public int getEntryPositionForXIndex(int x) {
+
+        int count = getEntryCount();
+
+        // dense DataSet, the position equals the x-index
+        if (x >= 0 && x < count && getXIndexAt(x) == x
+                && (x == 0 || getXIndexAt(x - 1) != x))
+            return x;
+
         int low = 0;
-        int high = mYVals.size() - 1;
-        T closest = null;
+        int high = count - 1;
+        int closest = -1;
 
         while (low <= high) {
             int m = (high + low) / 2;
+            int xIndex = getXIndexAt(m);
 
-            if (x == mYVals.get(m).getXIndex()) {
-                while (m > 0 && mYVals.get(m - 1).getXIndex() == x)
+            if (x == xIndex) {
+                while (m > 0 && getXIndexAt(m - 1) == x)
                     m--;
 
-                return mYVals.get(m);
+                return m;
             }
 
-            if (x > mYVals.get(m).getXIndex())
+            if (x > xIndex)
                 low = m + 1;
             else
                 high = m - 1;
 
-            closest = mYVals.get(m);
+            closest = m;
         }
 
         return closest;
@@ -304,9 +674,36 @@ public abstract class DataSet<T extends Entry> {
      */
     public int getIndexInEntries(int xIndex) {
 
-        for (int i = 0; i < mYVals.size(); i++) {
-            if (xIndex == mYVals.get(i).getXIndex())
-                return i;
+        int pos = getEntryPositionForXIndex(xIndex);
+
+        if (pos < 0 || getXIndexAt(pos) != xIndex)
+            return -1;
+
+        return pos;
+    }
+
+    /**
+     * Returns the position of the given Entry object (the same instance) in
+     * the entries array, -1 if the DataSet does not hold it. Only the entries
+     * at the x-index of the given Entry are checked.
+     * 
+     * @param e
+     * @return
+     */
+    protected int getPositionOf(Entry e) {
+
+        if (e == null)
+            return -1;
+
+        int pos = getEntryPositionForXIndex(e.getXIndex());
+
+        if (pos < 0)
+            return -1;
+
+        for (int count = getEntryCount(); pos < count
+                && getXIndexAt(pos) == e.getXIndex(); pos++) {
+            if (mYVals.get(pos) == e)
+                return pos;
         }
 
         return -1;
@@ -319,6 +716,75 @@ public abstract class DataSet<T extends Entry> {
      */
     public abstract DataSet<T> copy();
 
+    /**
+     * Returns an immutable snapshot of the DataSet. The entries are not
+     * copied: they are stored in chunks that are shared between the DataSet
+     * and its snapshots and only copied when the DataSet modifies them
+     * afterwards (copy-on-write), which makes taking a snapshot O(1). The
+     * snapshot can be drawn on the UI thread while the DataSet is modified on
+     * another thread. After the first snapshot, the DataSet no longer uses the
+     * list provided in the constructor, change the entries via addEntry(...),
+     * updateEntry(...) and removeEntry(...), not directly. The RangeIndex and
+     * the LodPyramid are not part of the snapshot.
+     * 
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public DataSet<T> snapshot() {
+
+        if (mSnapshot)
+            return this;
+
+        if (!(mYVals instanceof ChunkedList))
+            mYVals = new ChunkedList<T>(mYVals);
+
+        DataSet<T> snapshot = shallowCopy();
+        snapshot.mYVals = ((ChunkedList<T>) mYVals).snapshot();
+
+        return snapshot;
+    }
+
+    /**
+     * Returns a copy of this DataSet that shares the entries (and everything
+     * else that can not be changed via the setters of the DataSet), marked as
+     * snapshot. Used by snapshot(), subclasses need to override this if they
+     * hold mutable objects other than the color list.
+     * 
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    protected DataSet<T> shallowCopy() {
+
+        DataSet<T> copy;
+
+        try {
+            copy = (DataSet<T>) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+
+        copy.mColors = new ArrayList<Integer>(mColors);
+        copy.mColorArray = null;
+        copy.mValueColors = null;
+        copy.mValueColorsVersion = -1;
+        copy.mRangeIndex = null;
+        copy.mLodPyramid = null;
+        copy.mBatch = null;
+        copy.mSnapshot = true;
+
+        return copy;
+    }
+
+    /**
+     * Returns true if this DataSet is a snapshot created by snapshot(), which
+     * must not be modified.
+     * 
+     * @return
+     */
+    public boolean isSnapshot() {
+        return mSnapshot;
+    }
+
     @Override
     public String toString() {
         StringBuffer buffer = new StringBuffer();
@@ -444,10 +910,127 @@ public abstract class DataSet<T extends Entry> {
                 mYMin = val;
         }
 
-        mYValueSum += val;
+        mYValueSum += Math.abs(val);
 
         // add the entry
         mYVals.add((T) e);
+        mVersion++;
+
+        if (mRangeIndex != null)
+            mRangeIndex.add(val);
+    }
+
+    /**
+     * Adds all given entries to the end of the DataSet. Minimum, maximum and
+     * value-sum are updated once for the whole batch. The entries must be
+     * sorted by their x-index and must not have a lower x-index than the last
+     * Entry of the DataSet.
+     * 
+     * @param entries
+     */
+    @SuppressWarnings("unchecked")
+    public void addEntries(List<? extends Entry> entries) {
+
+        if (entries == null || entries.isEmpty())
+            return;
+
+        if (mYVals == null) {
+            mYVals = new ArrayList<T>();
+        }
+
+        float min = entries.get(0).getVal();
+        float max = min;
+        float sum = 0f;
+
+        for (int i = 0; i < entries.size(); i++) {
+
+            float val = entries.get(i).getVal();
+
+            if (val < min)
+                min = val;
+            if (val > max)
+                max = val;
+
+            sum += Math.abs(val);
+        }
+
+        addToMinMax(min, max, sum);
+
+        // add the entries
+        mYVals.addAll((List<T>) entries);
+
+        if (mRangeIndex != null) {
+            for (int i = 0; i < entries.size(); i++)
+                mRangeIndex.add(entries.get(i).getVal());
+        }
+    }
+
+    /**
+     * Adds len values to the end of the DataSet, the y-values are taken from
+     * ys and the x-indices from xs, both starting at off. Minimum, maximum and
+     * value-sum are updated once for the whole batch. The x-indices must be
+     * sorted and must not be lower than the x-index of the last Entry of the
+     * DataSet. One Entry is created per value, the list that collects them
+     * is reused.
+     * 
+     * @param ys the y-values
+     * @param xs the x-indices
+     * @param off the position of the first value in the arrays
+     * @param len the number of values to add
+     */
+    public void addEntries(float[] ys, int[] xs, int off, int len) {
+
+        if (mBatch == null)
+            mBatch = new ArrayList<T>(len);
+
+        List<T> entries = mBatch;
+
+        try {
+            for (int i = off; i < off + len; i++)
+                entries.add(newEntry(ys[i], xs[i]));
+
+            addEntries(entries);
+        } finally {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Creates a new Entry of the type this DataSet holds, used by
+     * addEntries(float[], int[], int, int).
+     * 
+     * @param val
+     * @param xIndex
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    protected T newEntry(float val, int xIndex) {
+        return (T) new Entry(val, xIndex);
+    }
+
+    /**
+     * Includes the minimum, maximum and absolute sum of a batch of values that
+     * is about to be appended in the statistics of the DataSet. Must be called
+     * before the values are added.
+     * 
+     * @param min
+     * @param max
+     * @param sum
+     */
+    protected void addToMinMax(float min, float max, float sum) {
+
+        if (getEntryCount() == 0) {
+            mYMax = max;
+            mYMin = min;
+        } else {
+            if (mYMax < max)
+                mYMax = max;
+            if (mYMin > min)
+                mYMin = min;
+        }
+
+        mYValueSum += sum;
+        mVersion++;
     }
 
     /**
@@ -463,18 +1046,99 @@ public abstract class DataSet<T extends Entry> {
         if (e == null)
             return false;
 
+        return removeEntryAt(getPositionOf(e));
+    }
+
+    /**
+     * Removes the Entry at the given position in the entries array. This will
+     * also recalculate the current minimum and maximum values of the DataSet
+     * and the value-sum. Returns true if an Entry was removed, false if the
+     * position is out of bounds.
+     * 
+     * @param pos
+     * @return
+     */
+    public boolean removeEntryAt(int pos) {
+
+        if (pos < 0 || pos >= getEntryCount())
+            return false;
+
         // remove the entry
-        boolean removed = mYVals.remove(e);
+        float val = mYVals.remove(pos).getVal();
+        mYValueSum -= Math.abs(val);
+        mLodPyramidDirty = true;
+        mVersion++;
+
+        if (mRangeIndex != null) {
+            mRangeIndex.remove(pos);
+            calcMinMaxFromIndex();
+        } else {
+            calcMinMax();
+        }
 
-        if (removed) {
+        return true;
+    }
 
-            float val = e.getVal();
-            mYValueSum -= val;
+    /**
+     * Sets the y-value of the Entry at the given position in the entries array
+     * and updates minimum, maximum and the value-sum of the DataSet. Unlike
+     * changing the value of the Entry directly, this does not require a call
+     * to notifyDataSetChanged(). A full pass over all values is only needed if
+     * the current minimum or maximum is replaced and the RangeIndex is not
+     * enabled.
+     * 
+     * @param pos position in the entries array
+     * @param val the new y-value
+     */
+    public void updateEntry(int pos, float val) {
+
+        float old = getValAt(pos);
+
+        setValAt(pos, val);
+        mYValueSum += Math.abs(val) - Math.abs(old);
+        mVersion++;
 
+        if (mLodPyramid != null && !mLodPyramidDirty)
+            mLodPyramid.update(this, pos);
+
+        if (mRangeIndex != null) {
+            mRangeIndex.update(pos, val);
+            calcMinMaxFromIndex();
+        } else if (val >= mYMax || val <= mYMin) {
+
+            if (mYMax < val)
+                mYMax = val;
+            if (mYMin > val)
+                mYMin = val;
+
+            // the other extreme might have been replaced
+            if (old == mYMax && val < old || old == mYMin && val > old)
+                calcMinMax();
+        } else if (old == mYMax || old == mYMin) {
             calcMinMax();
         }
+    }
 
-        return removed;
+    /**
+     * Sets the y-value at the given position in the entries array without
+     * updating any statistics. Override this if the DataSet does not store its
+     * values in Entry objects.
+     * 
+     * @param pos
+     * @param val
+     */
+    @SuppressWarnings("unchecked")
+    protected void setValAt(int pos, float val) {
+
+        if (mYVals instanceof ChunkedList) {
+
+            // the Entry might be shared with a snapshot, replace it
+            Entry e = mYVals.get(pos).copy();
+            e.setVal(val);
+            mYVals.set(pos, (T) e);
+        } else {
+            mYVals.get(pos).setVal(val);
+        }
     }
 
     /**
@@ -484,9 +1148,7 @@ public abstract class DataSet<T extends Entry> {
      * @param xIndex
      */
     public boolean removeEntry(int xIndex) {
-
-        T e = getEntryForXIndex(xIndex);
-        return removeEntry(e);
+        return removeEntryAt(getEntryPositionForXIndex(xIndex));
     }
 
     /** BELOW THIS COLOR HANDLING */
@@ -502,6 +1164,7 @@ public abstract class DataSet<T extends Entry> {
      */
     public void setColors(List<Integer> colors) {
         this.mColors = colors;
+        mColorArray = null;
     }
 
     /**
@@ -515,6 +1178,7 @@ public abstract class DataSet<T extends Entry> {
      */
     public void setColors(int[] colors) {
         this.mColors = ColorTemplate.createColors(colors);
+        mColorArray = null;
     }
 
     /**
@@ -536,6 +1200,7 @@ public abstract class DataSet<T extends Entry> {
         }
 
         mColors = clrs;
+        mColorArray = null;
     }
 
     /**
@@ -547,6 +1212,7 @@ public abstract class DataSet<T extends Entry> {
         if (mColors == null)
             mColors = new ArrayList<Integer>();
         mColors.add(color);
+        mColorArray = null;
     }
 
     /**
@@ -558,10 +1224,12 @@ public abstract class DataSet<T extends Entry> {
     public void setColor(int color) {
         resetColors();
         mColors.add(color);
+        mColorArray = null;
     }
 
     /**
-     * returns all the colors that are set for this DataSet
+     * returns all the colors that are set for this DataSet. Call
+     * notifyDataSetChanged() after modifying the returned list.
      * 
      * @return
      */
@@ -570,14 +1238,103 @@ public abstract class DataSet<T extends Entry> {
     }
 
     /**
-     * Returns the color at the given index of the DataSet's color array.
-     * Performs a IndexOutOfBounds check by modulus.
+     * Returns the color at the given index of the DataSet's color array (see
+     * getColorArray()). Performs a IndexOutOfBounds check by modulus.
      * 
      * @param index
      * @return
      */
     public int getColor(int index) {
-        return mColors.get(index % mColors.size());
+
+        int[] colors = getColorArray();
+        return colors[index % colors.length];
+    }
+
+    /**
+     * Returns the colors the values are drawn with: one color per value
+     * position if a ColorMapper is set, otherwise the colors set for this
+     * DataSet, which are reused by modulus. The per-value colors are
+     * calculated once after the values changed. The renderers read the colors
+     * from this array instead of calling getColor(...) for each value. Do not
+     * modify the returned array.
+     * 
+     * @return
+     */
+    public int[] getColorArray() {
+
+        if (mColorMapper != null && getEntryCount() > 0) {
+
+            if (mValueColors == null || mValueColorsVersion != mVersion) {
+
+                int count = getEntryCount();
+
+                if (mValueColors == null || mValueColors.length != count)
+                    mValueColors = new int[count];
+
+                mColorMapper.mapColors(this, 0, count, mValueColors);
+                mValueColorsVersion = mVersion;
+            }
+
+            return mValueColors;
+        }
+
+        if (!isColorArrayValid())
+            mColorArray = Utils.convertIntegers(mColors);
+
+        return mColorArray;
+    }
+
+    /**
+     * Returns true if the cached color array holds the current colors. The
+     * list is compared entry by entry, it might have been modified through
+     * getColors() without calling notifyDataSetChanged().
+     * 
+     * @return
+     */
+    private boolean isColorArrayValid() {
+
+        if (mColorArray == null || mColorArray.length != mColors.size())
+            return false;
+
+        for (int i = 0; i < mColorArray.length; i++) {
+            if (mColorArray[i] != mColors.get(i))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns true if all values of this DataSet are drawn in the same color
+     * (a single color is set and no ColorMapper).
+     * 
+     * @return
+     */
+    public boolean hasSingleColor() {
+        return mColorMapper == null && mColors.size() == 1;
+    }
+
+    /**
+     * Sets a ColorMapper that determines the color of each value from the
+     * value itself (e.g. GradientColorMapper, ThresholdColorMapper or
+     * PaletteColorMapper), instead of the colors set. Set null to use the
+     * colors set again. Stacked bars index the colors per stack value, use a
+     * ColorMapper only for DataSets that are not stacked.
+     * 
+     * @param mapper
+     */
+    public void setColorMapper(ColorMapper mapper) {
+        mColorMapper = mapper;
+        mValueColors = null;
+    }
+
+    /**
+     * Returns the ColorMapper of this DataSet, null if none is set.
+     * 
+     * @return
+     */
+    public ColorMapper getColorMapper() {
+        return mColorMapper;
     }
 
     /**
@@ -595,6 +1352,7 @@ public abstract class DataSet<T extends Entry> {
      */
     public void resetColors() {
         mColors = new ArrayList<Integer>();
+        mColorArray = null;
     }
 
     /**
@@ -606,9 +1364,18 @@ public abstract class DataSet<T extends Entry> {
      */
     public int getEntryPosition(Entry e) {
 
-        for (int i = 0; i < mYVals.size(); i++) {
-            if (e.equalTo(mYVals.get(i)))
-                return i;
+        if (e == null)
+            return -1;
+
+        int pos = getEntryPositionForXIndex(e.getXIndex());
+
+        if (pos < 0)
+            return -1;
+
+        for (int count = getEntryCount(); pos < count
+                && getXIndexAt(pos) == e.getXIndex(); pos++) {
+            if (e.equalTo(mYVals.get(pos)))
+                return pos;
         }
 
         return -1;
@@ -637,9 +1404,13 @@ public abstract class DataSet<T extends Entry> {
      * @return
      */
     public ValueFormatter getValueFormatter() {
-        if (mValueFormatter == null)
-            return new DefaultValueFormatter(1);
-        return mValueFormatter;
+        if (mValueFormatter != null)
+            return mValueFormatter;
+
+        if (mFallbackValueFormatter == null)
+            mFallbackValueFormatter = new DefaultValueFormatter(1);
+
+        return mFallbackValueFormatter;
     }
 
     /**
@@ -703,19 +1474,12 @@ public abstract class DataSet<T extends Entry> {
 
     /**
      * Checks if this DataSet contains the specified Entry. Returns true if so,
-     * false if not. NOTE: Performance is pretty bad on this one, do not
-     * over-use in performance critical situations.
+     * false if not. Takes O(log n).
      * 
      * @param e
      * @return
      */
     public boolean contains(Entry e) {
-
-        for (Entry entry : mYVals) {
-            if (entry.equals(e))
-                return true;
-        }
-
-        return false;
+        return getPositionOf(e) >= 0;
     }
 }
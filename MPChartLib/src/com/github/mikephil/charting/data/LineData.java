@@ -1,6 +1,8 @@
 
 package com.github.mikephil.charting.data;
 
+import com.github.mikephil.charting.utils.XValueProvider;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -39,9 +41,22 @@ public class LineData extends BarLineScatterCandleData<LineDataSet> {
         super(xVals, toList(dataSet));
     }
 
+    public LineData(XValueProvider xValues, List<LineDataSet> dataSets) {
+        super(xValues, dataSets);
+    }
+
+    public LineData(XValueProvider xValues, LineDataSet dataSet) {
+        super(xValues, toList(dataSet));
+    }
+
     private static List<LineDataSet> toList(LineDataSet dataSet) {
         List<LineDataSet> sets = new ArrayList<LineDataSet>();
         sets.add(dataSet);
         return sets;
     }
+
+    @Override
+    public LineData snapshot() {
+        return (LineData) super.snapshot();
+    }
 }
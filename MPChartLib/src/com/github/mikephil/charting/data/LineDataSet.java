@@ -14,27 +14,36 @@ import java.util.List;
 public class LineDataSet extends LineRadarDataSet<Entry> {
 
     /** List representing all colors that are used for the circles */
-    private List<Integer> mCircleColors = null;
+    protected List<Integer> mCircleColors = null;
+
+    /** the circle colors as an array, null if it needs to be rebuilt */
+    private int[] mCircleColorArray = null;
 
     /** the color of the inner circles */
-    private int mCircleColorHole = Color.WHITE;
+    protected int mCircleColorHole = Color.WHITE;
 
     /** the radius of the circle-shaped value indicators */
-    private float mCircleSize = 8f;
+    protected float mCircleSize = 8f;
 
     /** sets the intensity of the cubic lines */
-    private float mCubicIntensity = 0.2f;
+    protected float mCubicIntensity = 0.2f;
+
+    /** the control points of the cubic segments, see getCubicControlPoints() */
+    private float[] mCubicControlPoints = null;
+
+    /** the version of the values the control points were calculated for */
+    private int mCubicVersion = -1;
 
     /** the path effect of this DataSet that makes dashed lines possible */
-    private DashPathEffect mDashPathEffect = null;
+    protected DashPathEffect mDashPathEffect = null;
 
     /** if true, drawing circles is enabled */
-    private boolean mDrawCircles = true;
+    protected boolean mDrawCircles = true;
 
     /** if true, cubic lines are drawn instead of linear */
-    private boolean mDrawCubic = false;
+    protected boolean mDrawCubic = false;
 
-    private boolean mDrawCircleHole = true;
+    protected boolean mDrawCircleHole = true;
 
     public LineDataSet(List<Entry> yVals, String label) {
         super(yVals, label);
@@ -50,6 +59,17 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
         mCircleColors.add(Color.rgb(140, 234, 255));
     }
 
+    @Override
+    protected DataSet<Entry> shallowCopy() {
+
+        LineDataSet copy = (LineDataSet) super.shallowCopy();
+        copy.mCircleColors = new ArrayList<Integer>(mCircleColors);
+        copy.mCircleColorArray = null;
+        copy.mCubicControlPoints = null;
+
+        return copy;
+    }
+
     @Override
     public DataSet<Entry> copy() {
 
@@ -84,6 +104,9 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
         if (intensity < 0.05f)
             intensity = 0.05f;
 
+        if (intensity != mCubicIntensity)
+            mCubicControlPoints = null;
+
         mCubicIntensity = intensity;
     }
 
@@ -96,6 +119,48 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
         return mCubicIntensity;
     }
 
+    /**
+     * Returns the control points of the cubic segments between the values of
+     * this DataSet, 4 floats (x1, y1, x2, y2) per segment, the segment at
+     * position i running from the value at position i to the one at i + 1.
+     * The y-values are not multiplied with the animation phase. Calculated
+     * from the values and the cubic intensity, cached until one of them
+     * changes. The returned array is replaced, not modified, when they
+     * change.
+     * 
+     * @return
+     */
+    public float[] getCubicControlPoints() {
+
+        int count = getEntryCount();
+        int segments = Math.max(count - 1, 0);
+
+        if (mCubicControlPoints != null && mCubicVersion == mVersion
+                && mCubicControlPoints.length == segments * 4)
+            return mCubicControlPoints;
+
+        float[] points = new float[segments * 4];
+        float intensity = mCubicIntensity;
+
+        for (int i = 0; i < segments; i++) {
+
+            int prev = Math.max(i - 1, 0);
+            int next = Math.min(i + 2, count - 1);
+
+            int k = i * 4;
+
+            points[k] = getXIndexAt(i) + (getXIndexAt(i + 1) - getXIndexAt(prev)) * intensity;
+            points[k + 1] = getValAt(i) + (getValAt(i + 1) - getValAt(prev)) * intensity;
+            points[k + 2] = getXIndexAt(i + 1) - (getXIndexAt(next) - getXIndexAt(i)) * intensity;
+            points[k + 3] = getValAt(i + 1) - (getValAt(next) - getValAt(i)) * intensity;
+        }
+
+        mCubicControlPoints = points;
+        mCubicVersion = mVersion;
+
+        return points;
+    }
+
     /**
      * sets the size (radius) of the circle shpaed value indicators, default
      * size = 4f
@@ -210,7 +275,28 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
      * @return
      */
     public int getCircleColor(int index) {
-        return mCircleColors.get(index % mCircleColors.size());
+
+        int[] colors = getCircleColorArray();
+        return colors[index % colors.length];
+    }
+
+    /**
+     * Returns the colors the circles are drawn with, reused by modulus: the
+     * colors of the values (see getColorArray()) if a ColorMapper is set,
+     * otherwise the circle colors. Do not modify the returned array.
+     * 
+     * @return
+     */
+    public int[] getCircleColorArray() {
+
+        if (mColorMapper != null && getEntryCount() > 0)
+            return getColorArray();
+
+        // the list might have been modified through getCircleColors()
+        if (mCircleColorArray == null || mCircleColorArray.length != mCircleColors.size())
+            mCircleColorArray = Utils.convertIntegers(mCircleColors);
+
+        return mCircleColorArray;
     }
 
     /**
@@ -224,6 +310,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
      */
     public void setCircleColors(List<Integer> colors) {
         mCircleColors = colors;
+        mCircleColorArray = null;
     }
 
     /**
@@ -237,6 +324,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
      */
     public void setCircleColors(int[] colors) {
         this.mCircleColors = ColorTemplate.createColors(colors);
+        mCircleColorArray = null;
     }
 
     /**
@@ -258,6 +346,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
         }
 
         mCircleColors = clrs;
+        mCircleColorArray = null;
     }
 
     /**
@@ -269,6 +358,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
     public void setCircleColor(int color) {
         resetCircleColors();
         mCircleColors.add(color);
+        mCircleColorArray = null;
     }
 
     /**
@@ -276,6 +366,7 @@ public class LineDataSet extends LineRadarDataSet<Entry> {
      */
     public void resetCircleColors() {
         mCircleColors = new ArrayList<Integer>();
+        mCircleColorArray = null;
     }
 
     /**
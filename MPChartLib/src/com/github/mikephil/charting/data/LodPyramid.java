@@ -0,0 +1,416 @@
+
+package com.github.mikephil.charting.data;
+
+/**
+ * Level-of-detail pyramid over the values of a DataSet. Level k divides the
+ * values into buckets of 2^(k+1) consecutive positions and stores the
+ * positions of the lowest (DataSet.getLowAt(...)) and highest
+ * (DataSet.getHighAt(...)) value of each bucket. Together with the first and
+ * last position of a bucket, this is all that is needed to draw the bucket
+ * within a single pixel column without losing spikes. The renderers pick the
+ * coarsest level that still has at least one bucket per pixel, which makes
+ * drawing a zoomed out DataSet proportional to the width of the chart
+ * instead of the number of values. Appending values updates the pyramid in
+ * amortized O(1) per value, needs about 8 bytes per value. Removing the first
+ * value (see removeFirst()) does not move the buckets, it shifts the
+ * positions of the pyramid by one instead; the buckets of the removed values
+ * are dropped by a rebuild once they outnumber the remaining values, which
+ * keeps removing amortized O(1) as well. Bucket b of level k therefore covers
+ * the positions from (b << (k + 1)) - getOffset() on.
+ *
+ * @author Philipp Jahoda
+ */
+public class LodPyramid {
+
+    /** the maximum number of levels */
+    private static final int MAX_LEVELS = 30;
+
+    /** positions of the lowest value of each bucket, per level */
+    private int[][] mMinPos = new int[MAX_LEVELS][];
+
+    /** positions of the highest value of each bucket, per level */
+    private int[][] mMaxPos = new int[MAX_LEVELS][];
+
+    /** the number of levels */
+    private int mLevelCount = 0;
+
+    /** the number of values the pyramid covers, including removed ones */
+    private int mCount = 0;
+
+    /**
+     * the number of values removed from the front, position p of the DataSet
+     * is position p + mOffset of the pyramid
+     */
+    private int mOffset = 0;
+
+    /**
+     * Builds the pyramid for all values of the given DataSet in O(n).
+     *
+     * @param set
+     */
+    public void build(DataSet<?> set) {
+        mCount = 0;
+        mLevelCount = 0;
+        mOffset = 0;
+        append(set);
+    }
+
+    /**
+     * Includes all values of the DataSet behind the last value the pyramid
+     * covers. Only the buckets that contain new values are recalculated.
+     *
+     * @param set
+     */
+    public void append(DataSet<?> set) {
+
+        int count = set.getEntryCount() + mOffset;
+
+        if (count <= mCount) {
+            if (count < mCount)
+                build(set);
+            return;
+        }
+
+        int from = mCount;
+        mCount = count;
+
+        for (int level = 0; level < MAX_LEVELS && (2 << level) <= count; level++) {
+
+            if (level >= mLevelCount) {
+                // a new level covers all values
+                from = 0;
+                mLevelCount = level + 1;
+            }
+
+            int first = from >> (level + 1);
+            int last = (count - 1) >> (level + 1);
+
+            ensureCapacity(level, last + 1);
+
+            for (int b = first; b <= last; b++)
+                calcBucket(set, level, b);
+        }
+    }
+
+    /**
+     * Recalculates the buckets that contain the given position after its
+     * value changed, O(log n).
+     *
+     * @param set
+     * @param pos
+     */
+    public void update(DataSet<?> set, int pos) {
+
+        pos += mOffset;
+
+        if (pos < mOffset || pos >= mCount)
+            return;
+
+        for (int level = 0; level < mLevelCount; level++)
+            calcBucket(set, level, pos >> (level + 1));
+    }
+
+    /**
+     * Removes the first value from the pyramid after the DataSet removed its
+     * first value, the positions of all other values shift by one. Returns
+     * false if the pyramid needs to be rebuilt instead, because it covers no
+     * values anymore or the removed values outnumber the remaining ones.
+     *
+     * @return
+     */
+    public boolean removeFirst() {
+
+        if (mOffset + 1 >= mCount || mOffset + 1 > mCount - mOffset - 1)
+            return false;
+
+        mOffset++;
+        return true;
+    }
+
+    /**
+     * Returns the number of values removed from the front since the pyramid
+     * was built, see removeFirst().
+     *
+     * @return
+     */
+    public int getOffset() {
+        return mOffset;
+    }
+
+    /**
+     * Returns the lowest value at the given position of the pyramid, removed
+     * values are never the lowest.
+     */
+    private float getLowAt(DataSet<?> set, int pos) {
+        return pos < mOffset ? Float.POSITIVE_INFINITY : set.getLowAt(pos - mOffset);
+    }
+
+    /**
+     * Returns the highest value at the given position of the pyramid, removed
+     * values are never the highest.
+     */
+    private float getHighAt(DataSet<?> set, int pos) {
+        return pos < mOffset ? Float.NEGATIVE_INFINITY : set.getHighAt(pos - mOffset);
+    }
+
+    private void calcBucket(DataSet<?> set, int level, int b) {
+
+        int minPos;
+        int maxPos;
+
+        if (level == 0) {
+
+            minPos = b * 2;
+            maxPos = minPos;
+
+            if (minPos + 1 < mCount) {
+                if (getLowAt(set, minPos + 1) < getLowAt(set, minPos))
+                    minPos++;
+                if (getHighAt(set, maxPos + 1) > getHighAt(set, maxPos))
+                    maxPos++;
+            }
+        } else {
+
+            // combine the two buckets of the level below
+            int[] mins = mMinPos[level - 1];
+            int[] maxs = mMaxPos[level - 1];
+
+            int left = b * 2;
+            minPos = mins[left];
+            maxPos = maxs[left];
+
+            if (left + 1 < getBucketCount(level - 1)) {
+                if (getLowAt(set, mins[left + 1]) < getLowAt(set, minPos))
+                    minPos = mins[left + 1];
+                if (getHighAt(set, maxs[left + 1]) > getHighAt(set, maxPos))
+                    maxPos = maxs[left + 1];
+            }
+        }
+
+        mMinPos[level][b] = minPos;
+        mMaxPos[level][b] = maxPos;
+    }
+
+    private void ensureCapacity(int level, int buckets) {
+
+        int[] mins = mMinPos[level];
+
+        if (mins != null && mins.length >= buckets)
+            return;
+
+        int capacity = mins == null ? buckets : Math.max(buckets, mins.length + (mins.length >> 1));
+
+        int[] grownMins = new int[capacity];
+        int[] grownMaxs = new int[capacity];
+
+        if (mins != null) {
+            System.arraycopy(mins, 0, grownMins, 0, mins.length);
+            System.arraycopy(mMaxPos[level], 0, grownMaxs, 0, mins.length);
+        }
+
+        mMinPos[level] = grownMins;
+        mMaxPos[level] = grownMaxs;
+    }
+
+    /**
+     * Returns the number of values the pyramid covers.
+     *
+     * @return
+     */
+    public int getCount() {
+        return mCount - mOffset;
+    }
+
+    /**
+     * Returns the number of levels.
+     *
+     * @return
+     */
+    public int getLevelCount() {
+        return mLevelCount;
+    }
+
+    /**
+     * Returns the number of values per bucket of the given level.
+     *
+     * @param level
+     * @return
+     */
+    public int getBucketSize(int level) {
+        return 2 << level;
+    }
+
+    /**
+     * Returns the number of buckets of the given level, including those of
+     * removed values.
+     *
+     * @param level
+     * @return
+     */
+    public int getBucketCount(int level) {
+        return ((mCount - 1) >> (level + 1)) + 1;
+    }
+
+    /**
+     * Returns the position of the lowest value in the given bucket, negative
+     * if it has been removed.
+     *
+     * @param level
+     * @param bucket
+     * @return
+     */
+    public int getMinPosition(int level, int bucket) {
+        return mMinPos[level][bucket] - mOffset;
+    }
+
+    /**
+     * Returns the position of the highest value in the given bucket, negative
+     * if it has been removed.
+     *
+     * @param level
+     * @param bucket
+     * @return
+     */
+    public int getMaxPosition(int level, int bucket) {
+        return mMaxPos[level][bucket] - mOffset;
+    }
+
+    /**
+     * Returns the coarsest level that still has at least one bucket per
+     * pixel for the given number of values per pixel, -1 if the values should
+     * be drawn without the pyramid.
+     *
+     * @param valuesPerPixel
+     * @return
+     */
+    public int getLevelForDensity(float valuesPerPixel) {
+
+        int level = -1;
+
+        while (level + 1 < mLevelCount && getBucketSize(level + 1) <= valuesPerPixel)
+            level++;
+
+        return level;
+    }
+
+    /**
+     * Writes the positions that are needed to draw the values between from
+     * (inclusive) and to (exclusive) on the given level into the provided
+     * array: first, lowest, highest and last position of each bucket, in
+     * ascending order and without duplicates. Returns the number of positions
+     * written. The array needs room for at most 4 positions per bucket and not
+     * more than to - from positions.
+     *
+     * @param level
+     * @param from
+     * @param to
+     * @param positions
+     * @return
+     */
+    public int getPositions(int level, int from, int to, int[] positions) {
+
+        from = Math.max(from, 0) + mOffset;
+        to = Math.min(to + mOffset, mCount);
+
+        if (from >= to)
+            return 0;
+
+        int shift = level + 1;
+        int count = 0;
+        int[] mins = mMinPos[level];
+        int[] maxs = mMaxPos[level];
+
+        for (int b = from >> shift, last = (to - 1) >> shift; b <= last; b++) {
+
+            int first = Math.max(b << shift, from);
+            int end = Math.min((b + 1) << shift, to) - 1;
+
+            int low = Math.min(mins[b], maxs[b]);
+            int high = Math.max(mins[b], maxs[b]);
+
+            count = add(positions, count, first - mOffset);
+
+            if (low > first && low < end)
+                count = add(positions, count, low - mOffset);
+            if (high > first && high < end)
+                count = add(positions, count, high - mOffset);
+
+            count = add(positions, count, end - mOffset);
+        }
+
+        return count;
+    }
+
+    /**
+     * Calculates the lowest (DataSet.getLowAt(...)) and highest
+     * (DataSet.getHighAt(...)) value between the given positions (both
+     * inclusive) and stores them in the provided array, in O(log^2 n). The
+     * range is covered by the largest buckets that fit into it, single values
+     * are only read at its edges. Returns false if the range contains no
+     * values.
+     *
+     * @param set the DataSet the pyramid was built for
+     * @param from position of the first value
+     * @param to position of the last value
+     * @param minMax array of at least two values
+     * @return
+     */
+    public boolean getMinMax(DataSet<?> set, int from, int to, float[] minMax) {
+
+        from = Math.max(from, 0) + mOffset;
+        to = Math.min(to + mOffset, mCount - 1);
+
+        if (from > to)
+            return false;
+
+        float min = Float.MAX_VALUE;
+        float max = -Float.MAX_VALUE;
+        int pos = from;
+
+        while (pos <= to) {
+
+            // the largest bucket that starts at pos and ends within the range
+            int level = -1;
+
+            while (level + 1 < mLevelCount
+                    && (pos & ((2 << (level + 1)) - 1)) == 0
+                    && pos + (2 << (level + 1)) - 1 <= to)
+                level++;
+
+            int minPos;
+            int maxPos;
+
+            if (level < 0) {
+                minPos = pos;
+                maxPos = pos;
+                pos++;
+            } else {
+                int b = pos >> (level + 1);
+                minPos = mMinPos[level][b];
+                maxPos = mMaxPos[level][b];
+                pos += 2 << level;
+            }
+
+            float low = getLowAt(set, minPos);
+            float high = getHighAt(set, maxPos);
+
+            if (low < min)
+                min = low;
+            if (high > max)
+                max = high;
+        }
+
+        minMax[0] = min;
+        minMax[1] = max;
+        return true;
+    }
+
+    private static int add(int[] positions, int count, int pos) {
+
+        if (count > 0 && positions[count - 1] == pos)
+            return count;
+
+        positions[count] = pos;
+        return count + 1;
+    }
+}
@@ -0,0 +1,276 @@
+
+package com.github.mikephil.charting.data;
+
+import com.github.mikephil.charting.utils.MappedEntries;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Read-only LineDataSet that reads its values directly from buffers, e.g.
+ * the columns of a memory-mapped binary file (see FileUtils.loadBinaryFile(...)).
+ * Minimum, maximum and value-sum are provided on creation, so creating the
+ * DataSet does not touch any values and no Entry objects are created. The
+ * x-indices must be sorted ascending. getYVals() returns a read-only view
+ * that creates a new Entry object upon every access, do not use it in
+ * performance critical situations.
+ *
+ * @author Philipp Jahoda
+ */
+public class MappedLineDataSet extends LineDataSet {
+
+    /** the y-values of this DataSet */
+    protected FloatBuffer mVals;
+
+    /** the x-indices of this DataSet */
+    protected IntBuffer mXIndices;
+
+    /** the number of values this DataSet holds */
+    protected int mCount;
+
+    /**
+     * Creates a DataSet from the columns of a binary chart data file.
+     *
+     * @param entries
+     * @param label
+     */
+    public MappedLineDataSet(MappedEntries entries, String label) {
+        this(entries.getVals(), entries.getXIndices(), entries.getCount(), entries.getYMin(),
+                entries.getYMax(), (float) entries.getYValueSum(), label);
+    }
+
+    /**
+     * Creates a DataSet that reads its values from the given buffers (they
+     * are not copied), the statistics are not calculated but taken from the
+     * parameters.
+     *
+     * @param vals the y-values
+     * @param xIndices the x-index of each value, sorted ascending
+     * @param count the number of values
+     * @param yMin the lowest y-value
+     * @param yMax the highest y-value
+     * @param yValueSum the sum of the absolute y-values
+     * @param label
+     */
+    public MappedLineDataSet(FloatBuffer vals, IntBuffer xIndices, int count, float yMin,
+            float yMax, float yValueSum, String label) {
+        super(null, label);
+
+        if (vals.limit() < count || xIndices.limit() < count)
+            throw new IllegalArgumentException(
+                    "The provided buffers are shorter than the specified count.");
+
+        mVals = vals;
+        mXIndices = xIndices;
+        mCount = count;
+        mYVals = new EntryView();
+
+        mYMin = yMin;
+        mYMax = yMax;
+        mYValueSum = yValueSum;
+    }
+
+    @Override
+    public int getEntryCount() {
+        return mCount;
+    }
+
+    @Override
+    public int getValueCount() {
+        return mCount;
+    }
+
+    @Override
+    public float getValAt(int pos) {
+        return mVals.get(pos);
+    }
+
+    @Override
+    public int getXIndexAt(int pos) {
+        return mXIndices.get(pos);
+    }
+
+    /**
+     * Returns the buffer that holds the y-values of this DataSet.
+     *
+     * @return
+     */
+    public FloatBuffer getVals() {
+        return mVals;
+    }
+
+    /**
+     * Returns the buffer that holds the x-indices of this DataSet.
+     *
+     * @return
+     */
+    public IntBuffer getXIndices() {
+        return mXIndices;
+    }
+
+    @Override
+    public int getEntryPositionForXIndex(int x) {
+
+        // dense DataSet, the position equals the x-index
+        if (x >= 0 && x < mCount && mXIndices.get(x) == x
+                && (x == 0 || mXIndices.get(x - 1) != x))
+            return x;
+
+        int low = 0;
+        int high = mCount - 1;
+        int closest = -1;
+
+        while (low <= high) {
+            int m = (high + low) >>> 1;
+            int xIndex = mXIndices.get(m);
+
+            if (x == xIndex) {
+                while (m > 0 && mXIndices.get(m - 1) == x)
+                    m--;
+
+                return m;
+            }
+
+            if (x > xIndex)
+                low = m + 1;
+            else
+                high = m - 1;
+
+            closest = m;
+        }
+
+        return closest;
+    }
+
+    @Override
+    public Entry getEntryForXIndex(int x) {
+
+        int pos = getEntryPositionForXIndex(x);
+
+        if (pos < 0)
+            return null;
+
+        return new Entry(mVals.get(pos), mXIndices.get(pos));
+    }
+
+    @Override
+    public float getYValForXIndex(int xIndex) {
+
+        int pos = getEntryPositionForXIndex(xIndex);
+
+        if (pos < 0)
+            return Float.NaN;
+
+        return mVals.get(pos);
+    }
+
+    @Override
+    public boolean contains(Entry e) {
+        return getEntryPosition(e) >= 0;
+    }
+
+    /**
+     * Not supported, the DataSet is read-only.
+     */
+    @Override
+    public void addEntry(Entry e) {
+        throw new UnsupportedOperationException("MappedLineDataSet is read-only.");
+    }
+
+    /**
+     * Not supported, the DataSet is read-only.
+     */
+    @Override
+    public boolean removeEntryAt(int pos) {
+        throw new UnsupportedOperationException("MappedLineDataSet is read-only.");
+    }
+
+    /**
+     * Not supported, the DataSet is read-only.
+     */
+    @Override
+    public void addEntries(List<? extends Entry> entries) {
+        throw new UnsupportedOperationException("MappedLineDataSet is read-only.");
+    }
+
+    /**
+     * Not supported, the DataSet is read-only.
+     */
+    @Override
+    public void addEntries(float[] ys, int[] xs, int off, int len) {
+        throw new UnsupportedOperationException("MappedLineDataSet is read-only.");
+    }
+
+    /**
+     * Not supported, the DataSet is read-only. The buffers are usually
+     * mapped read-only and shared with snapshots and copies.
+     */
+    @Override
+    public void updateEntry(int pos, float val) {
+        throw new UnsupportedOperationException("MappedLineDataSet is read-only.");
+    }
+
+    /**
+     * Not supported, the DataSet is read-only.
+     */
+    @Override
+    protected void setValAt(int pos, float val) {
+        throw new UnsupportedOperationException("MappedLineDataSet is read-only.");
+    }
+
+    /**
+     * The buffers are shared with the snapshot, the DataSet can not be
+     * modified in a way that affects it.
+     */
+    @Override
+    public DataSet<Entry> snapshot() {
+
+        if (mSnapshot)
+            return this;
+
+        MappedLineDataSet snapshot = (MappedLineDataSet) shallowCopy();
+        snapshot.mYVals = snapshot.new EntryView();
+
+        return snapshot;
+    }
+
+    @Override
+    public DataSet<Entry> copy() {
+
+        MappedLineDataSet copied = new MappedLineDataSet(mVals.duplicate(),
+                mXIndices.duplicate(), mCount, mYMin, mYMax, mYValueSum, getLabel());
+
+        copied.mColors = mColors;
+        copied.mCircleSize = mCircleSize;
+        copied.mCircleColors = mCircleColors;
+        copied.mDashPathEffect = mDashPathEffect;
+        copied.mDrawCircles = mDrawCircles;
+        copied.mDrawCubic = mDrawCubic;
+        copied.mHighLightColor = mHighLightColor;
+
+        return copied;
+    }
+
+    /**
+     * Read-only List view on the buffers of this DataSet, creates a new Entry
+     * object upon every access.
+     */
+    private class EntryView extends AbstractList<Entry> {
+
+        @Override
+        public Entry get(int index) {
+
+            if (index < 0 || index >= mCount)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mCount);
+
+            return new Entry(mVals.get(index), mXIndices.get(index));
+        }
+
+        @Override
+        public int size() {
+            return mCount;
+        }
+    }
+}
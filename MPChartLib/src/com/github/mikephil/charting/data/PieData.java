@@ -71,4 +71,9 @@ public class PieData extends ChartData<PieDataSet> {
         return ignorecase ? label.equalsIgnoreCase(mDataSets.get(0).getLabel()) ? mDataSets.get(0)
                 : null : label.equals(mDataSets.get(0).getLabel()) ? mDataSets.get(0) : null;
     }
+
+    @Override
+    public PieData snapshot() {
+        return (PieData) super.snapshot();
+    }
 }
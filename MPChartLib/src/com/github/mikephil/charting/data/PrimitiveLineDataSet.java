@@ -0,0 +1,567 @@
+
+package com.github.mikephil.charting.data;
+
+import android.util.SparseArray;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * LineDataSet that stores its values in primitive columns (a float array for
+ * the y-values and an int array for the x-indices) instead of a list of Entry
+ * objects. This reduces the memory footprint of large DataSets by several
+ * times and allows the renderers to scan the values without pointer chasing.
+ * Optional additional data (see Entry.getData()) is kept in a sparse side
+ * table and only occupies memory for the entries that actually carry data.
+ * The x-indices must be added in ascending order. getYVals() returns a
+ * read-only view that creates a new Entry object upon every access, do not
+ * use it in performance critical situations.
+ *
+ * @author Philipp Jahoda
+ */
+public class PrimitiveLineDataSet extends LineDataSet {
+
+    /** the default capacity of the columns of an empty DataSet */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** the y-values of this DataSet */
+    protected float[] mVals;
+
+    /** the x-indices of this DataSet */
+    protected int[] mXIndices;
+
+    /** the number of values this DataSet holds */
+    protected int mCount = 0;
+
+    /** additional data of the entries, mapped by their position */
+    protected SparseArray<Object> mEntryData = new SparseArray<Object>();
+
+    /** true if the columns are shared with a snapshot */
+    private boolean mColumnsShared = false;
+
+    /** true if the additional data is shared with a snapshot */
+    private boolean mEntryDataShared = false;
+
+    /**
+     * Creates an empty DataSet.
+     *
+     * @param label
+     */
+    public PrimitiveLineDataSet(String label) {
+        this(new float[DEFAULT_CAPACITY], new int[DEFAULT_CAPACITY], 0, label);
+    }
+
+    /**
+     * Creates a DataSet with the given y-values, the x-index of each value is
+     * its position in the array.
+     *
+     * @param vals
+     * @param label
+     */
+    public PrimitiveLineDataSet(float[] vals, String label) {
+        this(vals, ascendingIndices(vals.length), vals.length, label);
+    }
+
+    /**
+     * Creates a DataSet that uses the given arrays as its columns (they are
+     * not copied). The x-indices must be sorted ascending.
+     *
+     * @param vals the y-values
+     * @param xIndices the x-index of each value
+     * @param count the number of values to use from the arrays
+     * @param label
+     */
+    public PrimitiveLineDataSet(float[] vals, int[] xIndices, int count, String label) {
+        super(null, label);
+
+        if (vals.length < count || xIndices.length < count)
+            throw new IllegalArgumentException(
+                    "The provided arrays are shorter than the specified count.");
+
+        mVals = vals;
+        mXIndices = xIndices;
+        mCount = count;
+        mYVals = new EntryView();
+
+        calcStats();
+    }
+
+    /**
+     * Creates a DataSet from the given Entry objects. The values are copied
+     * into the columns, the Entry objects are not kept.
+     *
+     * @param yVals
+     * @param label
+     */
+    public PrimitiveLineDataSet(List<Entry> yVals, String label) {
+        this(new float[Math.max(yVals.size(), DEFAULT_CAPACITY)],
+                new int[Math.max(yVals.size(), DEFAULT_CAPACITY)], 0, label);
+
+        for (int i = 0; i < yVals.size(); i++) {
+            Entry e = yVals.get(i);
+            mVals[i] = e.getVal();
+            mXIndices[i] = e.getXIndex();
+
+            if (e.getData() != null)
+                mEntryData.put(i, e.getData());
+        }
+
+        mCount = yVals.size();
+
+        calcStats();
+    }
+
+    private static int[] ascendingIndices(int count) {
+
+        int[] xIndices = new int[count];
+
+        for (int i = 0; i < count; i++)
+            xIndices[i] = i;
+
+        return xIndices;
+    }
+
+    /**
+     * Reads the column directly, minimum, maximum and sum in one pass.
+     */
+    @Override
+    public void calcStats(int from, int to, double[] stats) {
+
+        float[] vals = mVals;
+
+        float min = (float) stats[0];
+        float max = (float) stats[1];
+        double sum = stats[2];
+
+        for (int i = from; i < to; i++) {
+
+            float val = vals[i];
+
+            if (val < min)
+                min = val;
+            if (val > max)
+                max = val;
+
+            sum += Math.abs(val);
+        }
+
+        stats[0] = Math.min(stats[0], min);
+        stats[1] = Math.max(stats[1], max);
+        stats[2] = sum;
+    }
+
+    @Override
+    public int getEntryCount() {
+        return mCount;
+    }
+
+    @Override
+    public int getValueCount() {
+        return mCount;
+    }
+
+    @Override
+    public float getValAt(int pos) {
+        return mVals[pos];
+    }
+
+    @Override
+    public int getXIndexAt(int pos) {
+        return mXIndices[pos];
+    }
+
+    /**
+     * Returns the array that holds the y-values of this DataSet. Only the
+     * first getEntryCount() values are valid. Do not modify.
+     *
+     * @return
+     */
+    public float[] getVals() {
+        return mVals;
+    }
+
+    /**
+     * Returns the array that holds the x-indices of this DataSet. Only the
+     * first getEntryCount() values are valid. Do not modify.
+     *
+     * @return
+     */
+    public int[] getXIndices() {
+        return mXIndices;
+    }
+
+    /**
+     * Creates a new Entry object for the value at the given position.
+     *
+     * @param pos
+     * @return
+     */
+    protected Entry createEntry(int pos) {
+        return new Entry(mVals[pos], mXIndices[pos], mEntryData.get(pos));
+    }
+
+    @Override
+    public int getEntryPositionForXIndex(int x) {
+
+        // dense DataSet, the position equals the x-index
+        if (x >= 0 && x < mCount && mXIndices[x] == x && (x == 0 || mXIndices[x - 1] != x))
+            return x;
+
+        int low = 0;
+        int high = mCount - 1;
+        int closest = -1;
+
+        while (low <= high) {
+            int m = (high + low) >>> 1;
+
+            if (x == mXIndices[m]) {
+                while (m > 0 && mXIndices[m - 1] == x)
+                    m--;
+
+                return m;
+            }
+
+            if (x > mXIndices[m])
+                low = m + 1;
+            else
+                high = m - 1;
+
+            closest = m;
+        }
+
+        return closest;
+    }
+
+    @Override
+    public Entry getEntryForXIndex(int x) {
+
+        int pos = getEntryPositionForXIndex(x);
+
+        if (pos < 0)
+            return null;
+
+        return createEntry(pos);
+    }
+
+    @Override
+    public float getYValForXIndex(int xIndex) {
+
+        int pos = getEntryPositionForXIndex(xIndex);
+
+        if (pos < 0)
+            return Float.NaN;
+
+        return mVals[pos];
+    }
+
+    @Override
+    public boolean contains(Entry e) {
+        return getEntryPosition(e) >= 0;
+    }
+
+    /**
+     * Adds a value to the end of the DataSet. The x-index must not be lower
+     * than the x-index of the last value.
+     *
+     * @param val
+     * @param xIndex
+     */
+    public void addEntry(float val, int xIndex) {
+
+        ensureCapacity(mCount + 1);
+
+        if (mCount == 0) {
+            mYMax = val;
+            mYMin = val;
+        } else {
+            if (mYMax < val)
+                mYMax = val;
+            if (mYMin > val)
+                mYMin = val;
+        }
+
+        mYValueSum += Math.abs(val);
+
+        mVals[mCount] = val;
+        mXIndices[mCount] = xIndex;
+        mCount++;
+        mVersion++;
+
+        if (mRangeIndex != null)
+            mRangeIndex.add(val);
+    }
+
+    @Override
+    public void addEntry(Entry e) {
+
+        if (e == null)
+            return;
+
+        if (e.getData() != null)
+            writableEntryData().put(mCount, e.getData());
+
+        addEntry(e.getVal(), e.getXIndex());
+    }
+
+    /**
+     * Copies the values into the columns of the DataSet, no Entry objects are
+     * created.
+     */
+    @Override
+    public void addEntries(float[] ys, int[] xs, int off, int len) {
+
+        if (len <= 0)
+            return;
+
+        ensureCapacity(mCount + len);
+
+        System.arraycopy(ys, off, mVals, mCount, len);
+        System.arraycopy(xs, off, mXIndices, mCount, len);
+
+        appendStats(mCount, len);
+    }
+
+    @Override
+    public void addEntries(List<? extends Entry> entries) {
+
+        if (entries == null || entries.isEmpty())
+            return;
+
+        ensureCapacity(mCount + entries.size());
+
+        for (int i = 0; i < entries.size(); i++) {
+
+            Entry e = entries.get(i);
+
+            mVals[mCount + i] = e.getVal();
+            mXIndices[mCount + i] = e.getXIndex();
+
+            if (e.getData() != null)
+                writableEntryData().put(mCount + i, e.getData());
+        }
+
+        appendStats(mCount, entries.size());
+    }
+
+    /**
+     * Includes the given number of values that have been written behind the
+     * last value of the columns in the DataSet and its statistics.
+     */
+    private void appendStats(int from, int len) {
+
+        float min = mVals[from];
+        float max = min;
+        float sum = 0f;
+
+        for (int i = from; i < from + len; i++) {
+
+            float val = mVals[i];
+
+            if (val < min)
+                min = val;
+            if (val > max)
+                max = val;
+
+            sum += Math.abs(val);
+
+            if (mRangeIndex != null)
+                mRangeIndex.add(val);
+        }
+
+        addToMinMax(min, max, sum);
+
+        mCount += len;
+    }
+
+    @Override
+    public boolean removeEntry(Entry e) {
+
+        return removeEntryAt(getEntryPosition(e));
+    }
+
+    /**
+     * Removes the value at the given position from the DataSet and
+     * recalculates minimum and maximum (in O(log n) if the RangeIndex is
+     * enabled).
+     */
+    @Override
+    public boolean removeEntryAt(int pos) {
+
+        if (pos < 0 || pos >= mCount)
+            return false;
+
+        unshareColumns();
+
+        float val = mVals[pos];
+
+        System.arraycopy(mVals, pos + 1, mVals, pos, mCount - pos - 1);
+        System.arraycopy(mXIndices, pos + 1, mXIndices, pos, mCount - pos - 1);
+        mCount--;
+        mLodPyramidDirty = true;
+        mVersion++;
+
+        // shift the additional data of all following entries
+        if (mEntryData.size() > 0) {
+
+            SparseArray<Object> data = new SparseArray<Object>(mEntryData.size());
+
+            for (int i = 0; i < mEntryData.size(); i++) {
+
+                int key = mEntryData.keyAt(i);
+
+                if (key < pos)
+                    data.append(key, mEntryData.valueAt(i));
+                else if (key > pos)
+                    data.append(key - 1, mEntryData.valueAt(i));
+            }
+
+            mEntryData = data;
+            mEntryDataShared = false;
+        }
+
+        mYValueSum -= Math.abs(val);
+
+        if (mRangeIndex != null) {
+            mRangeIndex.remove(pos);
+            calcMinMaxFromIndex();
+        } else {
+            calcMinMax();
+        }
+
+        return true;
+    }
+
+    @Override
+    protected void setValAt(int pos, float val) {
+        unshareColumns();
+        mVals[pos] = val;
+    }
+
+    /**
+     * Returns a snapshot that shares the columns with this DataSet. Appending
+     * values only writes behind the values of the snapshot, the columns are
+     * copied before any other modification. The additional data is shared as
+     * well and copied once an Entry with additional data is added.
+     */
+    @Override
+    public DataSet<Entry> snapshot() {
+
+        if (mSnapshot)
+            return this;
+
+        PrimitiveLineDataSet snapshot = (PrimitiveLineDataSet) shallowCopy();
+        snapshot.mYVals = snapshot.new EntryView();
+        mColumnsShared = true;
+        mEntryDataShared = true;
+
+        return snapshot;
+    }
+
+    /**
+     * Copies the columns if they are shared with a snapshot, must be called
+     * before any values are modified in place.
+     */
+    private void unshareColumns() {
+
+        if (!mColumnsShared)
+            return;
+
+        float[] vals = new float[mVals.length];
+        int[] xIndices = new int[mXIndices.length];
+        System.arraycopy(mVals, 0, vals, 0, mCount);
+        System.arraycopy(mXIndices, 0, xIndices, 0, mCount);
+
+        mVals = vals;
+        mXIndices = xIndices;
+        mColumnsShared = false;
+    }
+
+    /**
+     * Returns the additional data of the entries, copied first if it is shared
+     * with a snapshot. Must be used for every modification.
+     *
+     * @return
+     */
+    private SparseArray<Object> writableEntryData() {
+
+        if (mEntryDataShared) {
+
+            SparseArray<Object> data = new SparseArray<Object>(mEntryData.size());
+
+            for (int i = 0; i < mEntryData.size(); i++)
+                data.append(mEntryData.keyAt(i), mEntryData.valueAt(i));
+
+            mEntryData = data;
+            mEntryDataShared = false;
+        }
+
+        return mEntryData;
+    }
+
+    /**
+     * Makes sure the columns can hold at least the given number of values.
+     *
+     * @param capacity
+     */
+    public void ensureCapacity(int capacity) {
+
+        if (capacity <= mVals.length)
+            return;
+
+        int newCapacity = Math.max(capacity, mVals.length + (mVals.length >> 1) + 1);
+
+        float[] vals = new float[newCapacity];
+        int[] xIndices = new int[newCapacity];
+        System.arraycopy(mVals, 0, vals, 0, mCount);
+        System.arraycopy(mXIndices, 0, xIndices, 0, mCount);
+
+        mVals = vals;
+        mXIndices = xIndices;
+        mColumnsShared = false;
+    }
+
+    @Override
+    public DataSet<Entry> copy() {
+
+        float[] vals = new float[mCount];
+        int[] xIndices = new int[mCount];
+        System.arraycopy(mVals, 0, vals, 0, mCount);
+        System.arraycopy(mXIndices, 0, xIndices, 0, mCount);
+
+        PrimitiveLineDataSet copied = new PrimitiveLineDataSet(vals, xIndices, mCount, getLabel());
+
+        for (int i = 0; i < mEntryData.size(); i++)
+            copied.mEntryData.append(mEntryData.keyAt(i), mEntryData.valueAt(i));
+
+        copied.mColors = mColors;
+        copied.mCircleSize = mCircleSize;
+        copied.mCircleColors = mCircleColors;
+        copied.mDashPathEffect = mDashPathEffect;
+        copied.mDrawCircles = mDrawCircles;
+        copied.mDrawCubic = mDrawCubic;
+        copied.mHighLightColor = mHighLightColor;
+
+        return copied;
+    }
+
+    /**
+     * Read-only List view on the columns of this DataSet, creates a new Entry
+     * object upon every access.
+     */
+    private class EntryView extends AbstractList<Entry> {
+
+        @Override
+        public Entry get(int index) {
+
+            if (index < 0 || index >= mCount)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mCount);
+
+            return createEntry(index);
+        }
+
+        @Override
+        public int size() {
+            return mCount;
+        }
+    }
+}
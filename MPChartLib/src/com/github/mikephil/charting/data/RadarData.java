@@ -44,4 +44,9 @@ public class RadarData extends ChartData<RadarDataSet> {
         sets.add(dataSet);
         return sets;
     }
+
+    @Override
+    public RadarData snapshot() {
+        return (RadarData) super.snapshot();
+    }
 }
@@ -0,0 +1,540 @@
+
+package com.github.mikephil.charting.data;
+
+/**
+ * Index over the y-values of a DataSet that answers minimum, maximum and sum
+ * queries for arbitrary ranges of positions in O(log n). Values can be
+ * updated, inserted and removed at any position in O(log n) as well, which
+ * allows a DataSet to keep its minimum and maximum up to date without
+ * rescanning all of its entries. Internally this is an implicit treap (a
+ * randomized balanced binary tree ordered by position) stored in primitive
+ * arrays, so no objects are created per value.
+ *
+ * @author Philipp Jahoda
+ */
+public class RangeIndex {
+
+    /** marks a missing node */
+    private static final int NIL = -1;
+
+    private int[] mLeft;
+    private int[] mRight;
+    private int[] mPriority;
+    private int[] mSize;
+    private float[] mVal;
+    private float[] mMin;
+    private float[] mMax;
+    private double[] mSum;
+
+    /** the root node of the tree */
+    private int mRoot = NIL;
+
+    /** the number of node slots that have been used so far */
+    private int mUsed = 0;
+
+    /** top of the stack of released node slots, linked via mLeft */
+    private int mFree = NIL;
+
+    /** state of the random number generator for the priorities */
+    private int mSeed = 0x2545F491;
+
+    /** results of split(...) */
+    private int mSplitLeft;
+    private int mSplitRight;
+
+    /** results of query(...) */
+    private float mQueryMin;
+    private float mQueryMax;
+    private double mQuerySum;
+
+    /**
+     * Creates an empty index.
+     */
+    public RangeIndex() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty index with room for the given number of values.
+     *
+     * @param capacity
+     */
+    public RangeIndex(int capacity) {
+        allocate(Math.max(capacity, 16));
+    }
+
+    private void allocate(int capacity) {
+
+        mLeft = grow(mLeft, capacity);
+        mRight = grow(mRight, capacity);
+        mPriority = grow(mPriority, capacity);
+        mSize = grow(mSize, capacity);
+        mVal = grow(mVal, capacity);
+        mMin = grow(mMin, capacity);
+        mMax = grow(mMax, capacity);
+
+        double[] sum = new double[capacity];
+        if (mSum != null)
+            System.arraycopy(mSum, 0, sum, 0, mUsed);
+        mSum = sum;
+    }
+
+    private int[] grow(int[] array, int capacity) {
+        int[] grown = new int[capacity];
+        if (array != null)
+            System.arraycopy(array, 0, grown, 0, mUsed);
+        return grown;
+    }
+
+    private float[] grow(float[] array, int capacity) {
+        float[] grown = new float[capacity];
+        if (array != null)
+            System.arraycopy(array, 0, grown, 0, mUsed);
+        return grown;
+    }
+
+    private int nextPriority() {
+        mSeed ^= mSeed << 13;
+        mSeed ^= mSeed >>> 17;
+        mSeed ^= mSeed << 5;
+        return mSeed;
+    }
+
+    private int newNode(float val) {
+
+        int node;
+
+        if (mFree != NIL) {
+            node = mFree;
+            mFree = mLeft[node];
+        } else {
+            if (mUsed == mVal.length)
+                allocate(mVal.length + (mVal.length >> 1));
+            node = mUsed++;
+        }
+
+        mLeft[node] = NIL;
+        mRight[node] = NIL;
+        mPriority[node] = nextPriority();
+        mVal[node] = val;
+        pull(node);
+
+        return node;
+    }
+
+    private void releaseNode(int node) {
+        mLeft[node] = mFree;
+        mFree = node;
+    }
+
+    /**
+     * Recalculates the aggregates of the given node from its children.
+     */
+    private void pull(int node) {
+
+        float val = mVal[node];
+        float min = val;
+        float max = val;
+        double sum = val;
+        int size = 1;
+
+        int l = mLeft[node];
+        int r = mRight[node];
+
+        if (l != NIL) {
+            size += mSize[l];
+            sum += mSum[l];
+            if (mMin[l] < min)
+                min = mMin[l];
+            if (mMax[l] > max)
+                max = mMax[l];
+        }
+
+        if (r != NIL) {
+            size += mSize[r];
+            sum += mSum[r];
+            if (mMin[r] < min)
+                min = mMin[r];
+            if (mMax[r] > max)
+                max = mMax[r];
+        }
+
+        mSize[node] = size;
+        mMin[node] = min;
+        mMax[node] = max;
+        mSum[node] = sum;
+    }
+
+    private int size(int node) {
+        return node == NIL ? 0 : mSize[node];
+    }
+
+    /**
+     * Splits the given tree into the first k values (mSplitLeft) and the rest
+     * (mSplitRight).
+     */
+    private void split(int node, int k) {
+
+        if (node == NIL) {
+            mSplitLeft = NIL;
+            mSplitRight = NIL;
+            return;
+        }
+
+        if (k <= size(mLeft[node])) {
+            split(mLeft[node], k);
+            mLeft[node] = mSplitRight;
+            pull(node);
+            mSplitRight = node;
+        } else {
+            split(mRight[node], k - size(mLeft[node]) - 1);
+            mRight[node] = mSplitLeft;
+            pull(node);
+            mSplitLeft = node;
+        }
+    }
+
+    /**
+     * Joins two trees, all values of a come before the values of b.
+     */
+    private int merge(int a, int b) {
+
+        if (a == NIL)
+            return b;
+        if (b == NIL)
+            return a;
+
+        if (mPriority[a] > mPriority[b]) {
+            mRight[a] = merge(mRight[a], b);
+            pull(a);
+            return a;
+        } else {
+            mLeft[b] = merge(a, mLeft[b]);
+            pull(b);
+            return b;
+        }
+    }
+
+    /**
+     * Removes all values from the index.
+     */
+    public void clear() {
+        mRoot = NIL;
+        mUsed = 0;
+        mFree = NIL;
+    }
+
+    /**
+     * Replaces the content of the index with the values of the given DataSet
+     * in O(n).
+     *
+     * @param set
+     */
+    public void build(DataSet<?> set) {
+
+        clear();
+
+        int count = set.getEntryCount();
+
+        if (count > mVal.length)
+            allocate(count);
+
+        // build a cartesian tree (heap ordered by priority) from left to right
+        int[] stack = new int[64];
+        int top = 0;
+
+        for (int i = 0; i < count; i++) {
+
+            int node = newNode(set.getValAt(i));
+            int last = NIL;
+
+            while (top > 0 && mPriority[stack[top - 1]] < mPriority[node])
+                last = stack[--top];
+
+            mLeft[node] = last;
+
+            if (top > 0)
+                mRight[stack[top - 1]] = node;
+
+            if (top == stack.length) {
+                int[] grown = new int[stack.length * 2];
+                System.arraycopy(stack, 0, grown, 0, top);
+                stack = grown;
+            }
+
+            stack[top++] = node;
+        }
+
+        mRoot = top > 0 ? stack[0] : NIL;
+
+        pullAll(mRoot);
+    }
+
+    /**
+     * Recalculates the aggregates of the whole subtree in post-order.
+     */
+    private void pullAll(int node) {
+
+        if (node == NIL)
+            return;
+
+        pullAll(mLeft[node]);
+        pullAll(mRight[node]);
+        pull(node);
+    }
+
+    /**
+     * Returns the number of values in the index.
+     *
+     * @return
+     */
+    public int size() {
+        return size(mRoot);
+    }
+
+    /**
+     * Appends a value at the end of the index.
+     *
+     * @param val
+     */
+    public void add(float val) {
+        mRoot = merge(mRoot, newNode(val));
+    }
+
+    /**
+     * Inserts a value at the given position, all following values move back
+     * by one position.
+     *
+     * @param pos
+     * @param val
+     */
+    public void insert(int pos, float val) {
+
+        split(mRoot, pos);
+        int right = mSplitRight;
+
+        mRoot = merge(merge(mSplitLeft, newNode(val)), right);
+    }
+
+    /**
+     * Removes the value at the given position.
+     *
+     * @param pos
+     */
+    public void remove(int pos) {
+
+        if (pos < 0 || pos >= size())
+            return;
+
+        split(mRoot, pos);
+        int left = mSplitLeft;
+
+        split(mSplitRight, 1);
+        releaseNode(mSplitLeft);
+
+        mRoot = merge(left, mSplitRight);
+    }
+
+    /**
+     * Sets the value at the given position.
+     *
+     * @param pos
+     * @param val
+     */
+    public void update(int pos, float val) {
+
+        if (pos < 0 || pos >= size())
+            return;
+
+        update(mRoot, pos, val);
+    }
+
+    private void update(int node, int pos, float val) {
+
+        int leftSize = size(mLeft[node]);
+
+        if (pos < leftSize)
+            update(mLeft[node], pos, val);
+        else if (pos > leftSize)
+            update(mRight[node], pos - leftSize - 1, val);
+        else
+            mVal[node] = val;
+
+        pull(node);
+    }
+
+    /**
+     * Returns the value at the given position.
+     *
+     * @param pos
+     * @return
+     */
+    public float get(int pos) {
+
+        int node = mRoot;
+
+        while (node != NIL) {
+
+            int leftSize = size(mLeft[node]);
+
+            if (pos < leftSize) {
+                node = mLeft[node];
+            } else if (pos > leftSize) {
+                pos -= leftSize + 1;
+                node = mRight[node];
+            } else {
+                return mVal[node];
+            }
+        }
+
+        return Float.NaN;
+    }
+
+    /**
+     * Returns the smallest value of the index, NaN if it is empty.
+     *
+     * @return
+     */
+    public float getMin() {
+        return mRoot == NIL ? Float.NaN : mMin[mRoot];
+    }
+
+    /**
+     * Returns the largest value of the index, NaN if it is empty.
+     *
+     * @return
+     */
+    public float getMax() {
+        return mRoot == NIL ? Float.NaN : mMax[mRoot];
+    }
+
+    /**
+     * Returns the sum of all values of the index.
+     *
+     * @return
+     */
+    public double getSum() {
+        return mRoot == NIL ? 0.0 : mSum[mRoot];
+    }
+
+    /**
+     * Returns the smallest value in the given range of positions (both
+     * inclusive), NaN if the range is empty.
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public float min(int from, int to) {
+        return query(from, to) ? mQueryMin : Float.NaN;
+    }
+
+    /**
+     * Returns the largest value in the given range of positions (both
+     * inclusive), NaN if the range is empty.
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public float max(int from, int to) {
+        return query(from, to) ? mQueryMax : Float.NaN;
+    }
+
+    /**
+     * Returns the sum of the values in the given range of positions (both
+     * inclusive).
+     *
+     * @param from
+     * @param to
+     * @return
+     */
+    public double sum(int from, int to) {
+        return query(from, to) ? mQuerySum : 0.0;
+    }
+
+    /**
+     * Writes minimum (index 0) and maximum (index 1) of the values in the
+     * given range of positions (both inclusive) into the provided array.
+     * Returns false if the range is empty.
+     *
+     * @param from
+     * @param to
+     * @param minMax
+     * @return
+     */
+    public boolean minMax(int from, int to, float[] minMax) {
+
+        if (!query(from, to))
+            return false;
+
+        minMax[0] = mQueryMin;
+        minMax[1] = mQueryMax;
+        return true;
+    }
+
+    private boolean query(int from, int to) {
+
+        if (from < 0)
+            from = 0;
+        if (to > size() - 1)
+            to = size() - 1;
+
+        if (from > to)
+            return false;
+
+        mQueryMin = Float.POSITIVE_INFINITY;
+        mQueryMax = Float.NEGATIVE_INFINITY;
+        mQuerySum = 0.0;
+
+        query(mRoot, 0, from, to);
+        return true;
+    }
+
+    /**
+     * Aggregates the values of the subtree that fall in between from and to.
+     *
+     * @param node
+     * @param first position of the first value of the subtree
+     * @param from
+     * @param to
+     */
+    private void query(int node, int first, int from, int to) {
+
+        if (node == NIL)
+            return;
+
+        int last = first + mSize[node] - 1;
+
+        if (to < first || from > last)
+            return;
+
+        // subtree completely inside the range
+        if (from <= first && last <= to) {
+
+            if (mMin[node] < mQueryMin)
+                mQueryMin = mMin[node];
+            if (mMax[node] > mQueryMax)
+                mQueryMax = mMax[node];
+            mQuerySum += mSum[node];
+            return;
+        }
+
+        int pos = first + size(mLeft[node]);
+
+        query(mLeft[node], first, from, to);
+
+        if (from <= pos && pos <= to) {
+
+            float val = mVal[node];
+
+            if (val < mQueryMin)
+                mQueryMin = val;
+            if (val > mQueryMax)
+                mQueryMax = val;
+            mQuerySum += val;
+        }
+
+        query(mRight[node], pos + 1, from, to);
+    }
+}
@@ -0,0 +1,498 @@
+
+package com.github.mikephil.charting.data;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * LineDataSet with a fixed capacity, made for real-time charts that
+ * continuously receive new values. The values are stored in a circular
+ * buffer: adding a value to a full DataSet evicts the oldest one, both in
+ * O(1). Minimum and maximum are kept up to date in amortized O(1) by two
+ * monotonic queues, so no rescan of the DataSet is needed when old values
+ * drop out of the window. The x-index of a value is its position inside the
+ * window (0 is the oldest value), the number of values that have been
+ * evicted so far is available via getXOffset(), so the absolute index of a
+ * value is getXOffset() + xIndex. The x-index and the additional data of
+ * Entry objects added to this DataSet are ignored.
+ *
+ * @author Philipp Jahoda
+ */
+public class RingBufferLineDataSet extends LineDataSet {
+
+    /** the values of this DataSet, circular */
+    protected float[] mVals;
+
+    /** physical index of the oldest value in the values array */
+    protected int mHead = 0;
+
+    /** the number of values this DataSet currently holds */
+    protected int mCount = 0;
+
+    /** the number of values that have been evicted since creation */
+    protected long mXOffset = 0;
+
+    /** sum of the absolute values, double to prevent drifting */
+    private double mAbsSum = 0.0;
+
+    /**
+     * physical indices of the values that are candidates for the maximum,
+     * their values are decreasing from head to tail
+     */
+    private int[] mMaxQueue;
+    private int mMaxHead = 0;
+    private int mMaxCount = 0;
+
+    /**
+     * physical indices of the values that are candidates for the minimum,
+     * their values are increasing from head to tail
+     */
+    private int[] mMinQueue;
+    private int mMinHead = 0;
+    private int mMinCount = 0;
+
+    /**
+     * Creates an empty DataSet that holds at most the given number of values.
+     *
+     * @param capacity the maximum number of values, must be at least 1
+     * @param label
+     */
+    public RingBufferLineDataSet(int capacity, String label) {
+        super(null, label);
+
+        if (capacity < 1)
+            throw new IllegalArgumentException("The capacity must be at least 1.");
+
+        mVals = new float[capacity];
+        mMaxQueue = new int[capacity];
+        mMinQueue = new int[capacity];
+        mYVals = new EntryView();
+    }
+
+    /**
+     * Returns the maximum number of values this DataSet can hold.
+     *
+     * @return
+     */
+    public int getCapacity() {
+        return mVals.length;
+    }
+
+    /**
+     * Returns true if the DataSet holds as many values as its capacity
+     * allows, adding further values will evict the oldest ones.
+     *
+     * @return
+     */
+    public boolean isFull() {
+        return mCount == mVals.length;
+    }
+
+    /**
+     * Returns the number of values that have been evicted from the DataSet
+     * since its creation. This is the absolute index of the value at x-index
+     * 0.
+     *
+     * @return
+     */
+    public long getXOffset() {
+        return mXOffset;
+    }
+
+    /**
+     * Maps a logical index (position in a circular array of the DataSets
+     * capacity) to the physical index.
+     */
+    private int wrap(int index) {
+        return index >= mVals.length ? index - mVals.length : index;
+    }
+
+    /**
+     * Appends the given value to the DataSet. If the DataSet is full, the
+     * oldest value is evicted.
+     *
+     * @param val
+     */
+    public void addEntry(float val) {
+
+        if (mCount == mVals.length)
+            removeFirst();
+
+        int index = wrap(mHead + mCount);
+        mVals[index] = val;
+        mCount++;
+        mVersion++;
+
+        // drop all candidates that can never become the extreme again
+        while (mMaxCount > 0 && mVals[mMaxQueue[wrap(mMaxHead + mMaxCount - 1)]] <= val)
+            mMaxCount--;
+        mMaxQueue[wrap(mMaxHead + mMaxCount)] = index;
+        mMaxCount++;
+
+        while (mMinCount > 0 && mVals[mMinQueue[wrap(mMinHead + mMinCount - 1)]] >= val)
+            mMinCount--;
+        mMinQueue[wrap(mMinHead + mMinCount)] = index;
+        mMinCount++;
+
+        mAbsSum += Math.abs(val);
+
+        if (mRangeIndex != null)
+            mRangeIndex.add(val);
+
+        updateStats();
+    }
+
+    /**
+     * Adds the value of the given Entry to the DataSet, the x-index of the
+     * Entry is ignored.
+     */
+    @Override
+    public void addEntry(Entry e) {
+
+        if (e == null)
+            return;
+
+        addEntry(e.getVal());
+    }
+
+    /**
+     * Adds the given values in order, the x-indices are ignored. If the
+     * DataSet runs full, the oldest values are evicted.
+     */
+    @Override
+    public void addEntries(float[] ys, int[] xs, int off, int len) {
+
+        // values that would be evicted within the same batch are skipped
+        if (len > mVals.length) {
+            clear();
+            mXOffset += len - mVals.length;
+            off += len - mVals.length;
+            len = mVals.length;
+        }
+
+        for (int i = off; i < off + len; i++)
+            addEntry(ys[i]);
+    }
+
+    @Override
+    public void addEntries(List<? extends Entry> entries) {
+
+        if (entries == null)
+            return;
+
+        for (int i = 0; i < entries.size(); i++)
+            addEntry(entries.get(i).getVal());
+    }
+
+    /**
+     * Evicts the oldest value of the DataSet. Returns false if the DataSet is
+     * empty.
+     *
+     * @return
+     */
+    public boolean removeFirst() {
+
+        if (mCount == 0)
+            return false;
+
+        int index = mHead;
+
+        if (mMaxCount > 0 && mMaxQueue[mMaxHead] == index) {
+            mMaxHead = wrap(mMaxHead + 1);
+            mMaxCount--;
+        }
+
+        if (mMinCount > 0 && mMinQueue[mMinHead] == index) {
+            mMinHead = wrap(mMinHead + 1);
+            mMinCount--;
+        }
+
+        mAbsSum -= Math.abs(mVals[index]);
+
+        mHead = wrap(mHead + 1);
+        mCount--;
+        mXOffset++;
+
+        // all positions shift, the pyramid follows without moving its buckets
+        if (mLodPyramid != null && !mLodPyramidDirty && !mLodPyramid.removeFirst())
+            mLodPyramidDirty = true;
+
+        mVersion++;
+
+        if (mRangeIndex != null)
+            mRangeIndex.remove(0);
+
+        updateStats();
+
+        return true;
+    }
+
+    /**
+     * Only the oldest value of the DataSet can be removed, returns false for
+     * every other Entry.
+     */
+    @Override
+    public boolean removeEntry(Entry e) {
+        return removeEntryAt(getEntryPosition(e));
+    }
+
+    /**
+     * Only the oldest value (position 0) of the DataSet can be removed,
+     * returns false for every other position.
+     */
+    @Override
+    public boolean removeEntryAt(int pos) {
+
+        if (pos != 0)
+            return false;
+
+        return removeFirst();
+    }
+
+    /**
+     * Removes all values from the DataSet, they count as evicted.
+     */
+    public void clear() {
+        mXOffset += mCount;
+        reset();
+    }
+
+    private void reset() {
+        mHead = 0;
+        mCount = 0;
+        mMaxCount = 0;
+        mMinCount = 0;
+        mAbsSum = 0.0;
+        mLodPyramidDirty = true;
+        mVersion++;
+
+        if (mRangeIndex != null)
+            mRangeIndex.clear();
+
+        updateStats();
+    }
+
+    /**
+     * Sets the value at the given position. The queues that track minimum
+     * and maximum are rebuilt, which takes O(n).
+     */
+    @Override
+    public void updateEntry(int pos, float val) {
+
+        // the positions stay the same, the pyramid only needs an update
+        boolean lodDirty = mLodPyramidDirty;
+
+        setValAt(pos, val);
+        calcMinMax();
+        mLodPyramidDirty = lodDirty;
+        mVersion++;
+
+        if (mLodPyramid != null && !mLodPyramidDirty)
+            mLodPyramid.update(this, pos);
+    }
+
+    @Override
+    protected void setValAt(int pos, float val) {
+        mVals[wrap(mHead + pos)] = val;
+    }
+
+    /**
+     * Copies minimum, maximum and sum from the queues to the fields of the
+     * DataSet.
+     */
+    private void updateStats() {
+
+        if (mCount == 0) {
+            mYMin = 0f;
+            mYMax = 0f;
+            mAbsSum = 0.0;
+        } else {
+            mYMax = mVals[mMaxQueue[mMaxHead]];
+            mYMin = mVals[mMinQueue[mMinHead]];
+        }
+
+        mYValueSum = (float) mAbsSum;
+    }
+
+    @Override
+    protected void calcMinMax() {
+
+        // called by the super-constructor before the buffer exists
+        if (mVals == null)
+            return;
+
+        float[] vals = new float[mCount];
+
+        for (int i = 0; i < mCount; i++)
+            vals[i] = getValAt(i);
+
+        // rebuild the queues from scratch
+        reset();
+
+        for (float val : vals)
+            addEntry(val);
+    }
+
+    /**
+     * The queues that track minimum and maximum are rebuilt together with
+     * the statistics, which can not be split into chunks.
+     */
+    @Override
+    protected void calcStats() {
+        calcMinMax();
+        calcYValueSum();
+    }
+
+    @Override
+    protected boolean canCalcStatsInChunks() {
+        return false;
+    }
+
+    @Override
+    protected void calcYValueSum() {
+
+        if (mVals == null)
+            return;
+
+        double sum = 0.0;
+
+        for (int i = 0; i < mCount; i++)
+            sum += Math.abs(getValAt(i));
+
+        mAbsSum = sum;
+        mYValueSum = (float) sum;
+    }
+
+    @Override
+    public int getEntryCount() {
+        return mCount;
+    }
+
+    @Override
+    public int getValueCount() {
+        return mCount;
+    }
+
+    @Override
+    public float getValAt(int pos) {
+        return mVals[wrap(mHead + pos)];
+    }
+
+    @Override
+    public int getXIndexAt(int pos) {
+        return pos;
+    }
+
+    @Override
+    public int getEntryPositionForXIndex(int x) {
+
+        if (mCount == 0)
+            return -1;
+
+        return Math.max(0, Math.min(x, mCount - 1));
+    }
+
+    @Override
+    public Entry getEntryForXIndex(int x) {
+
+        if (mCount == 0)
+            return null;
+
+        int pos = Math.max(0, Math.min(x, mCount - 1));
+
+        return new Entry(getValAt(pos), pos);
+    }
+
+    @Override
+    public float getYValForXIndex(int xIndex) {
+
+        if (mCount == 0)
+            return Float.NaN;
+
+        return getValAt(Math.max(0, Math.min(xIndex, mCount - 1)));
+    }
+
+    @Override
+    public int getEntryPosition(Entry e) {
+
+        if (e == null)
+            return -1;
+
+        int pos = e.getXIndex();
+
+        if (pos < 0 || pos >= mCount || Math.abs(e.getVal() - getValAt(pos)) > 0.00001f)
+            return -1;
+
+        return pos;
+    }
+
+    @Override
+    public int getIndexInEntries(int xIndex) {
+        return xIndex >= 0 && xIndex < mCount ? xIndex : -1;
+    }
+
+    @Override
+    public boolean contains(Entry e) {
+        return getEntryPosition(e) >= 0;
+    }
+
+    /**
+     * Returns a snapshot of the DataSet. Adding values overwrites the oldest
+     * ones in place, so the buffer is copied, which takes O(capacity).
+     */
+    @Override
+    public DataSet<Entry> snapshot() {
+
+        if (mSnapshot)
+            return this;
+
+        RingBufferLineDataSet snapshot = (RingBufferLineDataSet) shallowCopy();
+        snapshot.mVals = mVals.clone();
+        snapshot.mMaxQueue = mMaxQueue.clone();
+        snapshot.mMinQueue = mMinQueue.clone();
+        snapshot.mYVals = snapshot.new EntryView();
+
+        return snapshot;
+    }
+
+    @Override
+    public DataSet<Entry> copy() {
+
+        RingBufferLineDataSet copied = new RingBufferLineDataSet(mVals.length, getLabel());
+
+        for (int i = 0; i < mCount; i++)
+            copied.addEntry(getValAt(i));
+
+        copied.mXOffset = mXOffset;
+        copied.mColors = mColors;
+        copied.mCircleSize = mCircleSize;
+        copied.mCircleColors = mCircleColors;
+        copied.mDashPathEffect = mDashPathEffect;
+        copied.mDrawCircles = mDrawCircles;
+        copied.mDrawCubic = mDrawCubic;
+        copied.mHighLightColor = mHighLightColor;
+
+        return copied;
+    }
+
+    /**
+     * Read-only List view on the values of this DataSet, creates a new Entry
+     * object upon every access.
+     */
+    private class EntryView extends AbstractList<Entry> {
+
+        @Override
+        public Entry get(int index) {
+
+            if (index < 0 || index >= mCount)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mCount);
+
+            return new Entry(getValAt(index), index);
+        }
+
+        @Override
+        public int size() {
+            return mCount;
+        }
+    }
+}
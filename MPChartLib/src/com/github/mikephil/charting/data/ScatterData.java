@@ -1,6 +1,8 @@
 
 package com.github.mikephil.charting.data;
 
+import com.github.mikephil.charting.utils.XValueProvider;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +36,14 @@ public class ScatterData extends BarLineScatterCandleData<ScatterDataSet> {
         super(xVals, toList(dataSet));
     }
 
+    public ScatterData(XValueProvider xValues, List<ScatterDataSet> dataSets) {
+        super(xValues, dataSets);
+    }
+
+    public ScatterData(XValueProvider xValues, ScatterDataSet dataSet) {
+        super(xValues, toList(dataSet));
+    }
+
     private static List<ScatterDataSet> toList(ScatterDataSet dataSet) {
         List<ScatterDataSet> sets = new ArrayList<ScatterDataSet>();
         sets.add(dataSet);
@@ -58,4 +68,9 @@ public class ScatterData extends BarLineScatterCandleData<ScatterDataSet> {
 
         return max;
     }
+
+    @Override
+    public ScatterData snapshot() {
+        return (ScatterData) super.snapshot();
+    }
 }
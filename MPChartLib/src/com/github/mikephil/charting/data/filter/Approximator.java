@@ -1,9 +1,12 @@
 
 package com.github.mikephil.charting.data.filter;
 
+import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -29,9 +32,31 @@ public class Approximator {
      */
     private boolean[] keep;
 
-    /** enums for the different types of filtering algorithms */
+    /** stack of the ranges Douglas-Peucker still needs to process */
+    private int[] mStack = new int[32];
+
+    /**
+     * the number of points (LTTB) or buckets (MIN_MAX, M4) the decimating
+     * types reduce to
+     */
+    private int mTargetCount = 0;
+
+    /** view of the entries filtered by filter(List), reused between calls */
+    private EntryListView mView;
+
+    /** the positions kept by filter(List), reused between calls */
+    private int[] mPositions = new int[0];
+
+    /**
+     * enums for the different types of filtering algorithms: DOUGLAS_PEUCKER
+     * removes points based on the angle between lines (tolerance), LTTB
+     * (largest-triangle-three-buckets) keeps a given number of points that
+     * preserve the shape of the line, MIN_MAX keeps the lowest and highest
+     * and M4 the first, lowest, highest and last point of each bucket (e.g.
+     * one bucket per pixel)
+     */
     public enum ApproximatorType {
-        NONE, DOUGLAS_PEUCKER
+        NONE, DOUGLAS_PEUCKER, LTTB, MIN_MAX, M4
     }
 
     /**
@@ -71,6 +96,26 @@ public class Approximator {
         mTolerance = tolerance;
     }
 
+    /**
+     * Sets the number of points (LTTB) or buckets (MIN_MAX, M4, usually the
+     * width of the chart in pixels) the decimating types reduce to. If <= 0,
+     * no filtering will be done by these types.
+     * 
+     * @param count
+     */
+    public void setTargetCount(int count) {
+        mTargetCount = count;
+    }
+
+    /**
+     * Returns the number of points or buckets the decimating types reduce to.
+     * 
+     * @return
+     */
+    public int getTargetCount() {
+        return mTargetCount;
+    }
+
     /**
      * Sets the filtering algorithm that should be used.
      * 
@@ -80,6 +125,15 @@ public class Approximator {
         this.mType = type;
     }
 
+    /**
+     * Returns the filtering algorithm that is used.
+     * 
+     * @return
+     */
+    public ApproximatorType getType() {
+        return mType;
+    }
+
     /**
      * Sets the ratios for x- and y-axis, as well as the ratio of the scale
      * levels
@@ -92,6 +146,24 @@ public class Approximator {
         mScaleRatio = scaleRatio;
     }
 
+    /**
+     * Returns the ratio set for x- and y-axis.
+     * 
+     * @return
+     */
+    public float getDeltaRatio() {
+        return mDeltaRatio;
+    }
+
+    /**
+     * Returns the ratio set for the scale levels.
+     * 
+     * @return
+     */
+    public float getScaleRatio() {
+        return mScaleRatio;
+    }
+
     /**
      * Filters according to type. Uses the pre set set tolerance
      * 
@@ -111,14 +183,22 @@ public class Approximator {
      */
     public List<Entry> filter(List<Entry> points, double tolerance) {
 
-        if (tolerance <= 0)
-            return points;
-
-        keep = new boolean[points.size()];
-
         switch (mType) {
             case DOUGLAS_PEUCKER:
-                return reduceWithDouglasPeuker(points, tolerance);
+
+                // if a shape has 2 or less points it cannot be reduced
+                if (tolerance <= 0 || points.size() < 3)
+                    return points;
+
+                return reduce(points, tolerance);
+            case LTTB:
+            case MIN_MAX:
+            case M4:
+
+                if (mTargetCount <= 0)
+                    return points;
+
+                return reduce(points, tolerance);
             case NONE:
                 return points;
             default:
@@ -127,80 +207,392 @@ public class Approximator {
     }
 
     /**
-     * uses the douglas peuker algorithm to reduce the given List of
-     * entries
+     * Reduces the given entries according to type, the kept entries are not
+     * copied. The entries are read through a reused view instead of a new
+     * DataSet, which would calculate its statistics first.
      * 
      * @param entries
-     * @param epsilon
+     * @param tolerance
+     * @return
+     */
+    private List<Entry> reduce(List<Entry> entries, double tolerance) {
+
+        if (mView == null)
+            mView = new EntryListView();
+
+        int capacity = getPositionCapacity(0, entries.size());
+
+        if (mPositions.length < capacity)
+            mPositions = new int[capacity];
+
+        int count;
+
+        mView.setEntries(entries);
+
+        try {
+            count = filter(mView, 0, entries.size(), mPositions, tolerance);
+        } finally {
+            // do not keep the entries reachable
+            mView.setEntries(Collections.<Entry> emptyList());
+        }
+
+        List<Entry> reducedEntries = new ArrayList<Entry>(count);
+
+        for (int i = 0; i < count; i++)
+            reducedEntries.add(entries.get(mPositions[i]));
+
+        return reducedEntries;
+    }
+
+    /**
+     * Read-only view of a list of entries as a DataSet, the entries can be
+     * exchanged without calculating any statistics. Only used for reading the
+     * x-indices and values while filtering.
+     */
+    private static class EntryListView extends DataSet<Entry> {
+
+        public EntryListView() {
+            super(new ArrayList<Entry>(0), "");
+        }
+
+        public void setEntries(List<Entry> entries) {
+            mYVals = entries;
+        }
+
+        @Override
+        public DataSet<Entry> copy() {
+            throw new UnsupportedOperationException("EntryListView can not be copied.");
+        }
+    }
+
+    /**
+     * Returns the size the positions array needs to have for filtering the
+     * values between the given positions with filter(DataSet, int, int,
+     * int[]).
+     * 
+     * @param from
+     * @param to
      * @return
      */
-    private List<Entry> reduceWithDouglasPeuker(List<Entry> entries, double epsilon) {
-        // if a shape has 2 or less points it cannot be reduced
-        if (epsilon <= 0 || entries.size() < 3) {
-            return entries;
+    public int getPositionCapacity(int from, int to) {
+
+        int count = Math.max(to - from, 0);
+
+        switch (mType) {
+            case LTTB:
+                return mTargetCount > 0 ? Math.min(count, Math.max(mTargetCount, 2)) : count;
+            case MIN_MAX:
+                return mTargetCount > 0 ? Math.min(count, mTargetCount * 2) : count;
+            case M4:
+                return mTargetCount > 0 ? Math.min(count, mTargetCount * 4) : count;
+            default:
+                return count;
+        }
+    }
+
+    /**
+     * Filters the values of the DataSet between from (inclusive) and to
+     * (exclusive) according to type and writes the positions of the kept
+     * values into the provided array, in ascending order. Returns the number
+     * of kept values. The decimating types (LTTB, MIN_MAX, M4) run in a
+     * single pass over the values, no type allocates once its buffers are
+     * large enough, the positions array can be reused between calls (see
+     * getPositionCapacity(...) for its size). DOUGLAS_PEUCKER uses the pre set
+     * tolerance. All positions are kept for type NONE or if no target count
+     * (tolerance) is set.
+     * 
+     * @param set
+     * @param from
+     * @param to
+     * @param positions
+     * @return
+     */
+    public int filter(DataSet<?> set, int from, int to, int[] positions) {
+        return filter(set, from, to, positions, mTolerance);
+    }
+
+    private int filter(DataSet<?> set, int from, int to, int[] positions, double tolerance) {
+
+        from = Math.max(from, 0);
+        to = Math.min(to, set.getEntryCount());
+
+        if (from >= to)
+            return 0;
+
+        if (mType == ApproximatorType.DOUGLAS_PEUCKER && tolerance > 0 && to - from >= 3)
+            return reduceWithDouglasPeucker(set, from, to, tolerance, positions);
+
+        if (mTargetCount > 0) {
+
+            switch (mType) {
+                case LTTB:
+                    return reduceWithLTTB(set, from, to, positions);
+                case MIN_MAX:
+                    return reduceWithBuckets(set, from, to, positions, false);
+                case M4:
+                    return reduceWithBuckets(set, from, to, positions, true);
+                default:
+                    break;
+            }
+        }
+
+        int count = 0;
+
+        for (int i = from; i < to; i++)
+            positions[count++] = i;
+
+        return count;
+    }
+
+    /**
+     * Largest-triangle-three-buckets: keeps the first and last value and one
+     * value per bucket in between, the one that forms the largest triangle
+     * with the value kept in the previous bucket and the average of the next
+     * bucket.
+     */
+    private int reduceWithLTTB(DataSet<?> set, int from, int to, int[] positions) {
+
+        int n = to - from;
+        int target = Math.max(mTargetCount, 2);
+
+        if (n <= target) {
+            for (int i = 0; i < n; i++)
+                positions[i] = from + i;
+            return n;
         }
 
+        int count = 0;
+        positions[count++] = from;
+
+        // the values between first and last are divided into target - 2 buckets
+        double bucketSize = (double) (n - 2) / (target - 2);
+        int prev = from;
+
+        for (int b = 0; b < target - 2; b++) {
+
+            int start = from + 1 + (int) (b * bucketSize);
+            int end = from + 1 + (int) ((b + 1) * bucketSize);
+
+            // average of the next bucket, the last value for the last bucket
+            int nextStart = end;
+            int nextEnd = Math.min(from + 1 + (int) ((b + 2) * bucketSize), to - 1);
+
+            float avgX = 0f;
+            float avgY = 0f;
+
+            if (nextStart >= nextEnd) {
+                avgX = set.getXIndexAt(to - 1);
+                avgY = set.getValAt(to - 1);
+            } else {
+                for (int i = nextStart; i < nextEnd; i++) {
+                    avgX += set.getXIndexAt(i);
+                    avgY += set.getValAt(i);
+                }
+
+                avgX /= nextEnd - nextStart;
+                avgY /= nextEnd - nextStart;
+            }
+
+            float prevX = set.getXIndexAt(prev);
+            float prevY = set.getValAt(prev);
+
+            float maxArea = -1f;
+            int kept = start;
+
+            for (int i = start; i < end; i++) {
+
+                // twice the area of the triangle, the factor does not matter
+                float area = Math.abs((prevX - avgX) * (set.getValAt(i) - prevY)
+                        - (prevX - set.getXIndexAt(i)) * (avgY - prevY));
+
+                if (area > maxArea) {
+                    maxArea = area;
+                    kept = i;
+                }
+            }
+
+            positions[count++] = kept;
+            prev = kept;
+        }
+
+        positions[count++] = to - 1;
+
+        return count;
+    }
+
+    /**
+     * Divides the x-range of the values into target count buckets of equal
+     * width and keeps the lowest and highest value of each bucket, with m4
+     * also the first and last one.
+     */
+    private int reduceWithBuckets(DataSet<?> set, int from, int to, int[] positions,
+            boolean m4) {
+
+        int firstX = set.getXIndexAt(from);
+        double width = (double) set.getXIndexAt(to - 1) - firstX + 1.0;
+
+        int count = 0;
+        int bucket = -1;
+        int first = from;
+        int min = from;
+        int max = from;
+
+        for (int i = from; i <= to; i++) {
+
+            int b = i < to ? (int) ((set.getXIndexAt(i) - firstX) * (double) mTargetCount / width)
+                    : -1;
+
+            if (b != bucket) {
+
+                // flush the previous bucket, in ascending order
+                if (bucket >= 0) {
+
+                    int low = Math.min(min, max);
+                    int high = Math.max(min, max);
+
+                    if (m4)
+                        count = addPosition(positions, count, first);
+
+                    count = addPosition(positions, count, low);
+                    count = addPosition(positions, count, high);
+
+                    if (m4)
+                        count = addPosition(positions, count, i - 1);
+                }
+
+                if (i == to)
+                    break;
+
+                bucket = b;
+                first = i;
+                min = i;
+                max = i;
+            } else {
+
+                float val = set.getValAt(i);
+
+                if (val < set.getValAt(min))
+                    min = i;
+                if (val > set.getValAt(max))
+                    max = i;
+            }
+        }
+
+        return count;
+    }
+
+    private static int addPosition(int[] positions, int count, int pos) {
+
+        if (count > 0 && positions[count - 1] == pos)
+            return count;
+
+        positions[count] = pos;
+        return count + 1;
+    }
+
+    /**
+     * uses the douglas peuker algorithm to reduce the values between from and
+     * to, writes the positions of the kept values
+     * 
+     * @param set
+     * @param from
+     * @param to
+     * @param epsilon
+     * @param positions
+     * @return
+     */
+    private int reduceWithDouglasPeucker(DataSet<?> set, int from, int to, double epsilon,
+            int[] positions) {
+
+        int n = to - from;
+
+        if (keep == null || keep.length < n)
+            keep = new boolean[n];
+        else
+            Arrays.fill(keep, 0, n, false);
+
         // first and last always stay
         keep[0] = true;
-        keep[entries.size() - 1] = true;
+        keep[n - 1] = true;
 
-        // first and last entry are entry point to recursion
-        algorithmDouglasPeucker(entries, epsilon, 0, entries.size() - 1);
+        algorithmDouglasPeucker(set, epsilon, from, to - 1);
 
-        // create a new array with series, only take the kept ones
-        List<Entry> reducedEntries = new ArrayList<Entry>();
-        for (int i = 0; i < entries.size(); i++) {
-            if (keep[i]) {
-                Entry curEntry = entries.get(i);
-                reducedEntries.add(new Entry(curEntry.getVal(), curEntry.getXIndex()));
-            }
+        int count = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (keep[i])
+                positions[count++] = from + i;
         }
-        return reducedEntries;
+
+        return count;
     }
 
     /**
-     * apply the Douglas-Peucker-Reduction to an List of Entry with a given
-     * epsilon (tolerance)
+     * apply the Douglas-Peucker-Reduction to the values between start and end
+     * (positions in the DataSet, both inclusive) with a given epsilon
+     * (tolerance). Works off an explicit stack of ranges instead of recursion,
+     * so that large DataSets can not overflow the call stack. The keep array
+     * starts at position start.
      * 
-     * @param entries
-     * @param epsilon as y-value
+     * @param set
+     * @param epsilon as angle
      * @param start
      * @param end
      */
-    private void algorithmDouglasPeucker(List<Entry> entries, double epsilon, int start,
-            int end) {
-        if (end <= start + 1) {
-            // recursion finished
-            return;
-        }
+    private void algorithmDouglasPeucker(DataSet<?> set, double epsilon, int start, int end) {
 
-        // find the greatest distance between start and endpoint
-        int maxDistIndex = 0;
-        double distMax = 0;
+        int offset = start;
+        int size = 0;
 
-        Entry firstEntry = entries.get(start);
-        Entry lastEntry = entries.get(end);
+        mStack[size++] = start;
+        mStack[size++] = end;
 
-        for (int i = start + 1; i < end; i++) {
-            double dist = calcAngleBetweenLines(firstEntry, lastEntry, firstEntry, entries.get(i));
+        while (size > 0) {
 
-            // keep the point with the greatest distance
-            if (dist > distMax) {
-                distMax = dist;
-                maxDistIndex = i;
-            }
-        }
+            end = mStack[--size];
+            start = mStack[--size];
+
+            if (end <= start + 1)
+                continue;
+
+            // find the greatest distance between start and endpoint
+            int maxDistIndex = 0;
+            double distMax = 0;
+
+            float startX = set.getXIndexAt(start);
+            float startY = set.getValAt(start);
+            double angle = calcAngleWithRatios(startX, startY, set.getXIndexAt(end),
+                    set.getValAt(end));
 
-        // Log.i("maxangle", "" + distMax);
+            for (int i = start + 1; i < end; i++) {
 
-        if (distMax > epsilon) {
-            // keep max dist point
-            keep[maxDistIndex] = true;
+                double dist = Math.abs(angle
+                        - calcAngleWithRatios(startX, startY, set.getXIndexAt(i), set.getValAt(i)));
 
-            // recursive call
-            algorithmDouglasPeucker(entries, epsilon, start, maxDistIndex);
-            algorithmDouglasPeucker(entries, epsilon, maxDistIndex, end);
-        } // else don't keep the point...
+                // keep the point with the greatest distance
+                if (dist > distMax) {
+                    distMax = dist;
+                    maxDistIndex = i;
+                }
+            }
+
+            if (distMax > epsilon) {
+                // keep max dist point
+                keep[maxDistIndex - offset] = true;
+
+                if (size + 4 > mStack.length) {
+                    int[] stack = new int[mStack.length * 2];
+                    System.arraycopy(mStack, 0, stack, 0, size);
+                    mStack = stack;
+                }
+
+                // process both halves
+                mStack[size++] = start;
+                mStack[size++] = maxDistIndex;
+                mStack[size++] = maxDistIndex;
+                mStack[size++] = end;
+            } // else don't keep the point...
+        }
     }
 
     /**
@@ -256,9 +648,13 @@ public class Approximator {
      * @return
      */
     public double calcAngleWithRatios(Entry p1, Entry p2) {
+        return calcAngleWithRatios(p1.getXIndex(), p1.getVal(), p2.getXIndex(), p2.getVal());
+    }
+
+    private double calcAngleWithRatios(float x1, float y1, float x2, float y2) {
 
-        float dx = p2.getXIndex() * mDeltaRatio - p1.getXIndex() * mDeltaRatio;
-        float dy = p2.getVal() * mScaleRatio - p1.getVal() * mScaleRatio;
+        float dx = x2 * mDeltaRatio - x1 * mDeltaRatio;
+        float dy = y2 * mScaleRatio - y1 * mScaleRatio;
         double angle = Math.atan2(dy, dx) * 180.0 / Math.PI;
 
         return angle;
@@ -0,0 +1,141 @@
+
+package com.github.mikephil.charting.data.filter;
+
+import com.github.mikephil.charting.data.DataSet;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Filters the visible values of DataSets with an Approximator and caches the
+ * result per DataSet. The result is reused as long as the DataSet does not
+ * change (see DataSet.getVersion()), the number of visible values per pixel
+ * stays within the same power of two and the visible range stays within the
+ * filtered window. Douglas-Peucker measures its angles with the ratios of the
+ * axes and the zoom (see Approximator.setRatios(...)), its results are only
+ * reused for the ratios they were filtered with. The window is the visible range extended to multiples of
+ * half the width of the chart, so panning does not filter again on every
+ * frame. Decimating types reduce the window to one to two points (LTTB) or
+ * buckets (MIN_MAX, M4) per pixel.
+ *
+ * @author Philipp Jahoda
+ */
+public class ApproximatorCache {
+
+    /** minimum number of visible values per pixel for filtering to happen */
+    private static final int MIN_VALUES_PER_PIXEL = 2;
+
+    private Approximator mApproximator;
+
+    private Map<DataSet<?>, FilteredPositions> mCache = new WeakHashMap<DataSet<?>, FilteredPositions>();
+
+    /**
+     * @param approximator the approximator used for filtering, its target
+     *            count is set by this cache for the decimating types
+     */
+    public ApproximatorCache(Approximator approximator) {
+        mApproximator = approximator;
+    }
+
+    /**
+     * Returns the Approximator used for filtering.
+     *
+     * @return
+     */
+    public Approximator getApproximator() {
+        return mApproximator;
+    }
+
+    /**
+     * Returns the filtered positions of the given DataSet for the visible
+     * values between from (inclusive) and to (exclusive), from the cache if
+     * possible. Returns null if there are not enough values per pixel for
+     * filtering to pay off, the values should be drawn directly then.
+     *
+     * @param set
+     * @param from first visible position
+     * @param to last visible position (exclusive)
+     * @param width the width of the content area in pixels
+     * @return
+     */
+    public FilteredPositions get(DataSet<?> set, int from, int to, float width) {
+        return get(set, from, to, width, 1f, 1f);
+    }
+
+    /**
+     * Returns the filtered positions of the given DataSet for the visible
+     * values between from (inclusive) and to (exclusive), from the cache if
+     * possible. The ratios are handed to the Approximator (see
+     * Approximator.setRatios(...)) so that Douglas-Peucker measures the
+     * angles as they appear on the screen. Returns null if there are not
+     * enough values per pixel for filtering to pay off.
+     *
+     * @param set
+     * @param from first visible position
+     * @param to last visible position (exclusive)
+     * @param width the width of the content area in pixels
+     * @param deltaRatio ratio of the y- to the x-values per pixel without zoom
+     * @param scaleRatio ratio of the y- to the x-zoom
+     * @return
+     */
+    public FilteredPositions get(DataSet<?> set, int from, int to, float width,
+            float deltaRatio, float scaleRatio) {
+
+        int count = set.getEntryCount();
+
+        from = Math.max(from, 0);
+        to = Math.min(to, count);
+
+        if (to - from < width * MIN_VALUES_PER_PIXEL || width < 2f)
+            return null;
+
+        // floor(log2(values per pixel))
+        int level = 31 - Integer.numberOfLeadingZeros((int) ((to - from) / width));
+
+        long chunk = (long) ((int) width / 2) << level;
+        int windowFrom = (int) (from / chunk * chunk);
+        int windowTo = (int) Math.min((to + chunk - 1) / chunk * chunk, count);
+
+        // only Douglas-Peucker depends on the ratios
+        if (mApproximator.getType() != Approximator.ApproximatorType.DOUGLAS_PEUCKER) {
+            deltaRatio = 1f;
+            scaleRatio = 1f;
+        }
+
+        FilteredPositions positions = mCache.get(set);
+
+        if (positions == null) {
+            positions = new FilteredPositions();
+            mCache.put(set, positions);
+        } else if (positions.mVersion == set.getVersion() && positions.mLevel == level
+                && positions.mFrom == windowFrom && positions.mTo == windowTo
+                && positions.mDeltaRatio == deltaRatio && positions.mScaleRatio == scaleRatio) {
+            return positions;
+        }
+
+        mApproximator.setRatios(deltaRatio, scaleRatio);
+        mApproximator.setTargetCount(Math.max((windowTo - windowFrom) >> level, 2));
+
+        int capacity = mApproximator.getPositionCapacity(windowFrom, windowTo);
+
+        if (positions.mPositions.length < capacity)
+            positions.mPositions = new int[capacity];
+
+        positions.mCount = mApproximator.filter(set, windowFrom, windowTo, positions.mPositions);
+        positions.mVersion = set.getVersion();
+        positions.mLevel = level;
+        positions.mDeltaRatio = deltaRatio;
+        positions.mScaleRatio = scaleRatio;
+        positions.mFrom = windowFrom;
+        positions.mTo = windowTo;
+
+        return positions;
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        mCache.clear();
+    }
+}
@@ -0,0 +1,71 @@
+
+package com.github.mikephil.charting.data.filter;
+
+/**
+ * The positions of the values of a DataSet that are kept after filtering a
+ * window of the DataSet with an Approximator, cached by the
+ * ApproximatorCache.
+ *
+ * @author Philipp Jahoda
+ */
+public class FilteredPositions {
+
+    /** the positions of the kept values, in ascending order */
+    protected int[] mPositions = new int[0];
+
+    /** the number of kept values */
+    protected int mCount = 0;
+
+    /** version of the DataSet the positions were calculated for */
+    protected int mVersion = -1;
+
+    /** power of two of the values per pixel the positions were calculated for */
+    protected int mLevel = -1;
+
+    /** the ratios Douglas-Peucker filtered with, see Approximator.setRatios(...) */
+    protected float mDeltaRatio = 1f;
+    protected float mScaleRatio = 1f;
+
+    /** first position of the filtered window */
+    protected int mFrom = 0;
+
+    /** last position (exclusive) of the filtered window */
+    protected int mTo = 0;
+
+    /**
+     * Returns the positions of the kept values in the DataSet, in ascending
+     * order. Only the first getCount() positions are valid.
+     *
+     * @return
+     */
+    public int[] getPositions() {
+        return mPositions;
+    }
+
+    /**
+     * Returns the number of kept values.
+     *
+     * @return
+     */
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * Returns the first position of the window that was filtered.
+     *
+     * @return
+     */
+    public int getFrom() {
+        return mFrom;
+    }
+
+    /**
+     * Returns the last position (exclusive) of the window that was filtered.
+     *
+     * @return
+     */
+    public int getTo() {
+        return mTo;
+    }
+}
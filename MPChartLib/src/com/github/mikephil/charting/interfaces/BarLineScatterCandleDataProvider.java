@@ -1,6 +1,8 @@
 package com.github.mikephil.charting.interfaces;
 
 import com.github.mikephil.charting.components.YAxis.AxisDependency;
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.filter.FilteredPositions;
 import com.github.mikephil.charting.utils.Transformer;
 
 public interface BarLineScatterCandleDataProvider extends ChartInterface {
@@ -8,4 +10,16 @@ public interface BarLineScatterCandleDataProvider extends ChartInterface {
     public Transformer getTransformer(AxisDependency axis);
     public int getMaxVisibleCount();
     public boolean isInverted(AxisDependency axis);
+
+    /**
+     * Returns the positions of the values of the DataSet between from and to
+     * (exclusive) that are left after filtering, null if filtering is
+     * disabled or not needed at the current zoom level.
+     * 
+     * @param set
+     * @param from
+     * @param to
+     * @return
+     */
+    public FilteredPositions getFilteredPositions(DataSet<?> set, int from, int to);
 }
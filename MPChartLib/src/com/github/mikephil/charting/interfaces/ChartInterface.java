@@ -1,9 +1,11 @@
 
 package com.github.mikephil.charting.interfaces;
 
+import android.graphics.Bitmap;
 import android.graphics.PointF;
 import android.graphics.RectF;
 
+import com.github.mikephil.charting.utils.BitmapPool;
 import com.github.mikephil.charting.utils.ValueFormatter;
 
 /**
@@ -33,4 +35,8 @@ public interface ChartInterface {
     public RectF getContentRect();
     
     public ValueFormatter getDefaultValueFormatter();
+
+    public Bitmap.Config getBitmapConfig();
+
+    public BitmapPool getBitmapPool();
 }
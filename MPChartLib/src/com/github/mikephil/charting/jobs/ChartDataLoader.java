@@ -0,0 +1,248 @@
+
+package com.github.mikephil.charting.jobs;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.github.mikephil.charting.charts.Chart;
+import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.listener.OnChartLoadListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Loads the data of a chart on a background thread. Subclasses implement
+ * load(), which should do all the expensive work (parsing, creating the
+ * DataSets, calculating their statistics, decimating the values) and
+ * periodically check isCancelled(). The finished ChartData is set for the
+ * chart on the UI thread. Start a loader via Chart.loadData(...), the chart
+ * cancels it when it is detached from its window. A loader can only be
+ * started once.
+ *
+ * @author Philipp Jahoda
+ */
+public abstract class ChartDataLoader<T extends ChartData<? extends DataSet<? extends Entry>>> {
+
+    private static final String LOG_TAG = "MPChart-Loader";
+
+    /** executor used if no other one is set, one low priority thread */
+    private static ExecutorService sDefaultExecutor;
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+    private ExecutorService mExecutor;
+
+    private OnChartLoadListener mListener;
+
+    private Chart<T> mChart;
+
+    private Future<?> mFuture;
+
+    private volatile boolean mCancelled = false;
+
+    /** if true, partial data is shown while loading */
+    private boolean mPartialDataEnabled = false;
+
+    /**
+     * Loads the data, called on a background thread. Return null if the
+     * loader has been cancelled.
+     *
+     * @return
+     * @throws Exception
+     */
+    protected abstract T load() throws Exception;
+
+    /**
+     * Sets the executor the loader runs on. Default: a shared background
+     * thread.
+     *
+     * @param executor
+     */
+    public void setExecutor(ExecutorService executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * Sets a listener that is informed about the progress of the loader.
+     *
+     * @param l
+     */
+    public void setOnChartLoadListener(OnChartLoadListener l) {
+        mListener = l;
+    }
+
+    /**
+     * If enabled, the data that has been loaded so far is shown while the
+     * loader is still running (see publishPartialData(...)). Default:
+     * disabled
+     *
+     * @param enabled
+     */
+    public void setPartialDataEnabled(boolean enabled) {
+        mPartialDataEnabled = enabled;
+    }
+
+    /**
+     * Returns true if partial data is shown while loading.
+     *
+     * @return
+     */
+    public boolean isPartialDataEnabled() {
+        return mPartialDataEnabled;
+    }
+
+    /**
+     * Starts loading the data for the given chart, called by
+     * Chart.loadData(...).
+     *
+     * @param chart
+     */
+    public void start(Chart<T> chart) {
+
+        if (mChart != null)
+            throw new IllegalStateException("A ChartDataLoader can only be started once.");
+
+        mChart = chart;
+
+        ExecutorService executor = mExecutor != null ? mExecutor : getDefaultExecutor();
+
+        mFuture = executor.submit(new Runnable() {
+
+            @Override
+            public void run() {
+                runInBackground();
+            }
+        });
+    }
+
+    /**
+     * Cancels the loader. Data that is loaded afterwards is not set for the
+     * chart anymore.
+     */
+    public void cancel() {
+
+        mCancelled = true;
+
+        if (mFuture != null)
+            mFuture.cancel(true);
+    }
+
+    /**
+     * Returns true if the loader has been cancelled, load() should stop as
+     * soon as possible then.
+     *
+     * @return
+     */
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
+    private void runInBackground() {
+
+        if (mCancelled)
+            return;
+
+        try {
+            final T data = load();
+
+            mHandler.post(new Runnable() {
+
+                @Override
+                public void run() {
+                    deliver(data);
+                }
+            });
+        } catch (final Exception e) {
+
+            if (mCancelled)
+                return;
+
+            Log.e(LOG_TAG, "Loading the chart data failed: " + e.toString());
+
+            mHandler.post(new Runnable() {
+
+                @Override
+                public void run() {
+                    if (!mCancelled && mListener != null)
+                        mListener.onLoadFailed(e);
+                }
+            });
+        }
+    }
+
+    private void deliver(T data) {
+
+        if (mCancelled || data == null)
+            return;
+
+        mChart.setData(data);
+        mChart.invalidate();
+
+        if (mListener != null) {
+            mListener.onLoadProgress(1f);
+            mListener.onLoadFinished(data);
+        }
+    }
+
+    /**
+     * Reports the progress of the loader to the listener, can be called from
+     * load().
+     *
+     * @param progress between 0 and 1
+     */
+    protected void publishProgress(final float progress) {
+
+        if (mCancelled || mListener == null)
+            return;
+
+        mHandler.post(new Runnable() {
+
+            @Override
+            public void run() {
+                if (!mCancelled && mListener != null)
+                    mListener.onLoadProgress(progress);
+            }
+        });
+    }
+
+    /**
+     * Shows the data that has been loaded so far, if partial data is enabled.
+     * Can be called from load(), a snapshot of the data is handed to the
+     * chart (see ChartData.snapshot()), so load() may continue to modify it.
+     *
+     * @param data
+     */
+    @SuppressWarnings("unchecked")
+    protected void publishPartialData(T data) {
+
+        if (mCancelled || !mPartialDataEnabled || data == null)
+            return;
+
+        mChart.setDataSnapshot((T) data.snapshot());
+    }
+
+    private static synchronized ExecutorService getDefaultExecutor() {
+
+        if (sDefaultExecutor == null) {
+            sDefaultExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+                @Override
+                public Thread newThread(Runnable r) {
+
+                    Thread thread = new Thread(r, "MPChart-Loader");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+        }
+
+        return sDefaultExecutor;
+    }
+}
@@ -0,0 +1,139 @@
+
+package com.github.mikephil.charting.jobs;
+
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.PrimitiveLineDataSet;
+import com.github.mikephil.charting.utils.IndexXValueProvider;
+import com.github.mikephil.charting.utils.TextEntryParser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * ChartDataLoader that loads a textfile in the format of FileUtils ("val#xIndex"
+ * per line) into a LineData object with a single PrimitiveLineDataSet. The
+ * x-values are the x-indices (see IndexXValueProvider). Reports the progress
+ * while reading the file and, if partial data is enabled, shows the values
+ * read so far every few percent of the file.
+ *
+ * @author Philipp Jahoda
+ */
+public class LineDataFileLoader extends ChartDataLoader<LineData> {
+
+    /** the number of progress updates while reading the file */
+    private static final int PROGRESS_STEPS = 100;
+
+    /** the number of partial data updates while reading the file */
+    private static final int PARTIAL_DATA_STEPS = 10;
+
+    private File mFile;
+
+    private String mLabel;
+
+    /**
+     * @param file the textfile to load
+     * @param label the label of the DataSet
+     */
+    public LineDataFileLoader(File file, String label) {
+        mFile = file;
+        mLabel = label;
+    }
+
+    @Override
+    protected LineData load() throws IOException {
+
+        PrimitiveLineDataSet set = new PrimitiveLineDataSet(mLabel);
+        IndexXValueProvider xVals = new IndexXValueProvider(0);
+        LineData data = new LineData(xVals, set);
+
+        FileInputStream in = new FileInputStream(mFile);
+
+        try {
+            long size = in.getChannel().size();
+
+            new TextEntryParser().parse(new ProgressInputStream(in, size, data, set, xVals), set);
+        } finally {
+            in.close();
+        }
+
+        if (isCancelled())
+            return null;
+
+        updateXVals(data, set, xVals);
+
+        return data;
+    }
+
+    /**
+     * Makes the x-values cover all values of the DataSet and recalculates the
+     * statistics of the data object.
+     */
+    private static void updateXVals(LineData data, PrimitiveLineDataSet set,
+            IndexXValueProvider xVals) {
+
+        int count = set.getEntryCount();
+
+        xVals.setXValCount(count == 0 ? 0 : set.getXIndexAt(count - 1) + 1);
+        data.notifyDataChanged();
+    }
+
+    /**
+     * Counts the bytes read from the file to report the progress, publishes
+     * partial data and stops reading when the loader is cancelled.
+     */
+    private class ProgressInputStream extends FilterInputStream {
+
+        private long mSize;
+        private long mRead = 0;
+        private long mNextProgress;
+        private long mNextPartialData;
+
+        private LineData mData;
+        private PrimitiveLineDataSet mSet;
+        private IndexXValueProvider mXVals;
+
+        public ProgressInputStream(InputStream in, long size, LineData data,
+                PrimitiveLineDataSet set, IndexXValueProvider xVals) {
+            super(in);
+
+            mSize = Math.max(size, 1);
+            mNextProgress = mSize / PROGRESS_STEPS;
+            mNextPartialData = mSize / PARTIAL_DATA_STEPS;
+            mData = data;
+            mSet = set;
+            mXVals = xVals;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+
+            if (isCancelled())
+                throw new InterruptedIOException("Loading was cancelled.");
+
+            int read = super.read(b, off, len);
+
+            if (read <= 0)
+                return read;
+
+            mRead += read;
+
+            if (mRead >= mNextProgress) {
+                publishProgress(Math.min((float) mRead / mSize, 1f));
+                mNextProgress = mRead + mSize / PROGRESS_STEPS;
+            }
+
+            // the DataSet is complete up to the last flushed batch here
+            if (isPartialDataEnabled() && mRead >= mNextPartialData) {
+                updateXVals(mData, mSet, mXVals);
+                publishPartialData(mData);
+                mNextPartialData = mRead + mSize / PARTIAL_DATA_STEPS;
+            }
+
+            return read;
+        }
+    }
+}
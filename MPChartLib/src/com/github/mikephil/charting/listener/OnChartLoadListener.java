@@ -0,0 +1,35 @@
+
+package com.github.mikephil.charting.listener;
+
+import com.github.mikephil.charting.data.ChartData;
+
+/**
+ * Listener for the progress of a ChartDataLoader. All callbacks are invoked
+ * on the UI thread.
+ *
+ * @author Philipp Jahoda
+ */
+public interface OnChartLoadListener {
+
+    /**
+     * Called when the loader reports progress.
+     *
+     * @param progress between 0 and 1
+     */
+    public void onLoadProgress(float progress);
+
+    /**
+     * Called when the data has been loaded and set for the chart.
+     *
+     * @param data
+     */
+    public void onLoadFinished(ChartData<?> data);
+
+    /**
+     * Called if loading the data failed. Not called if the loader was
+     * cancelled.
+     *
+     * @param e
+     */
+    public void onLoadFailed(Exception e);
+}
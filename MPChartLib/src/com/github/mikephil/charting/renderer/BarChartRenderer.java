@@ -32,6 +32,9 @@ public class BarChartRenderer extends DataRenderer {
 
     protected Paint mShadowPaint;
 
+    /** buffer for the positions of the values of a stack, reused */
+    protected float[] mStackPositions = new float[0];
+
     public BarChartRenderer(BarDataProvider chart, ChartAnimator animator,
             ViewPortHandler viewPortHandler) {
         super(animator, viewPortHandler);
@@ -95,39 +98,35 @@ public class BarChartRenderer extends DataRenderer {
         buffer.setDataSet(index);
         buffer.setInverted(mChart.isInverted(dataSet.getAxisDependency()));
 
-        buffer.feed(entries);
+        // only the bars within the visible range
+        buffer.limitToRange(dataSet, mMinX, mMaxX);
 
-        trans.pointValuesToPixel(buffer.buffer);
+        // zoomed out bars with a single color are drawn from the LodPyramid
+        int lodLevel = -1;
 
-        // if multiple colors
-        if (dataSet.getColors().size() > 1) {
+        if (!dataSet.isStacked() && dataSet.hasSingleColor() && dataSet.isLodEnabled())
+            lodLevel = getLodLevel(dataSet, buffer.getLimitTo() - buffer.getLimitFrom());
 
-            for (int j = 0; j < buffer.size(); j += 4) {
+        if (lodLevel >= 0) {
 
-                if (!mViewPortHandler.isInBoundsLeft(buffer.buffer[j + 2]))
-                    continue;
+            int from = buffer.getLimitFrom();
+            int to = (int) Math.ceil((buffer.getLimitTo() - from) * phaseX + from);
 
-                if (!mViewPortHandler.isInBoundsRight(buffer.buffer[j]))
-                    break;
+            buffer.feed(dataSet, dataSet.getLodPyramid(), lodLevel, from, to);
+        } else {
+            buffer.feed(entries);
+        }
 
-                if (mChart.isDrawBarShadowEnabled()) {
-                    c.drawRect(buffer.buffer[j], mViewPortHandler.contentTop(),
-                            buffer.buffer[j + 2],
-                            mViewPortHandler.contentBottom(), mShadowPaint);
-                }
+        int count = buffer.getFeedSize();
 
-                // Set the color for the currently drawn value. If the index
-                // is
-                // out of bounds, reuse colors.
-                mRenderPaint.setColor(dataSet.getColor(j / 4));
-                c.drawRect(buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
-                        buffer.buffer[j + 3], mRenderPaint);
-            }
-        } else {
+        trans.pointValuesToPixel(buffer.buffer, count);
 
-            mRenderPaint.setColor(dataSet.getColor());
+        // the shadows of the visible bars, drawn at once below the bars
+        if (mChart.isDrawBarShadowEnabled()) {
 
-            for (int j = 0; j < buffer.size(); j += 4) {
+            mBatcher.begin(c, mShadowPaint);
+
+            for (int j = 0; j < count; j += 4) {
 
                 if (!mViewPortHandler.isInBoundsLeft(buffer.buffer[j + 2]))
                     continue;
@@ -135,16 +134,41 @@ public class BarChartRenderer extends DataRenderer {
                 if (!mViewPortHandler.isInBoundsRight(buffer.buffer[j]))
                     break;
 
-                if (mChart.isDrawBarShadowEnabled()) {
-                    c.drawRect(buffer.buffer[j], mViewPortHandler.contentTop(),
-                            buffer.buffer[j + 2],
-                            mViewPortHandler.contentBottom(), mShadowPaint);
-                }
-
-                c.drawRect(buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
-                        buffer.buffer[j + 3], mRenderPaint);
+                mBatcher.addRect(mShadowPaint.getColor(), Paint.Style.FILL, buffer.buffer[j],
+                        mViewPortHandler.contentTop(), buffer.buffer[j + 2],
+                        mViewPortHandler.contentBottom());
             }
+
+            mBatcher.end();
+        }
+
+        boolean singleColor = dataSet.hasSingleColor();
+        int[] colors = dataSet.getColorArray();
+
+        // the index of the first bar within the colors
+        int colorOffset = dataSet.getBarCountBefore(buffer.getLimitFrom());
+
+        // the bars of a color are drawn at once
+        mBatcher.begin(c, mRenderPaint);
+
+        for (int j = 0; j < count; j += 4) {
+
+            if (!mViewPortHandler.isInBoundsLeft(buffer.buffer[j + 2]))
+                continue;
+
+            if (!mViewPortHandler.isInBoundsRight(buffer.buffer[j]))
+                break;
+
+            // Set the color for the currently drawn value. If the index is
+            // out of bounds, reuse colors.
+            int color = singleColor ? colors[0]
+                    : colors[(j / 4 + colorOffset) % colors.length];
+
+            mBatcher.addRect(color, Paint.Style.FILL, buffer.buffer[j], buffer.buffer[j + 1],
+                    buffer.buffer[j + 2], buffer.buffer[j + 3]);
         }
+
+        mBatcher.end();
     }
 
     /**
@@ -229,7 +253,7 @@ public class BarChartRenderer extends DataRenderer {
 
                         float val = entries.get(j / 2).getVal();
 
-                        drawValue(c, formatter.getFormattedValue(val), valuePoints[j],
+                        drawValue(c, formatValue(formatter, val), valuePoints[j],
                                 valuePoints[j + 1] + (val >= 0 ? posOffset : negOffset));
                     }
 
@@ -254,21 +278,12 @@ public class BarChartRenderer extends DataRenderer {
                                     || !mViewPortHandler.isInBoundsLeft(valuePoints[j]))
                                 continue;
 
-                            drawValue(c, formatter.getFormattedValue(e.getVal()), valuePoints[j],
+                            drawValue(c, formatValue(formatter, e.getVal()), valuePoints[j],
                                     valuePoints[j + 1] + (e.getVal() >= 0 ? posOffset : negOffset));
 
                         } else {
 
-                            float[] transformed = new float[vals.length * 2];
-                            int cnt = 0;
-                            float add = e.getVal();
-
-                            for (int k = 0; k < transformed.length; k += 2) {
-
-                                add -= vals[cnt];
-                                transformed[k + 1] = (vals[cnt] + add) * mAnimator.getPhaseY();
-                                cnt++;
-                            }
+                            float[] transformed = getStackPositions(e, 1);
 
                             trans.pointValuesToPixel(transformed);
 
@@ -285,7 +300,7 @@ public class BarChartRenderer extends DataRenderer {
                                         || !mViewPortHandler.isInBoundsLeft(x))
                                     continue;
 
-                                drawValue(c, formatter.getFormattedValue(vals[k / 2]), x, y);
+                                drawValue(c, formatValue(formatter, vals[k / 2]), x, y);
                             }
                         }
                     }
@@ -294,6 +309,33 @@ public class BarChartRenderer extends DataRenderer {
         }
     }
 
+    /**
+     * Writes the ends of the bars of the given stacked entry (the precalculated
+     * stack sums) multiplied with the y-phase into the given coordinate of the
+     * reused stack position buffer and returns it, the buffer has exactly two
+     * floats per stack value.
+     * 
+     * @param e
+     * @param offset 0 for x, 1 for y
+     * @return
+     */
+    protected float[] getStackPositions(BarEntry e, int offset) {
+
+        int size = e.getVals().length * 2;
+
+        if (mStackPositions.length != size)
+            mStackPositions = new float[size];
+
+        float phaseY = mAnimator.getPhaseY();
+
+        for (int k = 0; k < size; k += 2) {
+            mStackPositions[k + offset] = e.getStackSum(k / 2) * phaseY;
+            mStackPositions[k + 1 - offset] = 0f;
+        }
+
+        return mStackPositions;
+    }
+
     /**
      * Draws a value at the specified x and y position.
      * 
@@ -308,6 +350,20 @@ public class BarChartRenderer extends DataRenderer {
                 mValuePaint);
     }
 
+    /**
+     * Draws the value last formatted by formatValue(...) at the specified x
+     * and y position.
+     * 
+     * @param length the number of chars of the formatted value
+     * @param xPos
+     * @param yPos
+     */
+    protected void drawValue(Canvas c, int length, float xPos, float yPos) {
+
+        c.drawText(mValueChars, 0, length, xPos, yPos,
+                mValuePaint);
+    }
+
     @Override
     public void drawExtras(Canvas c) {
     }
@@ -351,8 +407,7 @@ public class BarChartRenderer extends DataRenderer {
                 // calculate the correct x-position
                 float x = index * setCount + dataSetIndex + groupspace / 2f
                         + groupspace * index;
-                float y = isStack ? e.getVals()[h.getStackIndex()]
-                        + e.getBelowSum(h.getStackIndex()) : e.getVal();
+                float y = isStack ? e.getStackSum(h.getStackIndex()) : e.getVal();
 
                 // this is where the bar starts
                 float from = isStack ? e.getBelowSum(h.getStackIndex()) : 0f;
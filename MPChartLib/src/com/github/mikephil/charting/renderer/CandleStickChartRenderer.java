@@ -10,12 +10,12 @@ import com.github.mikephil.charting.buffer.CandleShadowBuffer;
 import com.github.mikephil.charting.data.CandleData;
 import com.github.mikephil.charting.data.CandleDataSet;
 import com.github.mikephil.charting.data.CandleEntry;
-import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.interfaces.CandleDataProvider;
 import com.github.mikephil.charting.utils.ColorTemplate;
 import com.github.mikephil.charting.utils.Highlight;
 import com.github.mikephil.charting.utils.Transformer;
 import com.github.mikephil.charting.utils.Utils;
+import com.github.mikephil.charting.utils.ValueFormatter;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 
 import java.util.List;
@@ -70,20 +70,25 @@ public class CandleStickChartRenderer extends DataRenderer {
 
         List<CandleEntry> entries = dataSet.getYVals();
 
-        Entry entryFrom = dataSet.getEntryForXIndex(mMinX);
-        Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
-
-        int minx = dataSet.getEntryPosition(entryFrom);
-        int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+        int minx = dataSet.getEntryPositionForXIndex(mMinX);
+        int maxx = Math.min(dataSet.getEntryPositionForXIndex(mMaxX) + 1, entries.size());
 
         int range = (maxx - minx) * 4;
         int to = (int)Math.ceil((maxx - minx) * phaseX + minx);
 
+        // zoomed out, one candle is drawn per bucket of the LodPyramid
+        int lodLevel = getLodLevel(dataSet, maxx - minx);
+
         CandleShadowBuffer shadowBuffer = mShadowBuffers[dataSetIndex];
         shadowBuffer.setPhases(phaseX, phaseY);
-        shadowBuffer.limitFrom(minx);
-        shadowBuffer.limitTo(maxx);
-        shadowBuffer.feed(entries);
+
+        if (lodLevel >= 0) {
+            range = shadowBuffer.feed(entries, dataSet.getLodPyramid(), lodLevel, minx, to);
+        } else {
+            shadowBuffer.limitFrom(minx);
+            shadowBuffer.limitTo(maxx);
+            shadowBuffer.feed(entries);
+        }
 
         trans.pointValuesToPixel(shadowBuffer.buffer);
 
@@ -104,19 +109,34 @@ public class CandleStickChartRenderer extends DataRenderer {
         CandleBodyBuffer bodyBuffer = mBodyBuffers[dataSetIndex];
         bodyBuffer.setBodySpace(dataSet.getBodySpace());
         bodyBuffer.setPhases(phaseX, phaseY);
-        bodyBuffer.limitFrom(minx);
-        bodyBuffer.limitTo(maxx);
-        bodyBuffer.feed(entries);
+
+        if (lodLevel >= 0) {
+            bodyBuffer.feed(entries, lodLevel, minx, to);
+        } else {
+            bodyBuffer.limitFrom(minx);
+            bodyBuffer.limitTo(maxx);
+            bodyBuffer.feed(entries);
+        }
 
         trans.pointValuesToPixel(bodyBuffer.buffer);
 
-        // draw the body
+        int[] colors = dataSet.getColorArray();
+
+        mBatcher.begin(c, mRenderPaint);
+
+        // draw the body, the bodies of a color are drawn at once
         for (int j = 0; j < range; j += 4) {
 
+            // position of the entry, the first of the bucket for the pyramid
+            int pos = j / 4 + minx;
+
+            if (lodLevel >= 0)
+                pos = Math.max(((minx >> (lodLevel + 1)) + j / 4) << (lodLevel + 1), minx);
+
             // get the entry
-            CandleEntry e = entries.get(j / 4 + minx);
+            CandleEntry e = entries.get(pos);
 
-            if (!fitsBounds(e.getXIndex(), mMinX, to))
+            if (lodLevel < 0 && !fitsBounds(e.getXIndex(), mMinX, to))
                 continue;
 
             float leftBody = bodyBuffer.buffer[j];
@@ -127,29 +147,27 @@ public class CandleStickChartRenderer extends DataRenderer {
             // draw body differently for increasing and decreasing entry
             if (open > close) { // decreasing
 
-                if (dataSet.getDecreasingColor() == ColorTemplate.COLOR_NONE) {
-                    mRenderPaint.setColor(dataSet.getColor(j / 4 + minx));
-                } else {
-                    mRenderPaint.setColor(dataSet.getDecreasingColor());
-                }
+                int color = dataSet.getDecreasingColor() == ColorTemplate.COLOR_NONE
+                        ? colors[pos % colors.length]
+                        : dataSet.getDecreasingColor();
 
-                mRenderPaint.setStyle(dataSet.getDecreasingPaintStyle());
                 // draw the body
-                c.drawRect(leftBody, close, rightBody, open, mRenderPaint);
+                mBatcher.addRect(color, dataSet.getDecreasingPaintStyle(),
+                        leftBody, close, rightBody, open);
 
             } else {
 
-                if (dataSet.getIncreasingColor() == ColorTemplate.COLOR_NONE) {
-                    mRenderPaint.setColor(dataSet.getColor(j / 4 + minx));
-                } else {
-                    mRenderPaint.setColor(dataSet.getIncreasingColor());
-                }
+                int color = dataSet.getIncreasingColor() == ColorTemplate.COLOR_NONE
+                        ? colors[pos % colors.length]
+                        : dataSet.getIncreasingColor();
 
-                mRenderPaint.setStyle(dataSet.getIncreasingPaintStyle());
                 // draw the body
-                c.drawRect(leftBody, open, rightBody, close, mRenderPaint);
+                mBatcher.addRect(color, dataSet.getIncreasingPaintStyle(),
+                        leftBody, open, rightBody, close);
             }
         }
+
+        mBatcher.end();
     }
 
     // /**
@@ -210,15 +228,14 @@ public class CandleStickChartRenderer extends DataRenderer {
                 // apply the text-styling defined by the DataSet
                 applyValueTextStyle(dataSet);
 
+                ValueFormatter formatter = dataSet.getValueFormatter();
+
                 Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
 
                 List<CandleEntry> entries = dataSet.getYVals();
 
-                Entry entryFrom = dataSet.getEntryForXIndex(mMinX);
-                Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
-
-                int minx = dataSet.getEntryPosition(entryFrom);
-                int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+                int minx = dataSet.getEntryPositionForXIndex(mMinX);
+                int maxx = Math.min(dataSet.getEntryPositionForXIndex(mMaxX) + 1, entries.size());
 
                 float[] positions = trans.generateTransformedValuesCandle(
                         entries, mAnimator.getPhaseX(), mAnimator.getPhaseY(), minx, maxx);
@@ -238,8 +255,7 @@ public class CandleStickChartRenderer extends DataRenderer {
 
                     float val = entries.get(j / 2 + minx).getHigh();
 
-                    c.drawText(dataSet.getValueFormatter().getFormattedValue(val), x, y - yOffset,
-                            mValuePaint);
+                    drawValueText(c, formatter, val, x, y - yOffset);
                 }
             }
         }
@@ -73,6 +73,13 @@ public class CombinedChartRenderer extends DataRenderer {
             renderer.initBuffers();
     }
 
+    @Override
+    public void releaseBitmaps() {
+
+        for (DataRenderer renderer : mRenderers)
+            renderer.releaseBitmaps();
+    }
+
     @Override
     public void drawData(Canvas c) {
 
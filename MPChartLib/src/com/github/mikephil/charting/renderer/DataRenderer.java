@@ -1,6 +1,7 @@
 
 package com.github.mikephil.charting.renderer;
 
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
@@ -9,8 +10,12 @@ import android.graphics.Paint.Style;
 
 import com.github.mikephil.charting.animation.ChartAnimator;
 import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.LodPyramid;
+import com.github.mikephil.charting.utils.BitmapPool;
+import com.github.mikephil.charting.utils.CharValueFormatter;
 import com.github.mikephil.charting.utils.Highlight;
 import com.github.mikephil.charting.utils.Utils;
+import com.github.mikephil.charting.utils.ValueFormatter;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 
 public abstract class DataRenderer extends Renderer {
@@ -31,6 +36,12 @@ public abstract class DataRenderer extends Renderer {
      */
     protected Paint mValuePaint;
 
+    /** groups primitives by color to draw them with few draw calls */
+    protected DrawBatcher mBatcher = new DrawBatcher();
+
+    /** the chars of the last value formatted by formatValue(...), reused */
+    protected char[] mValueChars = new char[32];
+
     public DataRenderer(ChartAnimator animator, ViewPortHandler viewPortHandler) {
         super(viewPortHandler);
         this.mAnimator = animator;
@@ -51,6 +62,26 @@ public abstract class DataRenderer extends Renderer {
         mHighlightPaint.setColor(Color.rgb(255, 187, 115));
     }
 
+    /**
+     * Returns the level of the LodPyramid of the given DataSet the visible
+     * values are drawn from, the coarsest level that still has at least one
+     * bucket per pixel. Returns -1 if the values should be drawn directly
+     * (pyramid disabled or less than two values per pixel).
+     * 
+     * @param dataSet
+     * @param visibleCount the number of values that are currently visible
+     * @return
+     */
+    protected int getLodLevel(DataSet<?> dataSet, int visibleCount) {
+
+        LodPyramid lod = dataSet.getLodPyramid();
+
+        if (lod == null || mViewPortHandler.contentWidth() <= 0f)
+            return -1;
+
+        return lod.getLevelForDensity(visibleCount / mViewPortHandler.contentWidth());
+    }
+
     /**
      * Returns the Paint object this renderer uses for drawing the values
      * (value-text).
@@ -93,6 +124,92 @@ public abstract class DataRenderer extends Renderer {
         mValuePaint.setTextSize(set.getValueTextSize());
     }
 
+    /**
+     * Formats the given value into mValueChars and returns the number of
+     * chars. Does not allocate memory if the formatter is a
+     * CharValueFormatter.
+     * 
+     * @param formatter
+     * @param value
+     * @return
+     */
+    protected int formatValue(ValueFormatter formatter, float value) {
+
+        if (formatter instanceof CharValueFormatter) {
+
+            CharValueFormatter charFormatter = (CharValueFormatter) formatter;
+            int length = charFormatter.formatValue(value, mValueChars);
+
+            if (length > mValueChars.length) {
+                mValueChars = new char[length];
+                length = charFormatter.formatValue(value, mValueChars);
+            }
+
+            return length;
+        }
+
+        String text = formatter.getFormattedValue(value);
+        int length = text.length();
+
+        if (length > mValueChars.length)
+            mValueChars = new char[length];
+
+        text.getChars(0, length, mValueChars, 0);
+        return length;
+    }
+
+    /**
+     * Draws the given value, formatted with the given formatter, at the
+     * specified position with the value-paint.
+     * 
+     * @param c
+     * @param formatter
+     * @param value
+     * @param x
+     * @param y
+     */
+    protected void drawValueText(Canvas c, ValueFormatter formatter, float value, float x,
+            float y) {
+
+        int length = formatValue(formatter, value);
+        c.drawText(mValueChars, 0, length, x, y, mValuePaint);
+    }
+
+    /**
+     * Returns a bitmap of the size of the chart in the given config for
+     * drawing offscreen: the given one if it still matches, one from the
+     * pool otherwise, the given one is released into the pool then. Null if
+     * the chart has no size yet.
+     * 
+     * @param current the bitmap used so far, may be null
+     * @param pool
+     * @param config
+     * @return
+     */
+    protected Bitmap obtainChartBitmap(Bitmap current, BitmapPool pool, Bitmap.Config config) {
+
+        int width = (int) mViewPortHandler.getChartWidth();
+        int height = (int) mViewPortHandler.getChartHeight();
+
+        if (current != null && current.getWidth() == width && current.getHeight() == height
+                && current.getConfig() == config)
+            return current;
+
+        pool.release(current);
+
+        if (width <= 0 || height <= 0)
+            return null;
+
+        return pool.obtain(width, height, config);
+    }
+
+    /**
+     * Returns the offscreen bitmaps of the renderer to the pool of the chart,
+     * they are obtained again when needed.
+     */
+    public void releaseBitmaps() {
+    }
+
     public abstract void initBuffers();
 
     public abstract void drawData(Canvas c);
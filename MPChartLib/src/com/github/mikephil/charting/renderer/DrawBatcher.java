@@ -0,0 +1,220 @@
+
+package com.github.mikephil.charting.renderer;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Paint.Style;
+import android.graphics.Path;
+
+/**
+ * Collects lines and shapes between begin(...) and end() and draws them
+ * grouped by color and paint-style: the lines of a group with a single
+ * drawLines(...) call, the shapes of a group as a single Path. The number of
+ * draw calls then depends on the number of distinct colors instead of the
+ * number of values. As the groups are drawn one after another, primitives of
+ * different colors no longer overlap in the order they were added, and
+ * overlapping shapes of the same group are blended only once. The buffers
+ * are reused, drawing does not allocate memory once they have grown.
+ * 
+ * @author Philipp Jahoda
+ */
+public class DrawBatcher {
+
+    /** the maximum number of groups, all groups are drawn if exceeded */
+    private static final int MAX_GROUPS = 64;
+
+    private Canvas mCanvas;
+    private Paint mPaint;
+
+    /** the color and style of the paint before begin(...) */
+    private int mPaintColor;
+    private Style mPaintStyle;
+
+    /** the color and style of each group */
+    private int[] mColors = new int[MAX_GROUPS];
+    private Style[] mStyles = new Style[MAX_GROUPS];
+
+    /** the lines of each group, x0, y0, x1, y1, ... */
+    private float[][] mLines = new float[MAX_GROUPS][];
+    private int[] mLineCounts = new int[MAX_GROUPS];
+
+    /** the shapes of each group */
+    private Path[] mPaths = new Path[MAX_GROUPS];
+    private boolean[] mHasShapes = new boolean[MAX_GROUPS];
+
+    /** the number of groups */
+    private int mGroupCount = 0;
+
+    /** the group of the last added primitive, checked first */
+    private int mLastGroup = -1;
+
+    /**
+     * Starts collecting primitives that are drawn on the given canvas with
+     * the given paint.
+     * 
+     * @param c
+     * @param paint
+     */
+    public void begin(Canvas c, Paint paint) {
+
+        mCanvas = c;
+        mPaint = paint;
+        mPaintColor = paint.getColor();
+        mPaintStyle = paint.getStyle();
+    }
+
+    /**
+     * Draws all collected primitives and restores color and style of the
+     * paint.
+     */
+    public void end() {
+
+        flush();
+
+        mPaint.setColor(mPaintColor);
+        mPaint.setStyle(mPaintStyle);
+
+        mCanvas = null;
+        mPaint = null;
+    }
+
+    /**
+     * Adds a line in the given color, drawn with the stroke of the paint.
+     * 
+     * @param color
+     * @param x0
+     * @param y0
+     * @param x1
+     * @param y1
+     */
+    public void addLine(int color, float x0, float y0, float x1, float y1) {
+
+        int group = getGroup(color, Style.STROKE);
+
+        float[] lines = mLines[group];
+        int count = mLineCounts[group];
+
+        if (lines == null || count + 4 > lines.length) {
+
+            float[] grown = new float[lines == null ? 64 : lines.length * 2];
+
+            if (lines != null)
+                System.arraycopy(lines, 0, grown, 0, count);
+
+            lines = grown;
+            mLines[group] = lines;
+        }
+
+        lines[count] = x0;
+        lines[count + 1] = y0;
+        lines[count + 2] = x1;
+        lines[count + 3] = y1;
+        mLineCounts[group] = count + 4;
+    }
+
+    /**
+     * Adds a rectangle in the given color and style.
+     * 
+     * @param color
+     * @param style
+     * @param left
+     * @param top
+     * @param right
+     * @param bottom
+     */
+    public void addRect(int color, Style style, float left, float top, float right,
+            float bottom) {
+
+        // same winding for all rectangles, opposite ones would cancel out
+        // where they overlap
+        getPath(color, style).addRect(Math.min(left, right), Math.min(top, bottom),
+                Math.max(left, right), Math.max(top, bottom), Path.Direction.CW);
+    }
+
+    /**
+     * Adds a circle in the given color and style.
+     * 
+     * @param color
+     * @param style
+     * @param x
+     * @param y
+     * @param radius
+     */
+    public void addCircle(int color, Style style, float x, float y, float radius) {
+        getPath(color, style).addCircle(x, y, radius, Path.Direction.CW);
+    }
+
+    /**
+     * Returns the Path of the group of the given color and style, to add any
+     * other shape to it.
+     * 
+     * @param color
+     * @param style
+     * @return
+     */
+    public Path getPath(int color, Style style) {
+
+        int group = getGroup(color, style);
+
+        if (mPaths[group] == null)
+            mPaths[group] = new Path();
+
+        mHasShapes[group] = true;
+        return mPaths[group];
+    }
+
+    /**
+     * Returns the index of the group of the given color and style, creates it
+     * if needed.
+     */
+    private int getGroup(int color, Style style) {
+
+        if (mLastGroup >= 0 && mColors[mLastGroup] == color && mStyles[mLastGroup] == style)
+            return mLastGroup;
+
+        for (int i = 0; i < mGroupCount; i++) {
+
+            if (mColors[i] == color && mStyles[i] == style) {
+                mLastGroup = i;
+                return i;
+            }
+        }
+
+        if (mGroupCount == MAX_GROUPS)
+            flush();
+
+        int group = mGroupCount++;
+
+        mColors[group] = color;
+        mStyles[group] = style;
+        mLastGroup = group;
+
+        return group;
+    }
+
+    /**
+     * Draws and removes all collected primitives.
+     */
+    private void flush() {
+
+        for (int i = 0; i < mGroupCount; i++) {
+
+            mPaint.setColor(mColors[i]);
+
+            if (mLineCounts[i] > 0) {
+                mCanvas.drawLines(mLines[i], 0, mLineCounts[i], mPaint);
+                mLineCounts[i] = 0;
+            }
+
+            if (mHasShapes[i]) {
+                mPaint.setStyle(mStyles[i]);
+                mCanvas.drawPath(mPaths[i], mPaint);
+                mPaths[i].rewind();
+                mHasShapes[i] = false;
+            }
+        }
+
+        mGroupCount = 0;
+        mLastGroup = -1;
+    }
+}
@@ -2,6 +2,7 @@
 package com.github.mikephil.charting.renderer;
 
 import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.graphics.Paint.Align;
 
 import com.github.mikephil.charting.animation.ChartAnimator;
@@ -67,11 +68,44 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
         buffer.setDataSet(index);
         buffer.setInverted(mChart.isInverted(dataSet.getAxisDependency()));
 
+        // only the bars within the visible range
+        buffer.limitToRange(dataSet, mMinX, mMaxX);
         buffer.feed(entries);
 
-        trans.pointValuesToPixel(buffer.buffer);
+        int count = buffer.getFeedSize();
 
-        for (int j = 0; j < buffer.size(); j += 4) {
+        trans.pointValuesToPixel(buffer.buffer, count);
+
+        int[] colors = dataSet.getColorArray();
+
+        // the index of the first bar within the colors
+        int colorOffset = dataSet.getBarCountBefore(buffer.getLimitFrom());
+
+        // the shadows of the visible bars, drawn at once below the bars
+        if (mChart.isDrawBarShadowEnabled()) {
+
+            mBatcher.begin(c, mShadowPaint);
+
+            for (int j = 0; j < count; j += 4) {
+
+                if (!mViewPortHandler.isInBoundsTop(buffer.buffer[j + 3]))
+                    break;
+
+                if (!mViewPortHandler.isInBoundsBottom(buffer.buffer[j + 1]))
+                    continue;
+
+                mBatcher.addRect(mShadowPaint.getColor(), Paint.Style.FILL,
+                        mViewPortHandler.contentLeft(), buffer.buffer[j + 1],
+                        mViewPortHandler.contentRight(), buffer.buffer[j + 3]);
+            }
+
+            mBatcher.end();
+        }
+
+        // the bars of a color are drawn at once
+        mBatcher.begin(c, mRenderPaint);
+
+        for (int j = 0; j < count; j += 4) {
 
             if (!mViewPortHandler.isInBoundsTop(buffer.buffer[j + 3]))
                 break;
@@ -79,19 +113,35 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
             if (!mViewPortHandler.isInBoundsBottom(buffer.buffer[j + 1]))
                 continue;
 
-            if (mChart.isDrawBarShadowEnabled()) {
-                c.drawRect(mViewPortHandler.contentLeft(), buffer.buffer[j + 1],
-                        mViewPortHandler.contentRight(),
-                        buffer.buffer[j + 3], mShadowPaint);
-            }
-
-            // Set the color for the currently drawn value. If the index
-            // is
+            // Set the color for the currently drawn value. If the index is
             // out of bounds, reuse colors.
-            mRenderPaint.setColor(dataSet.getColor(j / 4));
-            c.drawRect(buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
-                    buffer.buffer[j + 3], mRenderPaint);
+            mBatcher.addRect(colors[(j / 4 + colorOffset) % colors.length], Paint.Style.FILL,
+                    buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
+                    buffer.buffer[j + 3]);
         }
+
+        mBatcher.end();
+    }
+
+    /**
+     * The x-values of the HorizontalBarChart run vertically, the bounds are
+     * calculated from the top and bottom of the content rect.
+     */
+    @Override
+    protected void calcXBounds(Transformer trans) {
+
+        double top = trans.getValuesByTouchPoint(mViewPortHandler.contentLeft(),
+                mViewPortHandler.contentTop()).y;
+        double bottom = trans.getValuesByTouchPoint(mViewPortHandler.contentLeft(),
+                mViewPortHandler.contentBottom()).y;
+
+        double minx = Math.min(top, bottom);
+        double maxx = Math.max(top, bottom);
+
+        if (!Double.isInfinite(minx))
+            mMinX = (int) Math.floor(minx);
+        if (!Double.isInfinite(maxx))
+            mMaxX = (int) Math.ceil(maxx);
     }
 
     @Override
@@ -148,10 +198,10 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
                             continue;
 
                         float val = entries.get(j / 2).getVal();
-                        String valueText = formatter.getFormattedValue(val);
+                        int valueLength = formatValue(formatter, val);
 
                         // calculate the correct offset depending on the draw position of the value
-                        float valueTextWidth = Utils.calcTextWidth(mValuePaint, valueText);
+                        float valueTextWidth = (int) mValuePaint.measureText(mValueChars, 0, valueLength);
                         posOffset = (drawValueAboveBar ? valueOffsetPlus : -(valueTextWidth + valueOffsetPlus));
                         negOffset = (drawValueAboveBar ? -(valueTextWidth + valueOffsetPlus) : valueOffsetPlus);
 
@@ -161,7 +211,7 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
                             negOffset = -negOffset - valueTextWidth;
                         }
 
-                        drawValue(c, valueText, valuePoints[j] + (val >= 0 ? posOffset : negOffset),
+                        drawValue(c, valueLength, valuePoints[j] + (val >= 0 ? posOffset : negOffset),
                                 valuePoints[j + 1]);
                     }
 
@@ -189,10 +239,10 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
                                 continue;
 
                             float val = e.getVal();
-                            String valueText = formatter.getFormattedValue(val);
+                            int valueLength = formatValue(formatter, val);
 
                             // calculate the correct offset depending on the draw position of the value
-                            float valueTextWidth = Utils.calcTextWidth(mValuePaint, valueText);
+                            float valueTextWidth = (int) mValuePaint.measureText(mValueChars, 0, valueLength);
                             posOffset = (drawValueAboveBar ? valueOffsetPlus : -(valueTextWidth + valueOffsetPlus));
                             negOffset = (drawValueAboveBar ? -(valueTextWidth + valueOffsetPlus) : valueOffsetPlus);
 
@@ -202,32 +252,23 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
                                 negOffset = -negOffset - valueTextWidth;
                             }
 
-                            drawValue(c, valueText, valuePoints[j]
+                            drawValue(c, valueLength, valuePoints[j]
                                     + (e.getVal() >= 0 ? posOffset : negOffset),
                                     valuePoints[j + 1]);
 
                         } else {
 
-                            float[] transformed = new float[vals.length * 2];
-                            int cnt = 0;
-                            float add = e.getVal();
-
-                            for (int k = 0; k < transformed.length; k += 2) {
-
-                                add -= vals[cnt];
-                                transformed[k] = (vals[cnt] + add) * mAnimator.getPhaseY();
-                                cnt++;
-                            }
+                            float[] transformed = getStackPositions(e, 0);
 
                             trans.pointValuesToPixel(transformed);
 
                             for (int k = 0; k < transformed.length; k += 2) {
 
                                 float val = vals[k / 2];
-                                String valueText = formatter.getFormattedValue(val);
+                                int valueLength = formatValue(formatter, val);
 
                                 // calculate the correct offset depending on the draw position of the value
-                                float valueTextWidth = Utils.calcTextWidth(mValuePaint, valueText);
+                                float valueTextWidth = (int) mValuePaint.measureText(mValueChars, 0, valueLength);
                                 posOffset = (drawValueAboveBar ? valueOffsetPlus : -(valueTextWidth + valueOffsetPlus));
                                 negOffset = (drawValueAboveBar ? -(valueTextWidth + valueOffsetPlus) : valueOffsetPlus);
 
@@ -250,7 +291,7 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
                                 if (!mViewPortHandler.isInBoundsBottom(y))
                                     continue;
 
-                                drawValue(c, valueText, x, y);
+                                drawValue(c, valueLength, x, y);
                             }
                         }
                     }
@@ -285,6 +326,11 @@ public class HorizontalBarChartRenderer extends BarChartRenderer {
         super.drawValue(c, value, xPos, yPos + mYOffset);
     }
 
+    @Override
+    protected void drawValue(Canvas c, int length, float xPos, float yPos) {
+        super.drawValue(c, length, xPos, yPos + mYOffset);
+    }
+
     @Override
     protected boolean passesCheck() {
         return mChart.getBarData().getYValCount() < mChart.getMaxVisibleCount()
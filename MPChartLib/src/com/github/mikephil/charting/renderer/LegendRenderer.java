@@ -97,12 +97,11 @@ public class LegendRenderer extends Renderer {
 
             } else if (dataSet instanceof PieDataSet) {
 
-                List<String> xVals = data.getXVals();
                 PieDataSet pds = (PieDataSet) dataSet;
 
-                for (int j = 0; j < clrs.size() && j < entryCount && j < xVals.size(); j++) {
+                for (int j = 0; j < clrs.size() && j < entryCount && j < data.getXValCount(); j++) {
 
-                    labels.add(xVals.get(j));
+                    labels.add(data.getXValue(j));
                     colors.add(clrs.get(j));
                 }
 
@@ -9,13 +9,16 @@ import android.graphics.Path;
 
 import com.github.mikephil.charting.animation.ChartAnimator;
 import com.github.mikephil.charting.buffer.CircleBuffer;
+import com.github.mikephil.charting.buffer.CubicPathBuffer;
 import com.github.mikephil.charting.buffer.LineBuffer;
-import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.data.LineData;
 import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.data.LodPyramid;
+import com.github.mikephil.charting.data.filter.FilteredPositions;
 import com.github.mikephil.charting.interfaces.LineDataProvider;
 import com.github.mikephil.charting.utils.Highlight;
 import com.github.mikephil.charting.utils.Transformer;
+import com.github.mikephil.charting.utils.ValueFormatter;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 
 import java.util.List;
@@ -39,13 +42,33 @@ public class LineChartRenderer extends DataRenderer {
      */
     protected Canvas mBitmapCanvas;
 
-    protected Path cubicPath = new Path();
-    protected Path cubicFillPath = new Path();
-
     protected LineBuffer[] mLineBuffers;
 
     protected CircleBuffer[] mCircleBuffers;
 
+    protected CubicPathBuffer[] mCubicBuffers;
+
+    /** positions of the values that are drawn from the LodPyramid */
+    protected int[] mLodPositions = new int[0];
+
+    /**
+     * the number of visible values per pixel above which lines and circles
+     * are decimated per pixel column
+     */
+    protected float mDecimationThreshold = 4f;
+
+    /** pixels per x-index and pixel of x-index 0, see calcPixelColumns(...) */
+    protected float mColumnScale = 1f;
+    protected float mColumnOffset = 0f;
+
+    private float[] mColumnPts = new float[4];
+
+    /** draws the filled area below linear lines */
+    protected LineFillRenderer mFillRenderer = new LineFillRenderer();
+
+    /** the fill line position, transformed into pixels */
+    private float[] mFillPts = new float[2];
+
     public LineChartRenderer(LineDataProvider chart, ChartAnimator animator,
             ViewPortHandler viewPortHandler) {
         super(animator, viewPortHandler);
@@ -60,30 +83,75 @@ public class LineChartRenderer extends DataRenderer {
     public void initBuffers() {
 
         LineData lineData = mChart.getLineData();
-        mLineBuffers = new LineBuffer[lineData.getDataSetCount()];
-        mCircleBuffers = new CircleBuffer[lineData.getDataSetCount()];
+        LineBuffer[] lineBuffers = new LineBuffer[lineData.getDataSetCount()];
+        CircleBuffer[] circleBuffers = new CircleBuffer[lineData.getDataSetCount()];
+        CubicPathBuffer[] cubicBuffers = new CubicPathBuffer[lineData.getDataSetCount()];
 
-        for (int i = 0; i < mLineBuffers.length; i++) {
+        for (int i = 0; i < lineBuffers.length; i++) {
             LineDataSet set = lineData.getDataSetByIndex(i);
-            mLineBuffers[i] = new LineBuffer(set.getEntryCount() * 4 - 4);
-            mCircleBuffers[i] = new CircleBuffer(set.getEntryCount() * 2);
+
+            int lineSize = set.getEntryCount() * 4 - 4;
+            int circleSize = set.getEntryCount() * 2;
+
+            if (mCubicBuffers != null && i < mCubicBuffers.length)
+                cubicBuffers[i] = mCubicBuffers[i];
+            else
+                cubicBuffers[i] = new CubicPathBuffer();
+
+            // reuse the old buffers if they are large enough, grow them
+            // geometrically for DataSets that receive entries one by one
+            if (mLineBuffers != null && i < mLineBuffers.length
+                    && mLineBuffers[i].size() >= lineSize
+                    && mCircleBuffers[i].size() >= circleSize) {
+                lineBuffers[i] = mLineBuffers[i];
+                circleBuffers[i] = mCircleBuffers[i];
+            } else if (mLineBuffers != null && i < mLineBuffers.length) {
+                lineBuffers[i] = new LineBuffer(Math.max(lineSize, mLineBuffers[i].size() * 2));
+                circleBuffers[i] = new CircleBuffer(Math.max(circleSize,
+                        mCircleBuffers[i].size() * 2));
+            } else {
+                lineBuffers[i] = new LineBuffer(lineSize);
+                circleBuffers[i] = new CircleBuffer(circleSize);
+            }
         }
+
+        mLineBuffers = lineBuffers;
+        mCircleBuffers = circleBuffers;
+        mCubicBuffers = cubicBuffers;
     }
 
     @Override
     public void drawData(Canvas c) {
 
-        if (mPathBitmap == null
-				|| (mPathBitmap.getWidth() != (int) mViewPortHandler.getChartWidth())
-				|| (mPathBitmap.getHeight() != (int) mViewPortHandler.getChartHeight())) {
-            mPathBitmap = Bitmap.createBitmap((int) mViewPortHandler.getChartWidth(),
-                    (int) mViewPortHandler.getChartHeight(), Bitmap.Config.ARGB_4444);
-            mBitmapCanvas = new Canvas(mPathBitmap);
+        LineData lineData = mChart.getLineData();
+
+        // only cubic and dashed lines are drawn offscreen
+        boolean offscreen = false;
+
+        for (LineDataSet set : lineData.getDataSets()) {
+
+            if (set.isVisible() && (set.isDrawCubicEnabled() || set.isDashedLineEnabled()))
+                offscreen = true;
         }
 
-        mPathBitmap.eraseColor(Color.TRANSPARENT);
+        if (offscreen) {
 
-        LineData lineData = mChart.getLineData();
+            Bitmap bitmap = obtainChartBitmap(mPathBitmap, mChart.getBitmapPool(),
+                    mChart.getBitmapConfig());
+
+            if (bitmap == null)
+                return;
+
+            if (bitmap != mPathBitmap) {
+                mPathBitmap = bitmap;
+                mBitmapCanvas = new Canvas(mPathBitmap);
+            }
+
+            mPathBitmap.eraseColor(Color.TRANSPARENT);
+
+        } else {
+            releaseBitmaps();
+        }
 
         for (LineDataSet set : lineData.getDataSets()) {
 
@@ -91,14 +159,24 @@ public class LineChartRenderer extends DataRenderer {
                 drawDataSet(c, set);
         }
 
-        c.drawBitmap(mPathBitmap, 0, 0, mRenderPaint);
+        if (offscreen)
+            c.drawBitmap(mPathBitmap, 0, 0, mRenderPaint);
     }
 
-    protected void drawDataSet(Canvas c, LineDataSet dataSet) {
+    @Override
+    public void releaseBitmaps() {
+
+        if (mPathBitmap == null)
+            return;
 
-        List<Entry> entries = dataSet.getYVals();
+        mChart.getBitmapPool().release(mPathBitmap);
+        mPathBitmap = null;
+        mBitmapCanvas = null;
+    }
+
+    protected void drawDataSet(Canvas c, LineDataSet dataSet) {
 
-        if (entries.size() < 1)
+        if (dataSet.getEntryCount() < 1)
             return;
 
         calcXBounds(mChart.getTransformer(dataSet.getAxisDependency()));
@@ -109,11 +187,11 @@ public class LineChartRenderer extends DataRenderer {
         // if drawing cubic lines is enabled
         if (dataSet.isDrawCubicEnabled()) {
 
-            drawCubic(c, dataSet, entries);
+            drawCubic(c, dataSet);
 
             // draw normal (straight) lines
         } else {
-            drawLinear(c, dataSet, entries);
+            drawLinear(c, dataSet);
         }
 
         mRenderPaint.setPathEffect(null);
@@ -124,127 +202,62 @@ public class LineChartRenderer extends DataRenderer {
      * 
      * @param c
      * @param dataSet
-     * @param entries
      */
-    protected void drawCubic(Canvas c, LineDataSet dataSet, List<Entry> entries) {
+    protected void drawCubic(Canvas c, LineDataSet dataSet) {
 
         Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
 
-        Entry entryFrom = dataSet.getEntryForXIndex(mMinX);
-        Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
+        int entryCount = dataSet.getEntryCount();
 
-        int minx = dataSet.getEntryPosition(entryFrom);
-        int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+        int minx = dataSet.getEntryPositionForXIndex(mMinX);
+        int maxx = Math.min(dataSet.getEntryPositionForXIndex(mMaxX) + 1, entryCount);
 
         float phaseX = mAnimator.getPhaseX();
         float phaseY = mAnimator.getPhaseY();
 
-        float intensity = dataSet.getCubicIntensity();
-
-        cubicPath.reset();
-
         int size = (int) Math.ceil((maxx - minx) * phaseX + minx);
 
         minx = Math.max(minx - 2, 0); // Decrement by 2 as we always render two
                                   // extra points to keep cubic flowing
-        size = Math.min(size + 2, entries.size()); // Increment by 2 as we
+        size = Math.min(size + 2, entryCount); // Increment by 2 as we
                                                    // always render two extra
                                                    // points to keep cubic
                                                    // flowing
-        if (size - minx >= 2) {
-
-            float prevDx = 0f;
-            float prevDy = 0f;
-            float curDx = 0f;
-            float curDy = 0f;
-
-            Entry cur = entries.get(minx);
-            Entry next = entries.get(minx + 1);
-            Entry prev = entries.get(minx);
-            Entry prevPrev = entries.get(minx);
-
-            // let the spline start
-            cubicPath.moveTo(cur.getXIndex(), cur.getVal() * phaseY);
-
-            prevDx = (next.getXIndex() - cur.getXIndex()) * intensity;
-            prevDy = (next.getVal() - cur.getVal()) * intensity;
 
-            cur = entries.get(minx + 1);
-            next = entries.get(minx + (size - minx > 2 ? 2 : 1));
-            curDx = (next.getXIndex() - prev.getXIndex()) * intensity;
-            curDy = (next.getVal() - prev.getVal()) * intensity;
+        // the line must not run ahead of the animation
+        int limit = phaseX < 1f ? size : entryCount;
 
-            // the first cubic
-            cubicPath.cubicTo(prev.getXIndex() + prevDx, (prev.getVal() + prevDy) * phaseY,
-                    cur.getXIndex() - curDx,
-                    (cur.getVal() - curDy) * phaseY, cur.getXIndex(), cur.getVal() * phaseY);
+        boolean filled = dataSet.isDrawFilledEnabled();
 
-            for (int j = minx + 2; j < size - 1; j++) {
-
-                prevPrev = entries.get(j - 2);
-                prev = entries.get(j - 1);
-                cur = entries.get(j);
-                next = entries.get(j + 1);
-
-                prevDx = (cur.getXIndex() - prevPrev.getXIndex()) * intensity;
-                prevDy = (cur.getVal() - prevPrev.getVal()) * intensity;
-                curDx = (next.getXIndex() - prev.getXIndex()) * intensity;
-                curDy = (next.getVal() - prev.getVal()) * intensity;
-
-                cubicPath.cubicTo(prev.getXIndex() + prevDx, (prev.getVal() + prevDy) * phaseY,
-                        cur.getXIndex() - curDx,
-                        (cur.getVal() - curDy) * phaseY, cur.getXIndex(), cur.getVal() * phaseY);
-            }
+        float fillMin = filled ? mChart.getFillFormatter().getFillLinePosition(dataSet,
+                mChart.getLineData(), mChart.getYChartMax(), mChart.getYChartMin()) : 0f;
 
-            if (size > entries.size() - 1) {
+        // the control points are cached by the DataSet, the path is only
+        // translated while the chart is moved
+        CubicPathBuffer buffer = mCubicBuffers[mChart.getLineData().getIndexOfDataSet(dataSet)];
+        buffer.update(dataSet, minx, size, limit, phaseY, filled, fillMin, trans);
 
-                cur = entries.get(entries.size() - 1);
-                prev = entries.get(entries.size() - 2);
-                prevPrev = entries.get((entries.size() >= 3) ? entries.size() - 3 : entries.size() - 2);
-                next = cur;
-
-                prevDx = (cur.getXIndex() - prevPrev.getXIndex()) * intensity;
-                prevDy = (cur.getVal() - prevPrev.getVal()) * intensity;
-                curDx = (next.getXIndex() - prev.getXIndex()) * intensity;
-                curDy = (next.getVal() - prev.getVal()) * intensity;
-
-                // the last cubic
-                cubicPath.cubicTo(prev.getXIndex() + prevDx, (prev.getVal() + prevDy) * phaseY,
-                        cur.getXIndex() - curDx,
-                        (cur.getVal() - curDy) * phaseY, cur.getXIndex(), cur.getVal() * phaseY);
-            }
-        }
-
-        // if filled is enabled, close the path
-        if (dataSet.isDrawFilledEnabled()) {
-
-            cubicFillPath.reset();
-            cubicFillPath.addPath(cubicPath);
-            // create a new path, this is bad for performance
-            drawCubicFill(mBitmapCanvas, dataSet, cubicFillPath, trans, minx, size);
-        }
+        // if filled is enabled, draw the closed path
+        if (filled)
+            drawCubicFill(mBitmapCanvas, dataSet, buffer.getFillPath());
 
         mRenderPaint.setColor(dataSet.getColor());
 
         mRenderPaint.setStyle(Paint.Style.STROKE);
 
-        trans.pathValueToPixel(cubicPath);
-
-        mBitmapCanvas.drawPath(cubicPath, mRenderPaint);
+        mBitmapCanvas.drawPath(buffer.getPath(), mRenderPaint);
 
         mRenderPaint.setPathEffect(null);
     }
 
-    protected void drawCubicFill(Canvas c, LineDataSet dataSet, Path spline, Transformer trans,
-            int from, int to) {
-
-        float fillMin = mChart.getFillFormatter()
-                .getFillLinePosition(dataSet, mChart.getLineData(), mChart.getYChartMax(),
-                        mChart.getYChartMin());
-
-        spline.lineTo(to-1, fillMin);
-        spline.lineTo(from, fillMin);
-        spline.close();
+    /**
+     * Draws the fill of a cubic line.
+     * 
+     * @param c
+     * @param dataSet
+     * @param fill the closed path of the fill, in pixels
+     */
+    protected void drawCubicFill(Canvas c, LineDataSet dataSet, Path fill) {
 
         mRenderPaint.setStyle(Paint.Style.FILL);
 
@@ -252,8 +265,7 @@ public class LineChartRenderer extends DataRenderer {
         // filled is drawn with less alpha
         mRenderPaint.setAlpha(dataSet.getFillAlpha());
 
-        trans.pathValueToPixel(spline);
-        mBitmapCanvas.drawPath(spline, mRenderPaint);
+        c.drawPath(fill, mRenderPaint);
 
         mRenderPaint.setAlpha(255);
     }
@@ -263,9 +275,8 @@ public class LineChartRenderer extends DataRenderer {
      * 
      * @param c
      * @param dataSet
-     * @param entries
      */
-    protected void drawLinear(Canvas c, LineDataSet dataSet, List<Entry> entries) {
+    protected void drawLinear(Canvas c, LineDataSet dataSet) {
 
         int dataSetIndex = mChart.getLineData().getIndexOfDataSet(dataSet);
 
@@ -285,24 +296,72 @@ public class LineChartRenderer extends DataRenderer {
             canvas = c;
         }
 
-        Entry entryFrom = dataSet.getEntryForXIndex(mMinX);
-        Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
+        int entryCount = dataSet.getEntryCount();
 
-        int minx = dataSet.getEntryPosition(entryFrom);
-        int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+        int minx = dataSet.getEntryPositionForXIndex(mMinX);
+        int maxx = Math.min(dataSet.getEntryPositionForXIndex(mMaxX) + 1, entryCount);
 
         int range = (maxx - minx) * 4 - 4;
 
         LineBuffer buffer = mLineBuffers[dataSetIndex];
         buffer.setPhases(phaseX, phaseY);
-        buffer.limitFrom(minx);
-        buffer.limitTo(maxx);
-        buffer.feed(entries);
 
-        trans.pointValuesToPixel(buffer.buffer);
+        // zoomed out lines with a single color are drawn from the filtered
+        // values or the LodPyramid
+        int[] positions = null;
+        int positionCount = 0;
+
+        if (dataSet.hasSingleColor()) {
+
+            int to = (int) Math.ceil((maxx - minx) * phaseX + minx);
+            FilteredPositions filtered = mChart.getFilteredPositions(dataSet, minx, maxx);
+
+            if (filtered != null) {
+
+                positions = filtered.getPositions();
+                positionCount = filtered.getCount();
+
+                // only the values the animation has reached
+                while (positionCount > 0 && positions[positionCount - 1] >= to)
+                    positionCount--;
+            } else {
+
+                int lodLevel = getLodLevel(dataSet, maxx - minx);
+
+                if (lodLevel >= 0) {
+                    positionCount = getLodPositions(dataSet, lodLevel, minx, to);
+                    positions = mLodPositions;
+                }
+            }
+        }
+
+        if (positions != null) {
+            range = buffer.feed(dataSet, positions, positionCount);
+        } else {
+            buffer.limitFrom(minx);
+            buffer.limitTo(maxx);
+
+            // too dense to be drawn value by value, at most 4 segments per
+            // pixel column
+            if (dataSet.hasSingleColor() && isDecimationNeeded(maxx - minx)) {
+                calcPixelColumns(trans);
+                range = buffer.feedDecimated(dataSet, mColumnScale, mColumnOffset);
+            } else {
+                buffer.feed(dataSet);
+
+                // the segments the animation has reached
+                range = Math.max(((int) Math.ceil((maxx - minx) * phaseX)) * 4 - 4, 0);
+            }
+        }
+
+        trans.pointValuesToPixel(buffer.buffer, Math.max(range, 0));
 
         // more than 1 color
-        if (dataSet.getColors().size() > 1) {
+        if (!dataSet.hasSingleColor()) {
+
+            int[] colors = dataSet.getColorArray();
+
+            mBatcher.begin(canvas, mRenderPaint);
 
             for (int j = 0; j < range; j += 4) {
 
@@ -319,12 +378,12 @@ public class LineChartRenderer extends DataRenderer {
                     continue;
 
                 // get the color that is set for this line-segment
-                mRenderPaint.setColor(dataSet.getColor(j / 4 + minx));
-
-                canvas.drawLine(buffer.buffer[j], buffer.buffer[j + 1],
-                        buffer.buffer[j + 2], buffer.buffer[j + 3], mRenderPaint);
+                mBatcher.addLine(colors[(j / 4 + minx) % colors.length], buffer.buffer[j],
+                        buffer.buffer[j + 1], buffer.buffer[j + 2], buffer.buffer[j + 3]);
             }
 
+            mBatcher.end();
+
         } else { // only one color per dataset
 
             mRenderPaint.setColor(dataSet.getColor());
@@ -336,67 +395,119 @@ public class LineChartRenderer extends DataRenderer {
 
         mRenderPaint.setPathEffect(null);
 
-        // if drawing filled is enabled
-        if (dataSet.isDrawFilledEnabled() && entries.size() > 0) {
-            drawLinearFill(c, dataSet, entries, minx, maxx, trans);
-        }
+        // if drawing filled is enabled, fill below the line as drawn
+        if (dataSet.isDrawFilledEnabled() && entryCount > 0)
+            drawLinearFill(c, dataSet, buffer.buffer, range, trans);
     }
 
-    protected void drawLinearFill(Canvas c, LineDataSet dataSet, List<Entry> entries, int minx,
-            int maxx,
-            Transformer trans) {
+    /**
+     * Writes the positions of the values between from and to that are drawn
+     * on the given level of the LodPyramid of the DataSet into
+     * mLodPositions, returns their number.
+     * 
+     * @param dataSet
+     * @param level
+     * @param from
+     * @param to
+     * @return
+     */
+    protected int getLodPositions(LineDataSet dataSet, int level, int from, int to) {
 
-        mRenderPaint.setStyle(Paint.Style.FILL);
+        LodPyramid lod = dataSet.getLodPyramid();
 
-        mRenderPaint.setColor(dataSet.getFillColor());
-        // filled is drawn with less alpha
-        mRenderPaint.setAlpha(dataSet.getFillAlpha());
+        int max = Math.min(to - from, ((to - from) / lod.getBucketSize(level) + 2) * 4);
 
-        Path filled = generateFilledPath(
-                entries,
-                mChart.getFillFormatter().getFillLinePosition(dataSet, mChart.getLineData(),
-                        mChart.getYChartMax(), mChart.getYChartMin()), minx, maxx);
+        if (mLodPositions.length < max)
+            mLodPositions = new int[max];
 
-        trans.pathValueToPixel(filled);
+        return lod.getPositions(level, from, to, mLodPositions);
+    }
 
-        c.drawPath(filled, mRenderPaint);
+    /**
+     * Returns true if the given number of visible values is too dense to be
+     * drawn value by value (see setDecimationThreshold(...)).
+     * 
+     * @param visibleCount
+     * @return
+     */
+    protected boolean isDecimationNeeded(int visibleCount) {
+        return visibleCount > mDecimationThreshold * mViewPortHandler.contentWidth();
+    }
 
-        // restore alpha
-        mRenderPaint.setAlpha(255);
+    /**
+     * Calculates mColumnScale and mColumnOffset, which map an x-index to its
+     * pixel on the x-axis.
+     * 
+     * @param trans
+     */
+    protected void calcPixelColumns(Transformer trans) {
+
+        mColumnPts[0] = 0f;
+        mColumnPts[1] = 0f;
+        mColumnPts[2] = 1f;
+        mColumnPts[3] = 0f;
+
+        trans.pointValuesToPixel(mColumnPts);
+
+        mColumnScale = mColumnPts[2] - mColumnPts[0];
+        mColumnOffset = mColumnPts[0];
     }
 
     /**
-     * Generates the path that is used for filled drawing.
+     * Sets the number of visible values per pixel of the content width above
+     * which lines (with a single color) and circles are reduced to the first,
+     * lowest, highest and last value of each pixel column. Default: 4
+     * 
+     * @param threshold
+     */
+    public void setDecimationThreshold(float threshold) {
+
+        if (threshold < 1f)
+            throw new IllegalArgumentException("The decimation threshold must be at least 1.");
+
+        mDecimationThreshold = threshold;
+    }
+
+    /**
+     * Returns the number of visible values per pixel above which lines and
+     * circles are decimated.
      * 
-     * @param entries
      * @return
      */
-    private Path generateFilledPath(List<Entry> entries, float fillMin, int from, int to) {
+    public float getDecimationThreshold() {
+        return mDecimationThreshold;
+    }
 
-        float phaseX = mAnimator.getPhaseX();
-        float phaseY = mAnimator.getPhaseY();
+    /**
+     * Draws the filled area between the given line and the fill line
+     * position of the DataSet.
+     * 
+     * @param c
+     * @param dataSet
+     * @param line the segments of the line in pixels, as fed into the
+     *            LineBuffer
+     * @param count the number of floats of the segments
+     * @param trans
+     */
+    protected void drawLinearFill(Canvas c, LineDataSet dataSet, float[] line, int count,
+            Transformer trans) {
 
-        Path filled = new Path();
-        filled.moveTo(entries.get(from).getXIndex(), fillMin);
-        filled.lineTo(entries.get(from).getXIndex(), entries.get(from).getVal() * phaseY);
+        mFillPts[0] = 0f;
+        mFillPts[1] = mChart.getFillFormatter().getFillLinePosition(dataSet,
+                mChart.getLineData(), mChart.getYChartMax(), mChart.getYChartMin());
 
-        // create a new path
-        for (int x = from + 1, count = (int) Math.ceil((to - from) * phaseX + from); x < count; x++) {
+        trans.pointValuesToPixel(mFillPts);
 
-            Entry e = entries.get(x);
-            filled.lineTo(e.getXIndex(), e.getVal() * phaseY);
-        }
+        mRenderPaint.setStyle(Paint.Style.FILL);
 
-        // close up
-        filled.lineTo(
-                entries.get(
-                        Math.max(
-                                Math.min((int) Math.ceil((to - from) * phaseX + from) - 1,
-                                        entries.size() - 1), 0)).getXIndex(), fillMin);
+        mRenderPaint.setColor(dataSet.getFillColor());
+        // filled is drawn with less alpha
+        mRenderPaint.setAlpha(dataSet.getFillAlpha());
 
-        filled.close();
+        mFillRenderer.drawFill(c, mRenderPaint, line, count, mFillPts[1]);
 
-        return filled;
+        // restore alpha
+        mRenderPaint.setAlpha(255);
     }
 
     @Override
@@ -417,6 +528,8 @@ public class LineChartRenderer extends DataRenderer {
                 // apply the text-styling defined by the DataSet
                 applyValueTextStyle(dataSet);
 
+                ValueFormatter formatter = dataSet.getValueFormatter();
+
                 Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
 
                 // make sure the values do not interfear with the circles
@@ -425,19 +538,15 @@ public class LineChartRenderer extends DataRenderer {
                 if (!dataSet.isDrawCirclesEnabled())
                     valOffset = valOffset / 2;
 
-                List<Entry> entries = dataSet.getYVals();
-
-                Entry entryFrom = dataSet.getEntryForXIndex(mMinX);
-                Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
-
-                int minx = dataSet.getEntryPosition(entryFrom);
+                int minx = dataSet.getEntryPositionForXIndex(mMinX);
                 if (minx < 0)
                     minx = 0;
 
-                int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+                int maxx = Math.min(dataSet.getEntryPositionForXIndex(mMaxX) + 1,
+                        dataSet.getEntryCount());
 
                 float[] positions = trans.generateTransformedValuesLine(
-                        entries, mAnimator.getPhaseX(), mAnimator.getPhaseY(), minx, maxx);
+                        dataSet, mAnimator.getPhaseX(), mAnimator.getPhaseY(), minx, maxx);
 
                 for (int j = 0; j < positions.length; j += 2) {
 
@@ -450,11 +559,9 @@ public class LineChartRenderer extends DataRenderer {
                     if (!mViewPortHandler.isInBoundsLeft(x) || !mViewPortHandler.isInBoundsY(y))
                         continue;
 
-                    float val = entries.get(j / 2 + minx).getVal();
+                    float val = dataSet.getValAt(j / 2 + minx);
 
-                    c.drawText(dataSet.getValueFormatter().getFormattedValue(val), x,
-                            y - valOffset,
-                            mValuePaint);
+                    drawValueText(c, formatter, val, x, y - valOffset);
                 }
             }
         }
@@ -484,25 +591,34 @@ public class LineChartRenderer extends DataRenderer {
             mCirclePaintInner.setColor(dataSet.getCircleHoleColor());
 
             Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
-            List<Entry> entries = dataSet.getYVals();
-
-            Entry entryFrom = dataSet.getEntryForXIndex((mMinX < 0) ? 0 : mMinX);
-            Entry entryTo = dataSet.getEntryForXIndex(mMaxX);
 
-            int minx = dataSet.getEntryPosition(entryFrom);
-            int maxx = Math.min(dataSet.getEntryPosition(entryTo) + 1, entries.size());
+            int minx = dataSet.getEntryPositionForXIndex(mMinX);
+            int maxx = Math.min(dataSet.getEntryPositionForXIndex(mMaxX) + 1, dataSet.getEntryCount());
 
             CircleBuffer buffer = mCircleBuffers[i];
             buffer.setPhases(phaseX, phaseY);
             buffer.limitFrom(minx);
             buffer.limitTo(maxx);
-            buffer.feed(entries);
 
-            trans.pointValuesToPixel(buffer.buffer);
+            // the positions of the circles if decimated
+            int[] positions = null;
+            int count;
+
+            if (isDecimationNeeded(maxx - minx)) {
+                calcPixelColumns(trans);
+                count = buffer.feedDecimated(dataSet, mColumnScale, mColumnOffset);
+                positions = buffer.getDecimatedPositions();
+            } else {
+                buffer.feed(dataSet);
+                count = Math.max((int) Math.ceil((maxx - minx) * phaseX) * 2, 0);
+            }
+
+            trans.pointValuesToPixel(buffer.buffer, count);
 
             float halfsize = dataSet.getCircleSize() / 2f;
+            int[] circleColors = dataSet.getCircleColorArray();
 
-            for (int j = 0, count = (int) Math.ceil((maxx - minx) * phaseX + minx) * 2; j < count; j += 2) {
+            for (int j = 0; j < count; j += 2) {
 
                 float x = buffer.buffer[j];
                 float y = buffer.buffer[j + 1];
@@ -515,7 +631,8 @@ public class LineChartRenderer extends DataRenderer {
                 if (!mViewPortHandler.isInBoundsLeft(x) || !mViewPortHandler.isInBoundsY(y))
                     continue;
 
-                int circleColor = dataSet.getCircleColor(j / 2 + minx);
+                int pos = positions != null ? positions[j / 2] : j / 2 + minx;
+                int circleColor = circleColors[pos % circleColors.length];
 
                 mRenderPaint.setColor(circleColor);
 
@@ -0,0 +1,124 @@
+
+package com.github.mikephil.charting.renderer;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+/**
+ * Draws the filled area between a line and its fill baseline as a triangle
+ * strip with Canvas.drawVertices(...), built from the line as it is drawn
+ * (the segments of a LineBuffer, already in pixels). Segments that cross
+ * the baseline are split at the crossing so that no triangles overlap.
+ * Canvases that do not support drawVertices(...) (hardware accelerated ones
+ * before API 29) get the same area as a Path. The vertices and the Path are
+ * reused, drawing does not allocate memory once they have grown.
+ *
+ * @author Philipp Jahoda
+ */
+public class LineFillRenderer {
+
+    /** the vertices of the triangle strip, x,y,x,y,... */
+    private float[] mVertices = new float[0];
+
+    /** the path used if drawVertices(...) is not supported */
+    private Path mPath = new Path();
+
+    /**
+     * Fills the area between the given line and the baseline.
+     *
+     * @param c
+     * @param paint the paint to fill with
+     * @param line the segments of the line in pixels, x0,y0,x1,y1 per
+     *            segment, each segment starting where the previous one ends
+     * @param count the number of floats of the segments
+     * @param baseline the y-pixel the fill is closed at
+     */
+    public void drawFill(Canvas c, Paint paint, float[] line, int count, float baseline) {
+
+        if (count < 4)
+            return;
+
+        if (isVerticesSupported(c))
+            drawVertices(c, paint, line, count, baseline);
+        else
+            drawPath(c, paint, line, count, baseline);
+    }
+
+    /**
+     * Returns true if the given canvas can draw vertices.
+     *
+     * @param c
+     * @return
+     */
+    protected boolean isVerticesSupported(Canvas c) {
+
+        if (android.os.Build.VERSION.SDK_INT < 11)
+            return true;
+
+        return !c.isHardwareAccelerated() || android.os.Build.VERSION.SDK_INT >= 29;
+    }
+
+    private void drawVertices(Canvas c, Paint paint, float[] line, int count, float baseline) {
+
+        // 2 vertices per point, 2 more per crossing of the baseline
+        int points = count / 4 + 1;
+        int capacity = points * 8;
+
+        if (mVertices.length < capacity)
+            mVertices = new float[capacity];
+
+        float[] vertices = mVertices;
+        int index = addPoint(vertices, 0, line[0], line[1], baseline);
+
+        for (int i = 0; i < count; i += 4) {
+
+            float x0 = line[i];
+            float y0 = line[i + 1];
+            float x1 = line[i + 2];
+            float y1 = line[i + 3];
+
+            // the line crosses the baseline, continue from the crossing
+            if ((y0 < baseline && y1 > baseline) || (y0 > baseline && y1 < baseline)) {
+
+                float x = x0 + (x1 - x0) * (baseline - y0) / (y1 - y0);
+                index = addPoint(vertices, index, x, baseline, baseline);
+            }
+
+            index = addPoint(vertices, index, x1, y1, baseline);
+        }
+
+        c.drawVertices(Canvas.VertexMode.TRIANGLE_STRIP, index, vertices, 0, null, 0, null, 0,
+                null, 0, 0, paint);
+    }
+
+    /**
+     * Adds the point of the line and the point below it on the baseline.
+     */
+    private static int addPoint(float[] vertices, int index, float x, float y, float baseline) {
+
+        vertices[index++] = x;
+        vertices[index++] = y;
+        vertices[index++] = x;
+        vertices[index++] = baseline;
+
+        return index;
+    }
+
+    private void drawPath(Canvas c, Paint paint, float[] line, int count, float baseline) {
+
+        Path path = mPath;
+        path.rewind();
+
+        path.moveTo(line[0], baseline);
+        path.lineTo(line[0], line[1]);
+
+        for (int i = 0; i < count; i += 4)
+            path.lineTo(line[i + 2], line[i + 3]);
+
+        path.lineTo(line[count - 2], baseline);
+        path.close();
+
+        c.drawPath(path, paint);
+    }
+}
@@ -8,6 +8,7 @@ import android.graphics.Paint;
 import android.graphics.Paint.Align;
 import android.graphics.Paint.Style;
 import android.graphics.PointF;
+import android.graphics.Rect;
 import android.graphics.RectF;
 
 import com.github.mikephil.charting.animation.ChartAnimator;
@@ -43,6 +44,9 @@ public class PieChartRenderer extends DataRenderer {
 
     protected Canvas mBitmapCanvas;
 
+    /** bounds of the value-text, reused */
+    private Rect mValueBounds = new Rect();
+
     public PieChartRenderer(PieChart chart, ChartAnimator animator,
             ViewPortHandler viewPortHandler) {
         super(animator, viewPortHandler);
@@ -84,14 +88,28 @@ public class PieChartRenderer extends DataRenderer {
 
     }
 
+    @Override
+    public void releaseBitmaps() {
+
+        if (mDrawBitmap == null)
+            return;
+
+        mChart.getBitmapPool().release(mDrawBitmap);
+        mDrawBitmap = null;
+        mBitmapCanvas = null;
+    }
+
     @Override
     public void drawData(Canvas c) {
 
-        if (mDrawBitmap == null
-				|| (mDrawBitmap.getWidth() != (int) mViewPortHandler.getChartWidth())
-				|| (mDrawBitmap.getHeight() != (int) mViewPortHandler.getChartHeight())) {
-            mDrawBitmap = Bitmap.createBitmap((int) mViewPortHandler.getChartWidth(),
-                    (int) mViewPortHandler.getChartHeight(), Bitmap.Config.ARGB_8888);
+        Bitmap bitmap = obtainChartBitmap(mDrawBitmap, mChart.getBitmapPool(),
+                mChart.getBitmapConfig());
+
+        if (bitmap == null)
+            return;
+
+        if (bitmap != mDrawBitmap) {
+            mDrawBitmap = bitmap;
             mBitmapCanvas = new Canvas(mDrawBitmap);
         }
 
@@ -200,9 +218,11 @@ public class PieChartRenderer extends DataRenderer {
                 float value = mChart.isUsePercentValuesEnabled() ? entries.get(j).getVal()
                         / mChart.getYValueSum() * 100f : entries.get(j).getVal();
 
-                String val = dataSet.getValueFormatter().getFormattedValue(value);
+                int valueLength = formatValue(dataSet.getValueFormatter(), value);
+
+                mValuePaint.getTextBounds(mValueChars, 0, valueLength, mValueBounds);
 
-                float lineHeight = Utils.calcTextHeight(mValuePaint, val)
+                float lineHeight = mValueBounds.height()
                         + Utils.convertDpToPixel(4f);
 
                 boolean drawYVals = dataSet.isDrawValuesEnabled();
@@ -210,17 +230,17 @@ public class PieChartRenderer extends DataRenderer {
                 // draw everything, depending on settings
                 if (drawXVals && drawYVals) {
 
-                    c.drawText(val, x, y, mValuePaint);
+                    c.drawText(mValueChars, 0, valueLength, x, y, mValuePaint);
                     if (j < data.getXValCount())
-                        c.drawText(data.getXVals().get(j), x, y + lineHeight,
+                        c.drawText(data.getXValue(j), x, y + lineHeight,
                                 mValuePaint);
 
                 } else if (drawXVals && !drawYVals) {
                     if (j < data.getXValCount())
-                        c.drawText(data.getXVals().get(j), x, y + lineHeight / 2f, mValuePaint);
+                        c.drawText(data.getXValue(j), x, y + lineHeight / 2f, mValuePaint);
                 } else if (!drawXVals && drawYVals) {
 
-                    c.drawText(val, x, y + lineHeight / 2f, mValuePaint);
+                    c.drawText(mValueChars, 0, valueLength, x, y + lineHeight / 2f, mValuePaint);
                 }
 
                 cnt++;
@@ -230,6 +250,11 @@ public class PieChartRenderer extends DataRenderer {
 
     @Override
     public void drawExtras(Canvas c) {
+
+        // the chart has no size yet
+        if (mDrawBitmap == null)
+            return;
+
         drawHole(c);
         c.drawBitmap(mDrawBitmap, 0, 0, mRenderPaint);
         drawCenterText(c);
@@ -318,6 +343,9 @@ public class PieChartRenderer extends DataRenderer {
     @Override
     public void drawHighlighted(Canvas c, Highlight[] indices) {
 
+        if (mBitmapCanvas == null)
+            return;
+
         float rotationAngle = mChart.getRotationAngle();
         float angle = 0f;
 
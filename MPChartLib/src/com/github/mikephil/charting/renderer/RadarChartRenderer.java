@@ -14,6 +14,7 @@ import com.github.mikephil.charting.data.RadarData;
 import com.github.mikephil.charting.data.RadarDataSet;
 import com.github.mikephil.charting.utils.Highlight;
 import com.github.mikephil.charting.utils.Utils;
+import com.github.mikephil.charting.utils.ValueFormatter;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 
 import java.util.List;
@@ -131,6 +132,8 @@ public class RadarChartRenderer extends DataRenderer {
             // apply the text-styling defined by the DataSet
             applyValueTextStyle(dataSet);
 
+            ValueFormatter formatter = dataSet.getValueFormatter();
+
             List<Entry> entries = dataSet.getYVals();
 
             for (int j = 0; j < entries.size(); j++) {
@@ -140,8 +143,7 @@ public class RadarChartRenderer extends DataRenderer {
                 PointF p = Utils.getPosition(center, (e.getVal() - mChart.getYChartMin()) * factor,
                         sliceangle * j + mChart.getRotationAngle());
 
-                c.drawText(dataSet.getValueFormatter().getFormattedValue(e.getVal()),
-                        p.x, p.y - yoffset, mValuePaint);
+                drawValueText(c, formatter, e.getVal(), p.x, p.y - yoffset);
             }
         }
     }
@@ -218,9 +220,12 @@ public class RadarChartRenderer extends DataRenderer {
             // get the index to highlight
             int xIndex = indices[i].getXIndex();
 
-            Entry e = set.getEntryForXIndex(xIndex);
-            int j = set.getEntryPosition(e);
-            float y = (e.getVal() - mChart.getYChartMin());
+            int j = set.getEntryPositionForXIndex(xIndex);
+
+            if (j < 0)
+                continue;
+
+            float y = (set.getValAt(j) - mChart.getYChartMin());
 
             PointF p = Utils.getPosition(center, y * factor,
                     sliceangle * j + mChart.getRotationAngle());
@@ -15,6 +15,7 @@ import com.github.mikephil.charting.interfaces.ScatterDataProvider;
 import com.github.mikephil.charting.utils.Highlight;
 import com.github.mikephil.charting.utils.Transformer;
 import com.github.mikephil.charting.utils.Utils;
+import com.github.mikephil.charting.utils.ValueFormatter;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 
 import java.util.List;
@@ -75,102 +76,65 @@ public class ScatterChartRenderer extends DataRenderer {
         ScatterBuffer buffer = mScatterBuffers[mChart.getScatterData().getIndexOfDataSet(
                 dataSet)];
         buffer.setPhases(phaseX, phaseY);
-        buffer.feed(entries);
-
-        trans.pointValuesToPixel(buffer.buffer);
-
-        switch (shape) {
-            case SQUARE:
 
-                mRenderPaint.setStyle(Style.FILL);
+        // only the entries within the visible range
+        int minx = dataSet.getEntryPositionForXIndex(mMinX);
+        int maxx = Math.min(dataSet.getEntryPositionForXIndex(mMaxX) + 1, dataSet.getEntryCount());
 
-                for (int i = 0; i < buffer.size(); i += 2) {
-
-                    if (!mViewPortHandler.isInBoundsRight(buffer.buffer[i]))
-                        break;
+        buffer.limitFrom(minx);
+        buffer.limitTo(maxx);
+        buffer.feed(entries);
 
-                    if (!mViewPortHandler.isInBoundsLeft(buffer.buffer[i])
-                            || !mViewPortHandler.isInBoundsY(buffer.buffer[i + 1]))
-                        continue;
+        int count = buffer.getFeedSize();
 
-                    mRenderPaint.setColor(dataSet.getColor(i / 2));
-                    c.drawRect(buffer.buffer[i] - shapeHalf,
-                            buffer.buffer[i + 1] - shapeHalf, buffer.buffer[i]
-                                    + shapeHalf, buffer.buffer[i + 1]
-                                    + shapeHalf, mRenderPaint);
-                }
-                break;
-            case CIRCLE:
+        trans.pointValuesToPixel(buffer.buffer, count);
 
-                mRenderPaint.setStyle(Style.FILL);
+        int[] colors = dataSet.getColorArray();
 
-                for (int i = 0; i < buffer.size(); i += 2) {
+        mBatcher.begin(c, mRenderPaint);
 
-                    if (!mViewPortHandler.isInBoundsRight(buffer.buffer[i]))
-                        break;
+        for (int i = 0; i < count; i += 2) {
 
-                    if (!mViewPortHandler.isInBoundsLeft(buffer.buffer[i])
-                            || !mViewPortHandler.isInBoundsY(buffer.buffer[i + 1]))
-                        continue;
+            float x = buffer.buffer[i];
+            float y = buffer.buffer[i + 1];
 
-                    mRenderPaint.setColor(dataSet.getColor(i / 2));
-                    c.drawCircle(buffer.buffer[i], buffer.buffer[i + 1], shapeHalf,
-                            mRenderPaint);
-                }
+            if (!mViewPortHandler.isInBoundsRight(x))
                 break;
-            case TRIANGLE:
-
-                mRenderPaint.setStyle(Style.FILL);
-
-                // create a triangle path
-                Path tri = new Path();
 
-                for (int i = 0; i < buffer.size(); i += 2) {
-
-                    if (!mViewPortHandler.isInBoundsRight(buffer.buffer[i]))
-                        break;
-
-                    if (!mViewPortHandler.isInBoundsLeft(buffer.buffer[i])
-                            || !mViewPortHandler.isInBoundsY(buffer.buffer[i + 1]))
-                        continue;
+            if (!mViewPortHandler.isInBoundsLeft(x)
+                    || !mViewPortHandler.isInBoundsY(y))
+                continue;
 
-                    mRenderPaint.setColor(dataSet.getColor(i / 2));
-                    tri.moveTo(buffer.buffer[i], buffer.buffer[i + 1] - shapeHalf);
-                    tri.lineTo(buffer.buffer[i] + shapeHalf, buffer.buffer[i + 1] + shapeHalf);
-                    tri.lineTo(buffer.buffer[i] - shapeHalf, buffer.buffer[i + 1] + shapeHalf);
+            int color = colors[(i / 2 + minx) % colors.length];
+
+            switch (shape) {
+                case SQUARE:
+                    mBatcher.addRect(color, Style.FILL, x - shapeHalf, y - shapeHalf,
+                            x + shapeHalf, y + shapeHalf);
+                    break;
+                case CIRCLE:
+                    mBatcher.addCircle(color, Style.FILL, x, y, shapeHalf);
+                    break;
+                case TRIANGLE:
+
+                    Path tri = mBatcher.getPath(color, Style.FILL);
+                    tri.moveTo(x, y - shapeHalf);
+                    tri.lineTo(x + shapeHalf, y + shapeHalf);
+                    tri.lineTo(x - shapeHalf, y + shapeHalf);
                     tri.close();
-
-                    c.drawPath(tri, mRenderPaint);
-                    tri.reset();
-                }
-                break;
-            case CROSS:
-
-                mRenderPaint.setStyle(Style.STROKE);
-
-                for (int i = 0; i < buffer.size(); i += 2) {
-
-                    if (!mViewPortHandler.isInBoundsRight(buffer.buffer[i]))
-                        break;
-
-                    if (!mViewPortHandler.isInBoundsLeft(buffer.buffer[i])
-                            || !mViewPortHandler.isInBoundsY(buffer.buffer[i + 1]))
-                        continue;
-
-                    mRenderPaint.setColor(dataSet.getColor(i / 2));
-
-                    c.drawLine(buffer.buffer[i] - shapeHalf, buffer.buffer[i + 1],
-                            buffer.buffer[i] + shapeHalf,
-                            buffer.buffer[i + 1], mRenderPaint);
-                    c.drawLine(buffer.buffer[i], buffer.buffer[i + 1] - shapeHalf,
-                            buffer.buffer[i], buffer.buffer[i + 1]
-                                    + shapeHalf, mRenderPaint);
-                }
-                break;
-            default:
-                break;
+                    break;
+                case CROSS:
+                    mBatcher.addLine(color, x - shapeHalf, y, x + shapeHalf, y);
+                    mBatcher.addLine(color, x, y - shapeHalf, x, y + shapeHalf);
+                    break;
+                default:
+                    break;
+            }
         }
 
+        // all shapes of a color are drawn at once
+        mBatcher.end();
+
         // else { // draw the custom-shape
         //
         // Path customShape = dataSet.getCustomScatterShape();
@@ -216,6 +180,8 @@ public class ScatterChartRenderer extends DataRenderer {
                 // apply the text-styling defined by the DataSet
                 applyValueTextStyle(dataSet);
 
+                ValueFormatter formatter = dataSet.getValueFormatter();
+
                 List<Entry> entries = dataSet.getYVals();
 
                 float[] positions = mChart.getTransformer(dataSet.getAxisDependency())
@@ -236,9 +202,7 @@ public class ScatterChartRenderer extends DataRenderer {
 
                     float val = entries.get(j / 2).getVal();
 
-                    c.drawText(dataSet.getValueFormatter().getFormattedValue(val), positions[j],
-                            positions[j + 1] - shapeSize,
-                            mValuePaint);
+                    drawValueText(c, formatter, val, positions[j], positions[j + 1] - shapeSize);
                 }
             }
         }
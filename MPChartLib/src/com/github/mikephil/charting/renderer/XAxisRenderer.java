@@ -10,9 +10,11 @@ import android.graphics.Path;
 import com.github.mikephil.charting.components.LimitLine;
 import com.github.mikephil.charting.components.XAxis;
 import com.github.mikephil.charting.components.XAxis.XAxisPosition;
+import com.github.mikephil.charting.utils.ListXValueProvider;
 import com.github.mikephil.charting.utils.Transformer;
 import com.github.mikephil.charting.utils.Utils;
 import com.github.mikephil.charting.utils.ViewPortHandler;
+import com.github.mikephil.charting.utils.XValueProvider;
 
 import java.util.List;
 
@@ -31,6 +33,10 @@ public class XAxisRenderer extends AxisRenderer {
     }
 
     public void computeAxis(float xValAverageLength, List<String> xValues) {
+        computeAxis(xValAverageLength, new ListXValueProvider(xValues));
+    }
+
+    public void computeAxis(float xValAverageLength, XValueProvider xValues) {
 
         mAxisLabelPaint.setTypeface(mXAxis.getTypeface());
         mAxisLabelPaint.setTextSize(mXAxis.getTextSize());
@@ -46,7 +52,7 @@ public class XAxisRenderer extends AxisRenderer {
 
         mXAxis.mLabelWidth = Utils.calcTextWidth(mAxisLabelPaint, a.toString());
         mXAxis.mLabelHeight = Utils.calcTextHeight(mAxisLabelPaint, "Q");
-        mXAxis.setValues(xValues);
+        mXAxis.setValueProvider(xValues);
     }
 
     @Override
@@ -127,8 +133,10 @@ public class XAxisRenderer extends AxisRenderer {
         int maxx = mMaxX;
         int minx = mMinX;
 
-        if (maxx >= mXAxis.getValues().size())
-            maxx = mXAxis.getValues().size()-1;
+        int count = mXAxis.getValueCount();
+
+        if (maxx >= count)
+            maxx = count - 1;
 
         if (minx < 0)
             minx = 0;
@@ -141,12 +149,12 @@ public class XAxisRenderer extends AxisRenderer {
 
             if (mViewPortHandler.isInBoundsX(position[0])) {
 
-                String label = mXAxis.getValues().get(i);
+                String label = mXAxis.getValue(i);
 
                 if (mXAxis.isAvoidFirstLastClippingEnabled()) {
 
                     // avoid clipping of the last
-                    if (i == mXAxis.getValues().size() - 1 && mXAxis.getValues().size() > 1) {
+                    if (i == count - 1 && count > 1) {
                         float width = Utils.calcTextWidth(mAxisLabelPaint, label);
 
                         if (width > mViewPortHandler.offsetRight() * 2
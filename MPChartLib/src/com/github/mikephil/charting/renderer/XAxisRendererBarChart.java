@@ -56,14 +56,14 @@ public class XAxisRendererBarChart extends XAxisRenderer {
             mTrans.pointValuesToPixel(position);
 
             if (mViewPortHandler.isInBoundsX(position[0]) && i >= 0
-                    && i < mXAxis.getValues().size()) {
+                    && i < mXAxis.getValueCount()) {
 
-                String label = mXAxis.getValues().get(i);
+                String label = mXAxis.getValue(i);
 
                 if (mXAxis.isAvoidFirstLastClippingEnabled()) {
 
                     // avoid clipping of the last
-                    if (i == mXAxis.getValues().size() - 1) {
+                    if (i == mXAxis.getValueCount() - 1) {
                         float width = Utils.calcTextWidth(mAxisLabelPaint, label);
 
                         if (width > mViewPortHandler.offsetRight() * 2
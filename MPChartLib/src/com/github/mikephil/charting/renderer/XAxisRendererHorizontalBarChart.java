@@ -14,6 +14,7 @@ import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.utils.Transformer;
 import com.github.mikephil.charting.utils.Utils;
 import com.github.mikephil.charting.utils.ViewPortHandler;
+import com.github.mikephil.charting.utils.XValueProvider;
 
 import java.util.List;
 
@@ -25,11 +26,11 @@ public class XAxisRendererHorizontalBarChart extends XAxisRendererBarChart {
     }
     
     @Override
-    public void computeAxis(float xValAverageLength, List<String> xValues) {
+    public void computeAxis(float xValAverageLength, XValueProvider xValues) {
         
         mAxisLabelPaint.setTypeface(mXAxis.getTypeface());
         mAxisLabelPaint.setTextSize(mXAxis.getTextSize());
-        mXAxis.setValues(xValues);
+        mXAxis.setValueProvider(xValues);
 
         String longest = mXAxis.getLongestLabel();
         mXAxis.mLabelWidth = (int) (Utils.calcTextWidth(mAxisLabelPaint, longest) + mXAxis.getXOffset() * 3.5f);
@@ -91,7 +92,7 @@ public class XAxisRendererHorizontalBarChart extends XAxisRendererBarChart {
         BarData bd = mChart.getData();
         int step = bd.getDataSetCount();
 
-        for (int i = 0; i < mXAxis.getValues().size(); i += mXAxis.mAxisLabelModulus) {
+        for (int i = 0; i < mXAxis.getValueCount(); i += mXAxis.mAxisLabelModulus) {
 
             position[1] = i * step + i * bd.getGroupSpace()
                     + bd.getGroupSpace() / 2f;
@@ -105,7 +106,7 @@ public class XAxisRendererHorizontalBarChart extends XAxisRendererBarChart {
 
             if (mViewPortHandler.isInBoundsY(position[1])) {
 
-                String label = mXAxis.getValues().get(i);
+                String label = mXAxis.getValue(i);
                 c.drawText(label, pos, position[1] + mXAxis.mLabelHeight / 2f,
                         mAxisLabelPaint);
             }
@@ -129,7 +130,7 @@ public class XAxisRendererHorizontalBarChart extends XAxisRendererBarChart {
         // take into consideration that multiple DataSets increase mDeltaX
         int step = bd.getDataSetCount();
 
-        for (int i = 0; i < mXAxis.getValues().size(); i += mXAxis.mAxisLabelModulus) {
+        for (int i = 0; i < mXAxis.getValueCount(); i += mXAxis.mAxisLabelModulus) {
 
             position[1] = i * step + i * bd.getGroupSpace() - 0.5f;
 
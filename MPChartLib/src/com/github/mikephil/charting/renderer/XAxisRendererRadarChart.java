@@ -37,9 +37,9 @@ public class XAxisRendererRadarChart extends XAxisRenderer {
 
         PointF center = mChart.getCenterOffsets();
 
-        for (int i = 0; i < mXAxis.getValues().size(); i++) {
+        for (int i = 0; i < mXAxis.getValueCount(); i++) {
 
-            String text = mXAxis.getValues().get(i);
+            String text = mXAxis.getValue(i);
 
             float angle = (sliceangle * i + mChart.getRotationAngle()) % 360f;
 
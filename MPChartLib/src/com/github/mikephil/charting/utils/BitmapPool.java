@@ -0,0 +1,168 @@
+
+package com.github.mikephil.charting.utils;
+
+import android.graphics.Bitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pool of bitmaps used as offscreen render targets (layers, bitmaps of the
+ * renderers, exports), keyed by width, height and config. Bitmaps that are
+ * no longer needed are released into the pool and handed out again for the
+ * next request of the same size and config, e.g. by another chart or after a
+ * rotation, instead of allocating a new one. The pool holds idle bitmaps up
+ * to a maximum number of bytes, the ones released first are recycled when it
+ * is exceeded. The pool is shared by all charts unless they get their own.
+ *
+ * @author Philipp Jahoda
+ */
+public class BitmapPool {
+
+    /** the default maximum size of the idle bitmaps, in bytes */
+    private static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    /** pool used by all charts that have no other one set */
+    private static BitmapPool sDefault;
+
+    /** the idle bitmaps, in the order they were released */
+    private List<Bitmap> mBitmaps = new ArrayList<Bitmap>();
+
+    /** the size of the idle bitmaps, in bytes */
+    private long mBytes = 0;
+
+    /** the maximum size of the idle bitmaps, in bytes */
+    private long mMaxBytes;
+
+    /**
+     * @param maxBytes the maximum size of the idle bitmaps in bytes
+     */
+    public BitmapPool(long maxBytes) {
+
+        if (maxBytes < 0)
+            throw new IllegalArgumentException("The maximum size must not be negative.");
+
+        mMaxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the pool shared by all charts.
+     *
+     * @return
+     */
+    public static synchronized BitmapPool getDefault() {
+
+        if (sDefault == null)
+            sDefault = new BitmapPool(DEFAULT_MAX_BYTES);
+
+        return sDefault;
+    }
+
+    /**
+     * Returns a mutable bitmap of the given size and config, an idle one from
+     * the pool if there is one, a new one otherwise. The content of a reused
+     * bitmap is undefined, erase it before drawing.
+     *
+     * @param width
+     * @param height
+     * @param config
+     * @return
+     */
+    public synchronized Bitmap obtain(int width, int height, Bitmap.Config config) {
+
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("The size of a bitmap must be positive.");
+
+        // the bitmap released last first
+        for (int i = mBitmaps.size() - 1; i >= 0; i--) {
+
+            Bitmap bitmap = mBitmaps.get(i);
+
+            if (bitmap.getWidth() == width && bitmap.getHeight() == height
+                    && bitmap.getConfig() == config) {
+
+                mBitmaps.remove(i);
+                mBytes -= getBytes(bitmap);
+
+                return bitmap;
+            }
+        }
+
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * Returns the bitmap to the pool, it must not be used afterwards. Bitmaps
+     * released first are recycled if the pool gets too large. Null is
+     * ignored.
+     *
+     * @param bitmap
+     */
+    public synchronized void release(Bitmap bitmap) {
+
+        if (bitmap == null || bitmap.isRecycled() || mBitmaps.contains(bitmap))
+            return;
+
+        long bytes = getBytes(bitmap);
+
+        if (!bitmap.isMutable() || bytes > mMaxBytes) {
+            bitmap.recycle();
+            return;
+        }
+
+        mBitmaps.add(bitmap);
+        mBytes += bytes;
+
+        trim(mMaxBytes);
+    }
+
+    /**
+     * Recycles idle bitmaps until they take no more than the given number of
+     * bytes, the ones released first first.
+     *
+     * @param maxBytes
+     */
+    public synchronized void trim(long maxBytes) {
+
+        while (mBytes > maxBytes && !mBitmaps.isEmpty()) {
+
+            Bitmap bitmap = mBitmaps.remove(0);
+            mBytes -= getBytes(bitmap);
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * Recycles all idle bitmaps, e.g. when the system is low on memory.
+     */
+    public void clear() {
+        trim(0);
+    }
+
+    /**
+     * Sets the maximum size of the idle bitmaps in bytes.
+     *
+     * @param maxBytes
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+
+        if (maxBytes < 0)
+            throw new IllegalArgumentException("The maximum size must not be negative.");
+
+        mMaxBytes = maxBytes;
+        trim(maxBytes);
+    }
+
+    /**
+     * Returns the size of the idle bitmaps in bytes.
+     *
+     * @return
+     */
+    public synchronized long getBytes() {
+        return mBytes;
+    }
+
+    private static long getBytes(Bitmap bitmap) {
+        return (long) bitmap.getRowBytes() * bitmap.getHeight();
+    }
+}
@@ -0,0 +1,229 @@
+
+package com.github.mikephil.charting.utils;
+
+/**
+ * ValueFormatter that remembers the labels of the most recently formatted
+ * values of another ValueFormatter, e.g. for the labels of an axis, which
+ * show the same values over and over while panning, or DataSets with many
+ * repeated values. Looking up a label does not allocate memory, only
+ * formatting a value that is not cached does. The least recently used label
+ * is dropped if the cache is full. Only use it with formatters that always
+ * return the same label for the same value.
+ * 
+ * @author Philipp Jahoda
+ */
+public class CachedValueFormatter implements CharValueFormatter {
+
+    /** the formatter that formats the values that are not cached */
+    private ValueFormatter mFormatter;
+
+    /** the bits of the cached values, per cache entry */
+    private int[] mValues;
+
+    /** the labels of the cached values, per cache entry */
+    private String[] mLabels;
+
+    /** the next more and less recently used entry, -1 for none */
+    private int[] mNewer;
+    private int[] mOlder;
+
+    /** the most and least recently used entry */
+    private int mNewest = -1;
+    private int mOldest = -1;
+
+    /** the number of cached labels */
+    private int mCount = 0;
+
+    /** hash table with linear probing, holds entry indices, -1 if empty */
+    private int[] mTable;
+
+    /**
+     * @param formatter the formatter whose labels are cached
+     * @param capacity the maximum number of cached labels
+     */
+    public CachedValueFormatter(ValueFormatter formatter, int capacity) {
+
+        if (capacity < 1)
+            throw new IllegalArgumentException("The capacity must be at least 1.");
+
+        mFormatter = formatter;
+        mValues = new int[capacity];
+        mLabels = new String[capacity];
+        mNewer = new int[capacity];
+        mOlder = new int[capacity];
+
+        int size = 2;
+
+        while (size < capacity * 2)
+            size <<= 1;
+
+        mTable = new int[size];
+        clear();
+    }
+
+    /**
+     * Returns the formatter whose labels are cached.
+     * 
+     * @return
+     */
+    public ValueFormatter getFormatter() {
+        return mFormatter;
+    }
+
+    /**
+     * Removes all cached labels.
+     */
+    public void clear() {
+
+        for (int i = 0; i < mTable.length; i++)
+            mTable[i] = -1;
+
+        for (int i = 0; i < mCount; i++)
+            mLabels[i] = null;
+
+        mCount = 0;
+        mNewest = -1;
+        mOldest = -1;
+    }
+
+    @Override
+    public String getFormattedValue(float value) {
+
+        int bits = Float.floatToIntBits(value);
+        int mask = mTable.length - 1;
+        int slot = hash(bits) & mask;
+
+        while (mTable[slot] != -1) {
+
+            int entry = mTable[slot];
+
+            if (mValues[entry] == bits) {
+                touch(entry);
+                return mLabels[entry];
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        String label = mFormatter.getFormattedValue(value);
+
+        int entry;
+
+        if (mCount < mValues.length) {
+            entry = mCount++;
+        } else {
+
+            // reuse the least recently used entry
+            entry = mOldest;
+            unlink(entry);
+            remove(mValues[entry]);
+
+            // the slot of the new value might have moved
+            slot = hash(bits) & mask;
+
+            while (mTable[slot] != -1)
+                slot = (slot + 1) & mask;
+        }
+
+        mValues[entry] = bits;
+        mLabels[entry] = label;
+        mTable[slot] = entry;
+        linkNewest(entry);
+
+        return label;
+    }
+
+    @Override
+    public int formatValue(float value, char[] out) {
+
+        String label = getFormattedValue(value);
+        int length = label.length();
+
+        if (length <= out.length)
+            label.getChars(0, length, out, 0);
+
+        return length;
+    }
+
+    /**
+     * Removes the value from the hash table and moves the following values
+     * of its probe sequence up, so that no lookup misses them.
+     */
+    private void remove(int bits) {
+
+        int mask = mTable.length - 1;
+        int slot = hash(bits) & mask;
+
+        while (mValues[mTable[slot]] != bits)
+            slot = (slot + 1) & mask;
+
+        int next = slot;
+
+        while (true) {
+
+            next = (next + 1) & mask;
+
+            if (mTable[next] == -1)
+                break;
+
+            int home = hash(mValues[mTable[next]]) & mask;
+
+            // move the entry up if its home is not between the gap and it
+            boolean between = slot <= next
+                    ? slot < home && home <= next
+                    : slot < home || home <= next;
+
+            if (!between) {
+                mTable[slot] = mTable[next];
+                slot = next;
+            }
+        }
+
+        mTable[slot] = -1;
+    }
+
+    private void touch(int entry) {
+
+        if (entry == mNewest)
+            return;
+
+        unlink(entry);
+        linkNewest(entry);
+    }
+
+    private void unlink(int entry) {
+
+        int newer = mNewer[entry];
+        int older = mOlder[entry];
+
+        if (newer != -1)
+            mOlder[newer] = older;
+        else
+            mNewest = older;
+
+        if (older != -1)
+            mNewer[older] = newer;
+        else
+            mOldest = newer;
+    }
+
+    private void linkNewest(int entry) {
+
+        mNewer[entry] = -1;
+        mOlder[entry] = mNewest;
+
+        if (mNewest != -1)
+            mNewer[mNewest] = entry;
+
+        mNewest = entry;
+
+        if (mOldest == -1)
+            mOldest = entry;
+    }
+
+    private static int hash(int bits) {
+
+        int h = bits * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
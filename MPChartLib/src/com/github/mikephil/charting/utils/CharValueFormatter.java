@@ -0,0 +1,23 @@
+
+package com.github.mikephil.charting.utils;
+
+/**
+ * ValueFormatter that can write the formatted value into a char array
+ * instead of returning a new String, which allows drawing value-labels
+ * without memory allocations via Canvas.drawText(char[], ...).
+ * 
+ * @author Philipp Jahoda
+ */
+public interface CharValueFormatter extends ValueFormatter {
+
+    /**
+     * Writes the formatted value into the given array, starting at index 0,
+     * and returns the number of chars. If the array is too small, nothing is
+     * written and the number of chars needed is returned.
+     * 
+     * @param value the value to be formatted
+     * @param out the array the formatted value is written into
+     * @return the length of the formatted value
+     */
+    public int formatValue(float value, char[] out);
+}
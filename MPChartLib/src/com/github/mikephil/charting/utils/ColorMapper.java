@@ -0,0 +1,40 @@
+
+package com.github.mikephil.charting.utils;
+
+import com.github.mikephil.charting.data.DataSet;
+
+/**
+ * Maps the values of a DataSet to colors, e.g. for heat-colored lines or
+ * scatter points. Set it via DataSet.setColorMapper(...), the DataSet then
+ * calculates one color per value whenever its values change and the
+ * renderers read the colors from that array (DataSet.getColorArray()).
+ * 
+ * @author Philipp Jahoda
+ */
+public abstract class ColorMapper {
+
+    /**
+     * Returns the color for the given value.
+     * 
+     * @param val
+     * @return
+     */
+    public abstract int getColor(float val);
+
+    /**
+     * Writes the colors for the values of the given DataSet between from
+     * (inclusive) and to (exclusive) into the provided array, starting at
+     * index from. Override this with a tighter loop if getColor(...) is
+     * expensive to call per value.
+     * 
+     * @param set
+     * @param from
+     * @param to
+     * @param colors
+     */
+    public void mapColors(DataSet<?> set, int from, int to, int[] colors) {
+
+        for (int i = from; i < to; i++)
+            colors[i] = getColor(set.getValAt(i));
+    }
+}
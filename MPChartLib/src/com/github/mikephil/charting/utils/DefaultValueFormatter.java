@@ -2,18 +2,44 @@
 package com.github.mikephil.charting.utils;
 
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
 
 /**
  * Default formatter used for formatting values. Uses a DecimalFormat with
- * pre-calculated number of digits (depending on max and min value).
+ * pre-calculated number of digits (depending on max and min value). Values
+ * are formatted into a char array without memory allocations, the result is
+ * the same as the one of the DecimalFormat.
  *
  * @author Philipp Jahoda
  */
-public class DefaultValueFormatter implements ValueFormatter {
+public class DefaultValueFormatter implements CharValueFormatter {
+
+    /** the maximum number of digits the fast formatting supports */
+    private static final int MAX_FAST_DIGITS = 12;
 
     /** decimalformat for formatting */
     private DecimalFormat mFormat;
 
+    /** the number of decimal digits */
+    private int mDigits;
+
+    /** 10 ^ mDigits */
+    private double mScale = 1.0;
+
+    private char mZeroDigit;
+    private char mDecimalSeparator;
+    private char mGroupingSeparator;
+    private char mMinusSign;
+
+    /** buffer the formatted values are built in, reused */
+    private char[] mBuffer = new char[48];
+
+    /** buffer for values the DecimalFormat has to format, reused */
+    private StringBuffer mFallback = new StringBuffer();
+
+    private FieldPosition mFieldPosition = new FieldPosition(0);
+
     /**
      * Constructor that specifies to how many digits the value should be
      * formatted.
@@ -30,11 +56,98 @@ public class DefaultValueFormatter implements ValueFormatter {
         }
 
         mFormat = new DecimalFormat("###,###,###,##0" + b.toString());
+
+        mDigits = digits;
+
+        for (int i = 0; i < digits && i < MAX_FAST_DIGITS; i++)
+            mScale *= 10.0;
+
+        DecimalFormatSymbols symbols = mFormat.getDecimalFormatSymbols();
+        mZeroDigit = symbols.getZeroDigit();
+        mDecimalSeparator = symbols.getDecimalSeparator();
+        mGroupingSeparator = symbols.getGroupingSeparator();
+        mMinusSign = symbols.getMinusSign();
     }
 
     @Override
     public String getFormattedValue(float value) {
-        // avoid memory allocations here (for performance)
-        return mFormat.format(value);
+
+        int length = formatValue(value, mBuffer);
+
+        if (length > mBuffer.length) {
+            mBuffer = new char[length];
+            length = formatValue(value, mBuffer);
+        }
+
+        return String.valueOf(mBuffer, 0, length);
+    }
+
+    @Override
+    public int formatValue(float value, char[] out) {
+
+        // the scaled float is exact in a double for up to 12 digits, rint()
+        // rounds half-even like the DecimalFormat, which prints at most 17
+        // significant digits, so longer values are left to it
+        double scaled = Math.rint(Math.abs((double) value) * mScale);
+
+        if (mDigits > MAX_FAST_DIGITS || Double.isNaN(scaled) || scaled >= 1e15
+                || (scaled == 0.0 && (value < 0f || 1f / value < 0f)))
+            return formatFallback(value, out);
+
+        long digits = (long) scaled;
+
+        // the number of chars: integer digits, separators, decimal digits
+        int intDigits = 1;
+
+        for (long v = digits / (long) mScale; v >= 10; v /= 10)
+            intDigits++;
+
+        int length = intDigits + (intDigits - 1) / 3
+                + (mDigits > 0 ? mDigits + 1 : 0) + (value < 0f ? 1 : 0);
+
+        if (length > out.length)
+            return length;
+
+        // write from the last digit to the first one
+        int index = length - 1;
+
+        for (int i = 0; i < mDigits; i++) {
+            out[index--] = (char) (mZeroDigit + (int) (digits % 10));
+            digits /= 10;
+        }
+
+        if (mDigits > 0)
+            out[index--] = mDecimalSeparator;
+
+        for (int i = 0; i < intDigits; i++) {
+
+            if (i > 0 && i % 3 == 0)
+                out[index--] = mGroupingSeparator;
+
+            out[index--] = (char) (mZeroDigit + (int) (digits % 10));
+            digits /= 10;
+        }
+
+        if (value < 0f)
+            out[index] = mMinusSign;
+
+        return length;
+    }
+
+    /**
+     * Formats the given value with the DecimalFormat, for values the fast
+     * formatting does not cover.
+     */
+    private int formatFallback(float value, char[] out) {
+
+        mFallback.setLength(0);
+        mFormat.format(value, mFallback, mFieldPosition);
+
+        int length = mFallback.length();
+
+        if (length <= out.length)
+            mFallback.getChars(0, length, out, 0);
+
+        return length;
     }
 }
@@ -1,26 +1,46 @@
 
 package com.github.mikephil.charting.utils;
 
+import android.content.res.AssetFileDescriptor;
 import android.content.res.AssetManager;
 import android.os.Environment;
 import android.util.Log;
 
+import com.github.mikephil.charting.data.BarDataSet;
 import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Utilities class for interacting with the assets and the devices storage to
- * load and save DataSet objects from and to .txt files.
+ * load and save DataSet objects from and to .txt files and binary files. The
+ * binary format is little-endian and columnar: a header of BINARY_HEADER_SIZE
+ * bytes (magic number, version, entry count, stack size, minimum and maximum
+ * y-value, sum of the absolute y-values, minimum and maximum x-index),
+ * followed by the x-index column (int), the y-value column (float) and, if
+ * the stack size is not 0, the stack column (stack size floats per entry,
+ * padded with NaN).
  * 
  * @author Philipp Jahoda
  */
@@ -28,6 +48,15 @@ public class FileUtils {
 
     private static final String LOG = "MPChart-FileUtils";
 
+    /** marks binary chart data files, "MPCD" in little-endian */
+    private static final int BINARY_MAGIC = 0x4443504D;
+
+    /** version of the binary format */
+    private static final int BINARY_VERSION = 1;
+
+    /** size of the header of binary chart data files in bytes */
+    public static final int BINARY_HEADER_SIZE = 40;
+
     /**
      * Loads a an Array of Entries from a textfile from the sd-card.
      * 
@@ -188,6 +217,100 @@ public class FileUtils {
         // return ds;
     }
 
+    /**
+     * Loads the entries of a textfile from the sd-card and appends them to the
+     * given DataSet, see TextEntryParser. Much faster than
+     * loadEntriesFromFile(String), creates no garbage per line if the DataSet
+     * is a PrimitiveLineDataSet. Returns the number of entries that have been
+     * added.
+     * 
+     * @param path the name of the file on the sd-card (+ path if needed)
+     * @param set the DataSet the entries are appended to
+     * @return
+     */
+    public static int loadEntriesFromFile(String path, DataSet<?> set) {
+
+        File file = new File(Environment.getExternalStorageDirectory(), path);
+
+        FileInputStream in = null;
+
+        try {
+            in = new FileInputStream(file);
+            return new TextEntryParser().parse(in.getChannel(), set);
+        } catch (IOException e) {
+            Log.e(LOG, e.toString());
+            return 0;
+        } finally {
+
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    Log.e(LOG, e.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the entries of a textfile from the sd-card using the given number
+     * of threads and appends them to the given DataSet, see
+     * TextEntryParser.parseParallel(...). Returns the number of entries that
+     * have been added.
+     * 
+     * @param path the name of the file on the sd-card (+ path if needed)
+     * @param set the DataSet the entries are appended to
+     * @param threads
+     * @return
+     */
+    public static int loadEntriesFromFile(String path, DataSet<?> set, int threads) {
+
+        File file = new File(Environment.getExternalStorageDirectory(), path);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            return new TextEntryParser().parseParallel(file, set, executor, threads);
+        } catch (IOException e) {
+            Log.e(LOG, e.toString());
+            return 0;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Loads the entries of a textfile from the assets folder and appends them
+     * to the given DataSet, see TextEntryParser. Returns the number of entries
+     * that have been added.
+     * 
+     * @param am
+     * @param path the name of the file in the assets folder (+ path if needed)
+     * @param set the DataSet the entries are appended to
+     * @return
+     */
+    public static int loadEntriesFromAssets(AssetManager am, String path, DataSet<?> set) {
+
+        InputStream in = null;
+
+        try {
+            in = am.open(path);
+            return new TextEntryParser().parse(in, set);
+        } catch (IOException e) {
+            Log.e(LOG, e.toString());
+            return 0;
+        } finally {
+
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    Log.e(LOG, e.toString());
+                }
+            }
+        }
+    }
+
     /**
      * Saves an Array of Entries to the specified location on the sdcard
      * 
@@ -298,4 +421,296 @@ public class FileUtils {
         // DataSet ds = new DataSet(entries, label);
         // return ds;
     }
+
+    /**
+     * Saves the values of the given DataSet to a binary file (see the class
+     * description for the format). If the DataSet is a stacked BarDataSet,
+     * the stacks are saved as well. An existing file is overwritten. Returns
+     * false if the file could not be written.
+     * 
+     * @param set
+     * @param file
+     * @return
+     */
+    public static boolean saveToBinaryFile(DataSet<?> set, File file) {
+
+        int count = set.getEntryCount();
+        int stackSize = 0;
+
+        if (set instanceof BarDataSet && ((BarDataSet) set).isStacked())
+            stackSize = ((BarDataSet) set).getStackSize();
+
+        try {
+            MappedByteBuffer buf = mapForWriting(file, binaryFileSize(count, stackSize));
+
+            int xOffset = BINARY_HEADER_SIZE;
+            int yOffset = xOffset + count * 4;
+            int stackOffset = yOffset + count * 4;
+
+            float yMin = count > 0 ? set.getValAt(0) : 0f;
+            float yMax = yMin;
+            double sum = 0.0;
+            int xMin = count > 0 ? set.getXIndexAt(0) : 0;
+            int xMax = xMin;
+
+            for (int i = 0; i < count; i++) {
+
+                float val = set.getValAt(i);
+                int xIndex = set.getXIndexAt(i);
+
+                buf.putInt(xOffset + i * 4, xIndex);
+                buf.putFloat(yOffset + i * 4, val);
+
+                if (val < yMin)
+                    yMin = val;
+                if (val > yMax)
+                    yMax = val;
+                if (xIndex < xMin)
+                    xMin = xIndex;
+                if (xIndex > xMax)
+                    xMax = xIndex;
+
+                sum += Math.abs(val);
+
+                if (stackSize > 0) {
+
+                    float[] vals = ((BarEntry) set.getYVals().get(i)).getVals();
+                    int offset = stackOffset + i * stackSize * 4;
+
+                    for (int j = 0; j < stackSize; j++) {
+
+                        float stackVal;
+
+                        if (vals == null)
+                            stackVal = j == 0 ? val : Float.NaN;
+                        else
+                            stackVal = j < vals.length ? vals[j] : Float.NaN;
+
+                        buf.putFloat(offset + j * 4, stackVal);
+                    }
+                }
+            }
+
+            writeBinaryHeader(buf, count, stackSize, yMin, yMax, sum, xMin, xMax);
+            buf.force();
+
+            return true;
+        } catch (IOException e) {
+            Log.e(LOG, e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Saves the given columns to a binary file (see the class description for
+     * the format). An existing file is overwritten. Returns false if the file
+     * could not be written.
+     * 
+     * @param vals the y-values
+     * @param xIndices the x-index of each value
+     * @param count the number of values to save
+     * @param file
+     * @return
+     */
+    public static boolean saveToBinaryFile(float[] vals, int[] xIndices, int count, File file) {
+
+        try {
+            MappedByteBuffer buf = mapForWriting(file, binaryFileSize(count, 0));
+
+            float yMin = count > 0 ? vals[0] : 0f;
+            float yMax = yMin;
+            double sum = 0.0;
+            int xMin = count > 0 ? xIndices[0] : 0;
+            int xMax = xMin;
+
+            for (int i = 0; i < count; i++) {
+
+                float val = vals[i];
+                int xIndex = xIndices[i];
+
+                if (val < yMin)
+                    yMin = val;
+                if (val > yMax)
+                    yMax = val;
+                if (xIndex < xMin)
+                    xMin = xIndex;
+                if (xIndex > xMax)
+                    xMax = xIndex;
+
+                sum += Math.abs(val);
+            }
+
+            intColumn(buf, BINARY_HEADER_SIZE, count).put(xIndices, 0, count);
+            floatColumn(buf, BINARY_HEADER_SIZE + count * 4, count).put(vals, 0, count);
+
+            writeBinaryHeader(buf, count, 0, yMin, yMax, sum, xMin, xMax);
+            buf.force();
+
+            return true;
+        } catch (IOException e) {
+            Log.e(LOG, e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Loads a binary chart data file by mapping it into memory, the columns
+     * of the returned object are views on the file. Returns null if the file
+     * could not be read or has an invalid format.
+     * 
+     * @param file
+     * @return
+     */
+    public static MappedEntries loadBinaryFile(File file) {
+
+        RandomAccessFile raf = null;
+
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+
+            return readBinary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            Log.e(LOG, e.toString());
+            return null;
+        } finally {
+            // the mapping stays valid after the channel is closed
+            if (raf != null) {
+                try {
+                    raf.close();
+                } catch (IOException e) {
+                    Log.e(LOG, e.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads a binary chart data file from the assets folder by mapping it into
+     * memory. The file must be stored uncompressed in the apk (e.g. by giving
+     * it an extension that is not compressed, such as .mp3, or via the
+     * noCompress option of aapt). Returns null if the file could not be read
+     * or has an invalid format.
+     * 
+     * @param am
+     * @param path the name of the file in the assets folder (+ path if needed)
+     * @return
+     */
+    public static MappedEntries loadBinaryFromAssets(AssetManager am, String path) {
+
+        AssetFileDescriptor fd = null;
+        FileInputStream in = null;
+
+        try {
+            fd = am.openFd(path);
+            in = fd.createInputStream();
+
+            return readBinary(in.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                    fd.getStartOffset(), fd.getLength()));
+        } catch (IOException e) {
+            Log.e(LOG, e.toString());
+            return null;
+        } finally {
+
+            try {
+                if (in != null)
+                    in.close();
+                if (fd != null)
+                    fd.close();
+            } catch (IOException e) {
+                Log.e(LOG, e.toString());
+            }
+        }
+    }
+
+    private static MappedEntries readBinary(ByteBuffer buf) {
+
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buf.capacity() < BINARY_HEADER_SIZE || buf.getInt(0) != BINARY_MAGIC) {
+            Log.e(LOG, "Not a binary chart data file.");
+            return null;
+        }
+
+        if (buf.getInt(4) != BINARY_VERSION) {
+            Log.e(LOG, "Unsupported version of binary chart data file: " + buf.getInt(4));
+            return null;
+        }
+
+        int count = buf.getInt(8);
+        int stackSize = buf.getInt(12);
+
+        if (count < 0 || stackSize < 0 || buf.capacity() < binaryFileSize(count, stackSize)) {
+            Log.e(LOG, "Binary chart data file is truncated.");
+            return null;
+        }
+
+        int yOffset = BINARY_HEADER_SIZE + count * 4;
+
+        return new MappedEntries(count, stackSize,
+                buf.getFloat(16), buf.getFloat(20), buf.getDouble(24),
+                buf.getInt(32), buf.getInt(36),
+                intColumn(buf, BINARY_HEADER_SIZE, count),
+                floatColumn(buf, yOffset, count),
+                stackSize > 0 ? floatColumn(buf, yOffset + count * 4, count * stackSize) : null);
+    }
+
+    private static long binaryFileSize(int count, int stackSize) {
+        return BINARY_HEADER_SIZE + (long) count * (8 + stackSize * 4);
+    }
+
+    private static MappedByteBuffer mapForWriting(File file, long size) throws IOException {
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+
+        try {
+            raf.setLength(size);
+
+            MappedByteBuffer buf = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            return buf;
+        } finally {
+            raf.close();
+        }
+    }
+
+    private static void writeBinaryHeader(ByteBuffer buf, int count, int stackSize, float yMin,
+            float yMax, double sum, int xMin, int xMax) {
+        buf.putInt(0, BINARY_MAGIC);
+        buf.putInt(4, BINARY_VERSION);
+        buf.putInt(8, count);
+        buf.putInt(12, stackSize);
+        buf.putFloat(16, yMin);
+        buf.putFloat(20, yMax);
+        buf.putDouble(24, sum);
+        buf.putInt(32, xMin);
+        buf.putInt(36, xMax);
+    }
+
+    /**
+     * Returns an IntBuffer view on length ints of the given buffer, starting
+     * at the given byte offset.
+     */
+    private static IntBuffer intColumn(ByteBuffer buf, int offset, int length) {
+
+        ByteBuffer column = buf.duplicate();
+        column.position(offset);
+        column.limit(offset + length * 4);
+
+        // slice() resets the byte order
+        return column.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Returns a FloatBuffer view on length floats of the given buffer,
+     * starting at the given byte offset.
+     */
+    private static FloatBuffer floatColumn(ByteBuffer buf, int offset, int length) {
+
+        ByteBuffer column = buf.duplicate();
+        column.position(offset);
+        column.limit(offset + length * 4);
+
+        return column.slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    }
 }
@@ -0,0 +1,67 @@
+package com.github.mikephil.charting.utils;
+
+/**
+ * XValueProvider that creates the label of each x-index by formatting the
+ * x-index with a ValueFormatter, e.g. to turn it into a date or time.
+ * 
+ * @author Philipp Jahoda
+ */
+public class FormattedXValueProvider implements XValueProvider {
+
+    /** the number of x-values */
+    private int mCount;
+
+    /** the formatter the labels are created with */
+    private ValueFormatter mFormatter;
+
+    /** the average label length, <= 0 if unknown */
+    private float mAverageLength;
+
+    /**
+     * @param count the number of x-values
+     * @param formatter the formatter that turns an x-index into its label
+     */
+    public FormattedXValueProvider(int count, ValueFormatter formatter) {
+        this(count, formatter, 0f);
+    }
+
+    /**
+     * @param count the number of x-values
+     * @param formatter the formatter that turns an x-index into its label
+     * @param averageLength the average length (in characters) of the labels,
+     *            <= 0 to estimate it from a few sample labels
+     */
+    public FormattedXValueProvider(int count, ValueFormatter formatter, float averageLength) {
+        mCount = count;
+        mFormatter = formatter;
+        mAverageLength = averageLength;
+    }
+
+    /**
+     * Sets the number of x-values.
+     * 
+     * @param count
+     */
+    public void setXValCount(int count) {
+        mCount = count;
+    }
+
+    public ValueFormatter getFormatter() {
+        return mFormatter;
+    }
+
+    @Override
+    public int getXValCount() {
+        return mCount;
+    }
+
+    @Override
+    public String getXValue(int xIndex) {
+        return mFormatter.getFormattedValue(xIndex);
+    }
+
+    @Override
+    public float getXValAverageLength() {
+        return mAverageLength;
+    }
+}
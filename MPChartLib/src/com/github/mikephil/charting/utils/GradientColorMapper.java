@@ -0,0 +1,102 @@
+
+package com.github.mikephil.charting.utils;
+
+/**
+ * ColorMapper that interpolates linearly between colors at given values
+ * (stops). Values below the first or above the last stop get the color of
+ * that stop.
+ * 
+ * @author Philipp Jahoda
+ */
+public class GradientColorMapper extends ColorMapper {
+
+    /** the values of the stops, ascending */
+    private float[] mStops;
+
+    /** the colors at the stops */
+    private int[] mColors;
+
+    /**
+     * @param stops the values of the stops, ascending
+     * @param colors the colors at the stops, one per stop
+     */
+    public GradientColorMapper(float[] stops, int[] colors) {
+
+        if (stops.length == 0 || stops.length != colors.length)
+            throw new IllegalArgumentException(
+                    "There must be one color per stop and at least one stop.");
+
+        for (int i = 1; i < stops.length; i++) {
+            if (stops[i] < stops[i - 1])
+                throw new IllegalArgumentException("The stops must be in ascending order.");
+        }
+
+        mStops = stops;
+        mColors = colors;
+    }
+
+    /**
+     * Creates a gradient from the first color at min to the second one at
+     * max.
+     * 
+     * @param min
+     * @param max
+     * @param minColor
+     * @param maxColor
+     */
+    public GradientColorMapper(float min, float max, int minColor, int maxColor) {
+        this(new float[] {
+                min, max
+        }, new int[] {
+                minColor, maxColor
+        });
+    }
+
+    @Override
+    public int getColor(float val) {
+
+        int last = mStops.length - 1;
+
+        if (val <= mStops[0])
+            return mColors[0];
+        if (val >= mStops[last])
+            return mColors[last];
+
+        // the first stop above the value, val > mStops[0] here
+        int low = 1;
+        int high = last;
+
+        while (low < high) {
+
+            int mid = (low + high) >>> 1;
+
+            if (mStops[mid] < val)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        float start = mStops[low - 1];
+        float fraction = (val - start) / (mStops[low] - start);
+
+        return interpolate(mColors[low - 1], mColors[low], fraction);
+    }
+
+    /**
+     * Interpolates each channel of the given colors.
+     */
+    private static int interpolate(int from, int to, float fraction) {
+
+        int color = 0;
+
+        for (int shift = 0; shift < 32; shift += 8) {
+
+            int start = (from >>> shift) & 0xff;
+            int end = (to >>> shift) & 0xff;
+
+            color |= (start + (int) ((end - start) * fraction)) << shift;
+        }
+
+        return color;
+    }
+}
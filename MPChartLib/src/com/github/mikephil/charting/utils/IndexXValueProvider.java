@@ -0,0 +1,74 @@
+package com.github.mikephil.charting.utils;
+
+/**
+ * XValueProvider that labels each x-index with its number (optionally
+ * shifted by an offset), like the x-values created by
+ * ChartData.generateXVals(...), without creating any String objects in
+ * advance. The number of x-values can be changed, which makes this provider
+ * well suited for real-time charts.
+ * 
+ * @author Philipp Jahoda
+ */
+public class IndexXValueProvider implements XValueProvider {
+
+    /** the number of x-values */
+    private int mCount;
+
+    /** the label of x-index 0 */
+    private long mOffset;
+
+    /**
+     * @param count the number of x-values
+     */
+    public IndexXValueProvider(int count) {
+        this(count, 0);
+    }
+
+    /**
+     * @param count the number of x-values
+     * @param offset the number x-index 0 is labeled with
+     */
+    public IndexXValueProvider(int count, long offset) {
+        mCount = count;
+        mOffset = offset;
+    }
+
+    /**
+     * Sets the number of x-values.
+     * 
+     * @param count
+     */
+    public void setXValCount(int count) {
+        mCount = count;
+    }
+
+    /**
+     * Sets the number x-index 0 is labeled with, e.g.
+     * RingBufferLineDataSet.getXOffset().
+     * 
+     * @param offset
+     */
+    public void setOffset(long offset) {
+        mOffset = offset;
+    }
+
+    public long getOffset() {
+        return mOffset;
+    }
+
+    @Override
+    public int getXValCount() {
+        return mCount;
+    }
+
+    @Override
+    public String getXValue(int xIndex) {
+        return String.valueOf(mOffset + xIndex);
+    }
+
+    @Override
+    public float getXValAverageLength() {
+        // the length of the largest label, at least one digit
+        return String.valueOf(mOffset + Math.max(mCount - 1, 0)).length();
+    }
+}
@@ -2,6 +2,7 @@
 package com.github.mikephil.charting.utils;
 
 import java.text.DecimalFormat;
+import java.text.FieldPosition;
 
 /**
  * Predefined value-formatter that formats large numbers in a pretty way.
@@ -12,7 +13,7 @@ import java.text.DecimalFormat;
  * 
  * @author Philipp Jahoda
  */
-public class LargeValueFormatter implements ValueFormatter {
+public class LargeValueFormatter implements CharValueFormatter {
 
     private static String[] SUFFIX = new String[] {
             "", "k", "m", "b", "t"
@@ -22,6 +23,11 @@ public class LargeValueFormatter implements ValueFormatter {
 
     private DecimalFormat mFormat;
 
+    /** buffer the DecimalFormat writes into, reused */
+    private StringBuffer mBuffer = new StringBuffer();
+
+    private FieldPosition mFieldPosition = new FieldPosition(0);
+
     public LargeValueFormatter() {
 
         mFormat = new DecimalFormat("###E0");
@@ -29,23 +35,76 @@ public class LargeValueFormatter implements ValueFormatter {
 
     @Override
     public String getFormattedValue(float value) {
-        return makePretty(value);
+        makePretty(value);
+        return mBuffer.toString();
+    }
+
+    @Override
+    public int formatValue(float value, char[] out) {
+
+        makePretty(value);
+
+        int length = mBuffer.length();
+
+        if (length <= out.length)
+            mBuffer.getChars(0, length, out, 0);
+
+        return length;
     }
 
     /**
-     * Formats each number properly. Special thanks to Roman Gromov
-     * (https://github.com/romangromov) for this piece of code.
+     * Formats each number properly into the buffer. Special thanks to Roman
+     * Gromov (https://github.com/romangromov) for this piece of code.
      */
-    private String makePretty(double number) {
+    private void makePretty(double number) {
+
+        StringBuffer r = mBuffer;
 
-        String r = mFormat.format(number);
+        r.setLength(0);
+        mFormat.format(number, r, mFieldPosition);
 
-        r = r.replaceAll("E[0-9]", SUFFIX[Character.getNumericValue(r.charAt(r.length() - 1)) / 3]);
+        // replace the exponent marker and its first digit by the suffix
+        int suffix = Character.getNumericValue(r.charAt(r.length() - 1)) / 3;
+
+        for (int i = 0; i < r.length() - 1; i++) {
+
+            if (r.charAt(i) == 'E' && isDigit(r.charAt(i + 1))) {
+                r.replace(i, i + 2, SUFFIX[suffix]);
+                break;
+            }
+        }
 
-        while (r.length() > MAX_LENGTH || r.matches("[0-9]+\\.[a-z]")) {
-            r = r.substring(0, r.length() - 2) + r.substring(r.length() - 1);
+        // remove the digits in front of the suffix until the number fits
+        while (r.length() > MAX_LENGTH || endsWithDecimalPoint(r)) {
+            r.deleteCharAt(r.length() - 2);
         }
+    }
+
+    /**
+     * Returns true if the text consists of digits, a decimal point and a
+     * single letter suffix, e.g. "10.k".
+     */
+    private static boolean endsWithDecimalPoint(StringBuffer r) {
+
+        int length = r.length();
+
+        if (length < 3)
+            return false;
+
+        char suffix = r.charAt(length - 1);
+
+        if (suffix < 'a' || suffix > 'z' || r.charAt(length - 2) != '.')
+            return false;
+
+        for (int i = 0; i < length - 2; i++) {
+            if (!isDigit(r.charAt(i)))
+                return false;
+        }
+
+        return true;
+    }
 
-        return r;
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 }
@@ -0,0 +1,56 @@
+package com.github.mikephil.charting.utils;
+
+import java.util.List;
+
+/**
+ * XValueProvider that takes the labels from a list of Strings. Changes of the
+ * list are reflected by the provider.
+ * 
+ * @author Philipp Jahoda
+ */
+public class ListXValueProvider implements XValueProvider {
+
+    /** the labels */
+    private List<String> mXVals;
+
+    /**
+     * @param xVals the list that holds one label per x-index
+     */
+    public ListXValueProvider(List<String> xVals) {
+        mXVals = xVals;
+    }
+
+    /**
+     * Returns the list that holds the labels.
+     * 
+     * @return
+     */
+    public List<String> getXVals() {
+        return mXVals;
+    }
+
+    @Override
+    public int getXValCount() {
+        return mXVals.size();
+    }
+
+    @Override
+    public String getXValue(int xIndex) {
+        return mXVals.get(xIndex);
+    }
+
+    @Override
+    public float getXValAverageLength() {
+
+        if (mXVals.size() <= 0)
+            return 1;
+
+        float sum = 1f;
+
+        for (int i = 0; i < mXVals.size(); i++) {
+            sum += mXVals.get(i).length();
+        }
+
+        return sum / (float) mXVals.size();
+    }
+}
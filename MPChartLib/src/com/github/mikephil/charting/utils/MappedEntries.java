@@ -0,0 +1,203 @@
+
+package com.github.mikephil.charting.utils;
+
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.Entry;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The content of a binary chart data file (see FileUtils.saveToBinaryFile(...)
+ * and FileUtils.loadBinaryFile(...)). The columns are views on the mapped
+ * file, nothing is copied when the file is loaded. The statistics have been
+ * calculated when the file was written and do not need to be recalculated.
+ *
+ * @author Philipp Jahoda
+ */
+public class MappedEntries {
+
+    /** the number of entries */
+    private int mCount;
+
+    /** the number of values per stack, 0 if there are no stacks */
+    private int mStackSize;
+
+    private float mYMin;
+    private float mYMax;
+
+    /** sum of the absolute y-values */
+    private double mYValueSum;
+
+    private int mXIndexMin;
+    private int mXIndexMax;
+
+    private IntBuffer mXIndices;
+    private FloatBuffer mVals;
+    private FloatBuffer mStacks;
+
+    MappedEntries(int count, int stackSize, float yMin, float yMax, double yValueSum,
+            int xIndexMin, int xIndexMax, IntBuffer xIndices, FloatBuffer vals,
+            FloatBuffer stacks) {
+        mCount = count;
+        mStackSize = stackSize;
+        mYMin = yMin;
+        mYMax = yMax;
+        mYValueSum = yValueSum;
+        mXIndexMin = xIndexMin;
+        mXIndexMax = xIndexMax;
+        mXIndices = xIndices;
+        mVals = vals;
+        mStacks = stacks;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return
+     */
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * Returns the number of values per stack, 0 if the entries are not
+     * stacked.
+     *
+     * @return
+     */
+    public int getStackSize() {
+        return mStackSize;
+    }
+
+    public float getYMin() {
+        return mYMin;
+    }
+
+    public float getYMax() {
+        return mYMax;
+    }
+
+    /**
+     * Returns the sum of the absolute y-values.
+     *
+     * @return
+     */
+    public double getYValueSum() {
+        return mYValueSum;
+    }
+
+    public int getXIndexMin() {
+        return mXIndexMin;
+    }
+
+    public int getXIndexMax() {
+        return mXIndexMax;
+    }
+
+    /**
+     * Returns the column of x-indices, one per entry.
+     *
+     * @return
+     */
+    public IntBuffer getXIndices() {
+        return mXIndices;
+    }
+
+    /**
+     * Returns the column of y-values, one per entry. For stacked entries this
+     * is the sum of the stack.
+     *
+     * @return
+     */
+    public FloatBuffer getVals() {
+        return mVals;
+    }
+
+    /**
+     * Returns the column of stack values, getStackSize() values per entry
+     * (NaN where a stack has less values), null if there are no stacks.
+     *
+     * @return
+     */
+    public FloatBuffer getStacks() {
+        return mStacks;
+    }
+
+    /**
+     * Creates Entry objects for all entries (BarEntry objects for entries
+     * with a stack). This allocates one object per entry, use the columns
+     * directly for large files.
+     *
+     * @return
+     */
+    public List<Entry> toEntries() {
+
+        List<Entry> entries = new ArrayList<Entry>(mCount);
+
+        for (int i = 0; i < mCount; i++) {
+
+            float[] stack = getStack(i);
+
+            if (stack == null)
+                entries.add(new Entry(mVals.get(i), mXIndices.get(i)));
+            else
+                entries.add(new BarEntry(stack, mXIndices.get(i)));
+        }
+
+        return entries;
+    }
+
+    /**
+     * Creates a BarEntry for every entry.
+     *
+     * @return
+     */
+    public List<BarEntry> toBarEntries() {
+
+        List<BarEntry> entries = new ArrayList<BarEntry>(mCount);
+
+        for (int i = 0; i < mCount; i++) {
+
+            float[] stack = getStack(i);
+
+            if (stack == null)
+                entries.add(new BarEntry(mVals.get(i), mXIndices.get(i)));
+            else
+                entries.add(new BarEntry(stack, mXIndices.get(i)));
+        }
+
+        return entries;
+    }
+
+    /**
+     * Returns the stack of the entry at the given position, null if the entry
+     * has no stack.
+     *
+     * @param pos
+     * @return
+     */
+    public float[] getStack(int pos) {
+
+        if (mStacks == null)
+            return null;
+
+        int offset = pos * mStackSize;
+        int length = 0;
+
+        while (length < mStackSize && !Float.isNaN(mStacks.get(offset + length)))
+            length++;
+
+        if (length <= 1)
+            return null;
+
+        float[] stack = new float[length];
+
+        for (int i = 0; i < length; i++)
+            stack[i] = mStacks.get(offset + i);
+
+        return stack;
+    }
+}
@@ -0,0 +1,34 @@
+
+package com.github.mikephil.charting.utils;
+
+/**
+ * ColorMapper for categorical values: the integer part of a value is the
+ * index of its color in the palette. Colors are reused if there are more
+ * categories than colors.
+ * 
+ * @author Philipp Jahoda
+ */
+public class PaletteColorMapper extends ColorMapper {
+
+    private int[] mPalette;
+
+    /**
+     * @param palette the colors of the categories, e.g.
+     *            ColorTemplate.VORDIPLOM_COLORS
+     */
+    public PaletteColorMapper(int[] palette) {
+
+        if (palette.length == 0)
+            throw new IllegalArgumentException("The palette must not be empty.");
+
+        mPalette = palette;
+    }
+
+    @Override
+    public int getColor(float val) {
+
+        int index = (int) val % mPalette.length;
+
+        return mPalette[index < 0 ? index + mPalette.length : index];
+    }
+}
@@ -0,0 +1,603 @@
+
+package com.github.mikephil.charting.utils;
+
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.DataSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Parser for the text format of FileUtils: one entry per line, either
+ * "val#xIndex" or, for stacked bars, "val1#val2#...#xIndex". The input is read
+ * through a reusable byte buffer and the numbers are parsed directly from the
+ * bytes, without creating a String per line. The parsed values are appended
+ * to a DataSet in batches via DataSet.addEntries(float[], int[], int, int),
+ * lines with a stack become BarEntry objects. Only a PrimitiveLineDataSet
+ * stores the values without creating any objects, all other DataSets create
+ * one Entry per value. The floats are the same as Float.parseFloat(...)
+ * returns, numbers that the fast path can not convert exactly are handed to
+ * it. Lines that can not be parsed are skipped. A parser object is not
+ * thread-safe, but can be reused.
+ *
+ * @author Philipp Jahoda
+ */
+public class TextEntryParser {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** the number of values that are appended to the DataSet at once */
+    private static final int BATCH_SIZE = 4096;
+
+    /** the most significant digits a double can hold exactly */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /** the smallest positive normal float */
+    private static final float MIN_NORMAL_FLOAT = 1.17549435E-38f;
+
+    /** exactly representable powers of ten */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14,
+            1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private byte[] mBuffer = new byte[BUFFER_SIZE];
+    private ByteBuffer mByteBuffer = ByteBuffer.wrap(mBuffer);
+
+    /** the parsed values that have not been appended to the DataSet yet */
+    private float[] mYs = new float[BATCH_SIZE];
+    private int[] mXs = new int[BATCH_SIZE];
+    private int mCount = 0;
+
+    /** the parsed stacks, each one is located in front of the value at its position */
+    private List<BarEntry> mStacks = new ArrayList<BarEntry>();
+    private int[] mStackPositions = new int[16];
+
+    /** the values of the line that is parsed */
+    private float[] mFields = new float[8];
+
+    /** reused for appending consecutive stacks */
+    private List<BarEntry> mStackRun = new ArrayList<BarEntry>();
+
+    /** the DataSet the values are appended to, null if they are collected */
+    private DataSet<?> mSet;
+
+    /** the number of entries appended to the DataSet */
+    private int mAdded = 0;
+
+    /** the number of lines that could not be parsed */
+    private int mSkipped = 0;
+
+    private InputStream mIn;
+    private ReadableByteChannel mChannel;
+    private FileChannel mFileChannel;
+    private long mPosition;
+    private long mEnd;
+
+    /**
+     * Parses all lines of the given stream and appends the entries to the
+     * given DataSet. The stream is not closed. Returns the number of entries
+     * that have been added.
+     *
+     * @param in
+     * @param set
+     * @return
+     * @throws IOException
+     */
+    public int parse(InputStream in, DataSet<?> set) throws IOException {
+        mIn = in;
+        return parse(set);
+    }
+
+    /**
+     * Parses all lines of the given channel and appends the entries to the
+     * given DataSet. The channel is not closed. Returns the number of entries
+     * that have been added.
+     *
+     * @param channel
+     * @param set
+     * @return
+     * @throws IOException
+     */
+    public int parse(ReadableByteChannel channel, DataSet<?> set) throws IOException {
+        mChannel = channel;
+        return parse(set);
+    }
+
+    /**
+     * Splits the given file into the given number of parts at line boundaries
+     * and parses the parts in parallel on the given executor. The entries are
+     * appended to the DataSet in the order of the file, on the calling
+     * thread. Returns the number of entries that have been added.
+     *
+     * @param file
+     * @param set
+     * @param executor
+     * @param parts the number of parts, usually the number of threads of the
+     *            executor
+     * @return
+     * @throws IOException
+     */
+    public int parseParallel(File file, DataSet<?> set, ExecutorService executor, int parts)
+            throws IOException {
+
+        mSkipped = 0;
+
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+        try {
+            final FileChannel channel = raf.getChannel();
+            long size = channel.size();
+
+            parts = (int) Math.max(1, Math.min(parts, size / BUFFER_SIZE));
+
+            long[] bounds = new long[parts + 1];
+            bounds[parts] = size;
+
+            for (int i = 1; i < parts; i++)
+                bounds[i] = nextLineStart(channel, Math.max(size * i / parts, bounds[i - 1]), size);
+
+            List<Future<TextEntryParser>> results = new ArrayList<Future<TextEntryParser>>(parts);
+
+            for (int i = 0; i < parts; i++) {
+
+                final long start = bounds[i];
+                final long end = bounds[i + 1];
+
+                results.add(executor.submit(new Callable<TextEntryParser>() {
+
+                    @Override
+                    public TextEntryParser call() throws IOException {
+
+                        TextEntryParser parser = new TextEntryParser();
+                        parser.mFileChannel = channel;
+                        parser.mPosition = start;
+                        parser.mEnd = end;
+                        parser.parse(null);
+
+                        return parser;
+                    }
+                }));
+            }
+
+            int added = 0;
+
+            for (int i = 0; i < parts; i++) {
+
+                TextEntryParser parser = waitFor(results.get(i));
+
+                parser.flush(set);
+                added += parser.mAdded;
+                mSkipped += parser.mSkipped;
+            }
+
+            return added;
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Returns the number of lines of the last parse(...) or
+     * parseParallel(...) that have been skipped because they could not be
+     * parsed.
+     *
+     * @return
+     */
+    public int getSkippedLineCount() {
+        return mSkipped;
+    }
+
+    private static TextEntryParser waitFor(Future<TextEntryParser> result) throws IOException {
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing.");
+        } catch (ExecutionException e) {
+
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+
+            IOException ioe = new IOException("Parsing failed: " + e.getCause());
+            ioe.initCause(e.getCause());
+            throw ioe;
+        }
+    }
+
+    /**
+     * Returns the position behind the first line break at or after the given
+     * position.
+     */
+    private long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+
+        ByteBuffer buf = ByteBuffer.allocate(256);
+
+        while (position < size) {
+
+            buf.clear();
+            int read = channel.read(buf, position);
+
+            if (read <= 0)
+                break;
+
+            for (int i = 0; i < read; i++) {
+                if (buf.get(i) == '\n')
+                    return position + i + 1;
+            }
+
+            position += read;
+        }
+
+        return size;
+    }
+
+    private int parse(DataSet<?> set) throws IOException {
+
+        mSet = set;
+        mAdded = 0;
+        mSkipped = 0;
+
+        try {
+            int filled = 0;
+            int scanned = 0;
+
+            while (true) {
+
+                // a line that is longer than the buffer
+                if (filled == mBuffer.length) {
+                    byte[] grown = new byte[mBuffer.length * 2];
+                    System.arraycopy(mBuffer, 0, grown, 0, filled);
+                    mBuffer = grown;
+                    mByteBuffer = ByteBuffer.wrap(mBuffer);
+                }
+
+                int read = read(filled);
+
+                if (read < 0)
+                    break;
+
+                filled += read;
+
+                int lineStart = 0;
+
+                for (int i = scanned; i < filled; i++) {
+                    if (mBuffer[i] == '\n') {
+                        parseLine(lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+
+                // keep the incomplete last line
+                filled -= lineStart;
+                System.arraycopy(mBuffer, lineStart, mBuffer, 0, filled);
+                scanned = filled;
+            }
+
+            if (filled > 0)
+                parseLine(0, filled);
+
+            if (mSet != null)
+                flush(mSet);
+
+            return mAdded;
+        } finally {
+            mIn = null;
+            mChannel = null;
+            mFileChannel = null;
+            mSet = null;
+        }
+    }
+
+    /**
+     * Reads from the input into the buffer, starting at the given offset.
+     * Returns the number of bytes read, -1 at the end of the input.
+     */
+    private int read(int offset) throws IOException {
+
+        int length = mBuffer.length - offset;
+
+        if (mIn != null)
+            return mIn.read(mBuffer, offset, length);
+
+        mByteBuffer.limit(offset + length);
+        mByteBuffer.position(offset);
+
+        if (mFileChannel != null) {
+
+            if (mPosition >= mEnd)
+                return -1;
+
+            mByteBuffer.limit(offset + (int) Math.min(length, mEnd - mPosition));
+
+            int read = mFileChannel.read(mByteBuffer, mPosition);
+
+            if (read > 0)
+                mPosition += read;
+
+            return read;
+        }
+
+        return mChannel.read(mByteBuffer);
+    }
+
+    private void parseLine(int from, int to) {
+
+        byte[] b = mBuffer;
+
+        while (to > from && (b[to - 1] == '\r' || b[to - 1] == ' '))
+            to--;
+
+        if (to == from)
+            return;
+
+        int lastHash = to - 1;
+
+        while (lastHash >= from && b[lastHash] != '#')
+            lastHash--;
+
+        if (lastHash < from) {
+            mSkipped++;
+            return;
+        }
+
+        try {
+            int xIndex = parseInt(b, lastHash + 1, to);
+            int fields = 0;
+            int fieldStart = from;
+
+            for (int i = from; i <= lastHash; i++) {
+
+                if (b[i] != '#')
+                    continue;
+
+                if (fields == mFields.length) {
+                    float[] grown = new float[fields * 2];
+                    System.arraycopy(mFields, 0, grown, 0, fields);
+                    mFields = grown;
+                }
+
+                mFields[fields++] = parseFloat(b, fieldStart, i);
+                fieldStart = i + 1;
+            }
+
+            if (fields == 1) {
+                append(mFields[0], xIndex);
+            } else {
+                float[] vals = new float[fields];
+                System.arraycopy(mFields, 0, vals, 0, fields);
+                appendStack(new BarEntry(vals, xIndex));
+            }
+        } catch (NumberFormatException e) {
+            mSkipped++;
+        }
+    }
+
+    private void append(float val, int xIndex) {
+
+        if (mCount == mYs.length) {
+
+            if (mSet != null) {
+                flush(mSet);
+            } else {
+                float[] ys = new float[mYs.length * 2];
+                int[] xs = new int[mXs.length * 2];
+                System.arraycopy(mYs, 0, ys, 0, mCount);
+                System.arraycopy(mXs, 0, xs, 0, mCount);
+                mYs = ys;
+                mXs = xs;
+            }
+        }
+
+        mYs[mCount] = val;
+        mXs[mCount] = xIndex;
+        mCount++;
+    }
+
+    private void appendStack(BarEntry e) {
+
+        if (mSet != null && mStacks.size() >= BATCH_SIZE)
+            flush(mSet);
+
+        int stacks = mStacks.size();
+
+        if (stacks == mStackPositions.length) {
+            int[] grown = new int[stacks * 2];
+            System.arraycopy(mStackPositions, 0, grown, 0, stacks);
+            mStackPositions = grown;
+        }
+
+        mStackPositions[stacks] = mCount;
+        mStacks.add(e);
+    }
+
+    /**
+     * Appends all values and stacks that have been parsed so far to the given
+     * DataSet, in the order of the input.
+     */
+    private void flush(DataSet<?> set) {
+
+        int from = 0;
+        int s = 0;
+
+        while (s < mStacks.size()) {
+
+            int pos = mStackPositions[s];
+
+            if (pos > from)
+                set.addEntries(mYs, mXs, from, pos - from);
+
+            from = pos;
+
+            mStackRun.clear();
+
+            while (s < mStacks.size() && mStackPositions[s] == pos)
+                mStackRun.add(mStacks.get(s++));
+
+            set.addEntries(mStackRun);
+        }
+
+        if (mCount > from)
+            set.addEntries(mYs, mXs, from, mCount - from);
+
+        mAdded += mCount + mStacks.size();
+        mCount = 0;
+        mStacks.clear();
+        mStackRun.clear();
+    }
+
+    private static int parseInt(byte[] b, int from, int to) {
+
+        while (from < to && b[from] == ' ')
+            from++;
+
+        boolean negative = false;
+        int i = from;
+
+        if (i < to && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i] == '-';
+            i++;
+        }
+
+        if (i == to || to - i > 9)
+            return Integer.parseInt(new String(b, from, to - from));
+
+        int val = 0;
+
+        for (; i < to; i++) {
+
+            int digit = b[i] - '0';
+
+            if (digit < 0 || digit > 9)
+                return Integer.parseInt(new String(b, from, to - from));
+
+            val = val * 10 + digit;
+        }
+
+        return negative ? -val : val;
+    }
+
+    private static float parseFloat(byte[] b, int from, int to) {
+
+        while (from < to && b[from] == ' ')
+            from++;
+        while (to > from && b[to - 1] == ' ')
+            to--;
+
+        boolean negative = false;
+        int i = from;
+
+        if (i < to && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+
+        for (; i < to && b[i] >= '0' && b[i] <= '9'; i++) {
+
+            any = true;
+
+            // more significant digits than a double can hold exactly are
+            // left to the platform below
+            if (digits <= MAX_EXACT_DIGITS) {
+                mantissa = mantissa * 10 + (b[i] - '0');
+
+                if (mantissa != 0)
+                    digits++;
+            } else {
+                exponent++;
+            }
+        }
+
+        if (i < to && b[i] == '.') {
+
+            for (i++; i < to && b[i] >= '0' && b[i] <= '9'; i++) {
+
+                any = true;
+
+                if (digits <= MAX_EXACT_DIGITS) {
+                    mantissa = mantissa * 10 + (b[i] - '0');
+                    exponent--;
+
+                    if (mantissa != 0)
+                        digits++;
+                }
+            }
+        }
+
+        if (any && i < to && (b[i] == 'e' || b[i] == 'E')) {
+
+            i++;
+
+            boolean negativeExponent = false;
+
+            if (i < to && (b[i] == '-' || b[i] == '+')) {
+                negativeExponent = b[i] == '-';
+                i++;
+            }
+
+            int exp = 0;
+            int expStart = i;
+
+            for (; i < to && b[i] >= '0' && b[i] <= '9'; i++) {
+                if (exp < 10000)
+                    exp = exp * 10 + (b[i] - '0');
+            }
+
+            if (i == expStart)
+                any = false;
+
+            exponent += negativeExponent ? -exp : exp;
+        }
+
+        // anything unusual (NaN, Infinity, hex, ...) is left to the platform,
+        // as well as numbers the fast path below can not convert exactly
+        if (!any || i != to || digits > MAX_EXACT_DIGITS
+                || exponent <= -POWERS_OF_TEN.length || exponent >= POWERS_OF_TEN.length)
+            return Float.parseFloat(new String(b, from, to - from));
+
+        // mantissa and power of ten are exact doubles, the single
+        // multiplication or division rounds correctly
+        double val = mantissa;
+
+        if (exponent < 0)
+            val /= POWERS_OF_TEN[-exponent];
+        else if (exponent > 0)
+            val *= POWERS_OF_TEN[exponent];
+
+        // rounding the double to a float rounds twice, which can only differ
+        // from rounding the decimal directly if the double lies exactly
+        // between two floats, or if the float is subnormal
+        if (isFloatMidpoint(val) || (val != 0 && val < MIN_NORMAL_FLOAT))
+            return Float.parseFloat(new String(b, from, to - from));
+
+        return (float) (negative ? -val : val);
+    }
+
+    /**
+     * Returns true if the given double lies exactly in the middle between two
+     * adjacent normal floats.
+     */
+    private static boolean isFloatMidpoint(double val) {
+
+        // a double has 29 more bits of precision than a normal float
+        long bits = Double.doubleToRawLongBits(val);
+        return (bits & 0x1fffffffL) == 0x10000000L;
+    }
+}
@@ -0,0 +1,58 @@
+
+package com.github.mikephil.charting.utils;
+
+/**
+ * ColorMapper that assigns a color per range of values, separated by
+ * thresholds. A value gets the color at the index of the number of thresholds
+ * that are below or equal to it.
+ * 
+ * @author Philipp Jahoda
+ */
+public class ThresholdColorMapper extends ColorMapper {
+
+    /** the thresholds, ascending */
+    private float[] mThresholds;
+
+    /** the colors of the ranges, one more than thresholds */
+    private int[] mColors;
+
+    /**
+     * @param thresholds the thresholds, ascending
+     * @param colors the colors of the ranges, one more than thresholds (the
+     *            first one for the values below the first threshold)
+     */
+    public ThresholdColorMapper(float[] thresholds, int[] colors) {
+
+        if (colors.length != thresholds.length + 1)
+            throw new IllegalArgumentException(
+                    "There must be one color more than thresholds.");
+
+        for (int i = 1; i < thresholds.length; i++) {
+            if (thresholds[i] < thresholds[i - 1])
+                throw new IllegalArgumentException("The thresholds must be in ascending order.");
+        }
+
+        mThresholds = thresholds;
+        mColors = colors;
+    }
+
+    @Override
+    public int getColor(float val) {
+
+        // the number of thresholds below or equal to the value
+        int low = 0;
+        int high = mThresholds.length;
+
+        while (low < high) {
+
+            int mid = (low + high) >>> 1;
+
+            if (mThresholds[mid] <= val)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        return mColors[low];
+    }
+}
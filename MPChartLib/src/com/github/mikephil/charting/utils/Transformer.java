@@ -7,6 +7,7 @@ import android.graphics.RectF;
 
 import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.CandleEntry;
+import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
 
 import java.util.List;
@@ -147,6 +148,34 @@ public class Transformer {
         return valuePoints;
     }
     
+    /**
+     * Transforms the values of the given DataSet into a float array containing
+     * the x and y values transformed with all matrices for the LINECHART. The
+     * values are read by position, no Entry objects are needed.
+     * 
+     * @param data
+     * @return
+     */
+    public float[] generateTransformedValuesLine(DataSet<?> data,
+            float phaseX, float phaseY, int from, int to) {
+
+        final int count = (int)Math.ceil((to - from) * phaseX) * 2;
+
+        float[] valuePoints = new float[count];
+
+        for (int j = 0; j < count; j += 2) {
+
+            int pos = j / 2 + from;
+
+            valuePoints[j] = data.getXIndexAt(pos);
+            valuePoints[j + 1] = data.getValAt(pos) * phaseY;
+        }
+
+        pointValuesToPixel(valuePoints);
+
+        return valuePoints;
+    }
+
     /**
      * Transforms an List of Entry into a float array containing the x and
      * y values transformed with all matrices for the CANDLESTICKCHART.
@@ -282,6 +311,34 @@ public class Transformer {
         mMatrixOffset.mapPoints(pts);
     }
 
+    /**
+     * Transforms the first count floats (x,y pairs) of the given array from
+     * values into pixels, the rest of the array is left untouched.
+     * 
+     * @param pts
+     * @param count
+     */
+    public void pointValuesToPixel(float[] pts, int count) {
+
+        int points = count / 2;
+
+        mMatrixValueToPx.mapPoints(pts, 0, pts, 0, points);
+        mViewPortHandler.getMatrixTouch().mapPoints(pts, 0, pts, 0, points);
+        mMatrixOffset.mapPoints(pts, 0, pts, 0, points);
+    }
+
+    /**
+     * Writes the combination of all matrices, which transforms values into
+     * pixels, into the given matrix.
+     * 
+     * @param out
+     */
+    public void getValueToPixelMatrix(Matrix out) {
+        out.set(mMatrixValueToPx);
+        out.postConcat(mViewPortHandler.getMatrixTouch());
+        out.postConcat(mMatrixOffset);
+    }
+
     /**
      * Transform a rectangle with all matrices.
      * 
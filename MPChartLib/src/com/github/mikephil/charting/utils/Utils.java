@@ -201,9 +201,31 @@ public abstract class Utils {
 
         char[] out = new char[35];
 
+        int length = formatNumber(number, digitCount, separateThousands, out);
+
+        // use this instead of "new String(...)" because of issue < Android 4.0
+        return String.valueOf(out, 0, length);
+    }
+
+    /**
+     * Formats the given number like formatNumber(float, int, boolean) into
+     * the given array, starting at index 0, without allocating memory.
+     * Returns the number of chars written. The array must have room for at
+     * least 35 chars.
+     * 
+     * @param number
+     * @param digitCount
+     * @param separateThousands
+     * @param out
+     * @return
+     */
+    public static int formatNumber(float number, int digitCount, boolean separateThousands,
+            char[] out) {
+
         boolean neg = false;
         if (number == 0) {
-            return "0";
+            out[0] = '0';
+            return 1;
         }
 
         boolean zero = false;
@@ -270,10 +292,10 @@ public abstract class Utils {
             charCount += 1;
         }
 
-        int start = out.length - charCount;
+        // move the number, written from the end, to the start
+        System.arraycopy(out, out.length - charCount, out, 0, charCount);
 
-        // use this instead of "new String(...)" because of issue < Android 4.0
-        return String.valueOf(out, start, out.length - start);
+        return charCount;
     }
 
     /**
@@ -0,0 +1,41 @@
+package com.github.mikephil.charting.utils;
+
+/**
+ * Interface that provides the x-values (labels of the x-axis) of a chart on
+ * demand, instead of holding one String object per x-index in memory. Labels
+ * are only requested for the x-indices that are actually drawn. Use the
+ * ListXValueProvider for labels that are stored in a list, the
+ * IndexXValueProvider to label each x-index with its number, or the
+ * FormattedXValueProvider to format the x-indices with a ValueFormatter.
+ * 
+ * @author Philipp Jahoda
+ */
+public interface XValueProvider {
+
+    /**
+     * Returns the number of x-values, this is the number of x-indices the
+     * chart has.
+     * 
+     * @return
+     */
+    public int getXValCount();
+
+    /**
+     * Returns the label of the given x-index. Called for every label that is
+     * drawn, for performance reasons avoid excessive calculations and memory
+     * allocations inside this method.
+     * 
+     * @param xIndex
+     * @return
+     */
+    public String getXValue(int xIndex);
+
+    /**
+     * Returns the average length (in characters) of the labels, used to
+     * calculate the space needed for each label. Return a value <= 0 if it is
+     * not known in advance, it is then estimated from a few sample labels.
+     * 
+     * @return
+     */
+    public float getXValAverageLength();
+}